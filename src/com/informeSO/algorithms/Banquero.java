@@ -2,6 +2,7 @@ package com.informeSO.algorithms;
 
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 
 public class Banquero {
@@ -9,39 +10,56 @@ public class Banquero {
     private int numRecursos;
     // Vector de recursos disponibles
     private int[] disponibles;
-    // Matriz de máxima demanda de recursos por proceso
-    private int[][] maxima;
+    // Matriz de máxima demanda de recursos por proceso (fila-mayor, un solo arreglo)
+    private MatrizPlana maxima;
     // Matriz de asignación de recursos a procesos
-    private int[][] asignacion;
+    private MatrizPlana asignacion;
     // Matriz de recursos necesarios por proceso
-    private int[][] necesario;
+    private MatrizPlana necesario;
+    // Total de instancias de cada recurso (disponibles + asignadas)
+    private int[] totales;
+    // Ranuras de proceso en uso; las retiradas quedan con filas en cero y se reutilizan
+    private boolean[] activos;
+    // Ranuras retiradas; se reutiliza siempre la menor para que los ids sigan compactos
+    private final BitSet ranurasLibres = new BitSet();
+    private int numRanurasLibres;
+    // Receptor de eventos; por defecto no imprime nada
+    private OyenteBanquero oyente = OyenteBanquero.SILENCIOSO;
+    // Motor de seguridad O(n·m·log n) usado en las solicitudes
+    private final MotorSeguridad motorSeguridad = new MotorSeguridad();
 
     // Constructor de la clase
     public Banquero(int numProcesos, int numRecursos, int[] disponibles, int[][] maxima, int[][] asignacion) {
         this.numProcesos = numProcesos;
         this.numRecursos = numRecursos;
-        this.disponibles = new int[numRecursos];
-        this.maxima = new int[numProcesos][numRecursos];
-        this.asignacion = new int[numProcesos][numRecursos];
-        this.necesario = new int[numProcesos][numRecursos];
+        this.necesario = new MatrizPlana(numProcesos, numRecursos);
 
         // Copiar matrices y vectores
-        for(int i = 0; i < numProcesos; i++) {
-            this.maxima[i] = Arrays.copyOf(maxima[i], numRecursos);
-            this.asignacion[i] = Arrays.copyOf(asignacion[i], numRecursos);
-        }
+        this.maxima = MatrizPlana.desde(maxima, numProcesos, numRecursos);
+        this.asignacion = MatrizPlana.desde(asignacion, numProcesos, numRecursos);
         this.disponibles = Arrays.copyOf(disponibles, numRecursos);
+        this.activos = new boolean[numProcesos];
+        Arrays.fill(activos, true);
+        this.totales = Arrays.copyOf(disponibles, numRecursos);
+        for (int i = 0; i < numProcesos; i++) {
+            this.asignacion.sumarFilaA(i, totales);
+        }
         
         // Llamar a un método para calcular la matriz Need inicialmente
         calcularNecesario();
     }
 
+    // Cambia el receptor de eventos (null vuelve al modo silencioso)
+    public void establecerOyente(OyenteBanquero oyente) {
+        this.oyente = oyente != null ? oyente : OyenteBanquero.SILENCIOSO;
+    }
+
     // calcular la matriz Need
     // need[i][j] = max[i][j] - allocation[i][j]
     private void calcularNecesario() {
         for (int i = 0; i < numProcesos; i++) {
             for (int j = 0; j < numRecursos; j++) {
-                necesario[i][j] = maxima[i][j] - asignacion[i][j];
+                necesario.set(i, j, maxima.get(i, j) - asignacion.get(i, j));
             }
         }
     }
@@ -56,19 +74,25 @@ public class Banquero {
 
         System.out.println("Matriz Máxima:");
         for (int i = 0; i < numProcesos; i++) {
-            System.out.println("P" + i + ": " + Arrays.toString(maxima[i]));
+            if (activos[i]) {
+                System.out.println("P" + i + ": " + Arrays.toString(maxima.fila(i)));
+            }
         }
 
         System.out.println();
         System.out.println("Matriz Asignación:");
         for (int i = 0; i < numProcesos; i++) {
-            System.out.println("P" + i + ": " + Arrays.toString(asignacion[i]));
+            if (activos[i]) {
+                System.out.println("P" + i + ": " + Arrays.toString(asignacion.fila(i)));
+            }
         }
 
         System.out.println();
         System.out.println("Matriz Necesaria:");
         for (int i = 0; i < numProcesos; i++) {
-            System.out.println("P" + i + ": " + Arrays.toString(necesario[i]));
+            if (activos[i]) {
+                System.out.println("P" + i + ": " + Arrays.toString(necesario.fila(i)));
+            }
         }
 
         System.out.println("---------------------------------");
@@ -79,60 +103,100 @@ public class Banquero {
     public boolean esSeguro() {
         int[] work = Arrays.copyOf(disponibles, numRecursos);
         boolean[] finish = new boolean[numProcesos];
+        // Las ranuras retiradas no participan
+        int procesosActivos = numProcesos - numRanurasLibres;
+        for (int i = 0; i < numProcesos; i++) {
+            finish[i] = !activos[i];
+        }
         // Para almacenar la secuencia segura
-        int[] secuenciaSegura = new int[numProcesos];
+        int[] secuenciaSegura = new int[procesosActivos];
         int contador = 0;
 
-        System.out.println("\n--- Ejecutando Algoritmo de Seguridad ---");
-        System.out.println("Work inicial: " + Arrays.toString(work));
+        oyente.inicioSeguridad(work);
 
         // Bucle principal para encontrar la secuencia segura
-        while (contador < numProcesos) {
+        while (contador < procesosActivos) {
             boolean found = false;
             for (int i = 0; i < numProcesos; i++) {
                 if (!finish[i]) {
                     // Verificar si la necesidad del proceso i puede ser satisfecha con work
-                    boolean puedeAsignar = true;
-                    for (int j = 0; j < numRecursos; j++) {
-                        if (necesario[i][j] > work[j]) {
-                            puedeAsignar = false;
-                            break; // No puede satisfacerse, pasar al siguiente proceso
-                        }
-                    }
+                    boolean puedeAsignar = necesario.filaMenorIgual(i, work);
                     // Si el proceso i puede ejecutar
                     if (puedeAsignar) {
                         // Simular la asignación de recursos
-                        for (int j = 0; j < numRecursos; j++) {
-                            work[j] += asignacion[i][j]; // Liberar recursos asignados
-                        }
+                        asignacion.sumarFilaA(i, work); // Liberar recursos asignados
                         finish[i] = true; // Marcar como terminado
                         secuenciaSegura[contador] = i; //Añadir a la secuencia segura
                         contador++;
                         found = true; // Se encontró un proceso seguro
-                        System.out.println("Proceso P" + i + " puede ejecutarse. Work actualizado: " + Arrays.toString(work));
+                        oyente.procesoPuedeEjecutarse(i, work);
                         break; // Salir del bucle para reiniciar la búsqueda
                     }
                 }
             }
             // Si no se encontró ningún proceso que pueda ejecutarse
             if (!found) {
-                System.out.println("\n No se encontró un proceso que pueda ejecutarse. El sistema está en estado inseguro.");
+                oyente.estadoInseguro();
                 return false; // No se puede encontrar una secuencia segura
             }
         }
-        System.out.println("\\n El sistema está en estado seguro. Secuencia segura: " + Arrays.toString(secuenciaSegura));
+        oyente.estadoSeguro(secuenciaSegura);
         return true; // Se encontró una secuencia segura
     }
 
+    // Algoritmo de Seguridad incremental: mismo veredicto que esSeguro() en O(n·m·log n).
+    // Ordena los procesos por necesidad en cada recurso y cuenta, por proceso,
+    // los recursos aún no satisfechos en lugar de reiniciar el recorrido desde P0.
+    public boolean esSeguroIncremental() {
+        oyente.inicioSeguridadIncremental();
+        boolean seguro = motorSeguridad.verificar(numProcesos, numRecursos, disponibles, necesario, asignacion);
+        // La secuencia solo se construye si alguien escucha
+        if (oyente != OyenteBanquero.SILENCIOSO) {
+            if (seguro) {
+                oyente.estadoSeguro(obtenerSecuenciaSegura());
+            } else {
+                oyente.estadoInseguro();
+            }
+        }
+        return seguro;
+    }
+
+    // Secuencia segura (o parcial, si el estado era inseguro) de la última verificación incremental
+    public int[] obtenerSecuenciaSegura() {
+        // El motor recorre todas las ranuras; se omiten las retiradas
+        int[] secuencia = motorSeguridad.obtenerSecuencia();
+        int k = 0;
+        for (int i : secuencia) {
+            if (activos[i]) {
+                secuencia[k++] = i;
+            }
+        }
+        return Arrays.copyOf(secuencia, k);
+    }
+
+    // Veces que la última secuencia segura se reutilizó sin búsqueda
+    public long obtenerAciertosCache() {
+        return motorSeguridad.obtenerAciertosCache();
+    }
+
+    // Veces que la secuencia guardada dejó de ser válida y hubo que buscar de nuevo
+    public long obtenerFallosCache() {
+        return motorSeguridad.obtenerFallosCache();
+    }
+
     // Algoritmo de Solicitud de Recursos
     public boolean solicitarRecursos(int procesoId, int[] request) {
-        System.out.println("\n--- Solicitud de Recursos ---");
-        System.out.println("Proceso P" + procesoId + " solicita: " + Arrays.toString(request));
+        oyente.solicitud(procesoId, request);
+
+        if (!procesoActivo(procesoId)) {
+            oyente.procesoNoRegistrado(procesoId);
+            return false;
+        }
 
         // 1. Verificar Request <= Need
         for (int j = 0; j < numRecursos; j++) {
-            if (request[j] > necesario[procesoId][j]) {
-                System.out.println("  Error: La solicitud excede la necesidad máxima declarada de P" + procesoId);
+            if (request[j] > necesario.get(procesoId, j)) {
+                oyente.solicitudExcedeNecesidad(procesoId);
                 return false;
             }
         }
@@ -140,41 +204,240 @@ public class Banquero {
         // 2. Verificar Request <= Disponibles
         for (int j = 0; j < numRecursos; j++) {
             if (request[j] > disponibles[j]) {
-                System.out.println("  Proceso P" + procesoId + " debe esperar. Recursos no disponibles actualmente.\n");
+                oyente.solicitudDebeEsperar(procesoId);
                 return false; // No hay suficientes recursos disponibles
             }
         }
 
         // 3. Asignación hipotética
-        // Guardar el estado actual para una posible reversión
-        int[][] originalAsignacion = new int[numProcesos][numRecursos];
-        int[][] originalNecesario = new int[numProcesos][numRecursos];
-        int[] originalDisponibles = Arrays.copyOf(disponibles, numRecursos);
-        for (int i = 0; i < numProcesos; i++) {
-            originalAsignacion[i] = Arrays.copyOf(asignacion[i], numRecursos);
-            originalNecesario[i] = Arrays.copyOf(necesario[i], numRecursos);
+        // Solo se modifica la fila del proceso solicitante; no se copian matrices
+        aplicarDelta(procesoId, request, 1);
+
+        // 4. Comprobar el estado de seguridad con la asignación hipotética
+        if (esSeguroIncremental()) {
+            oyente.solicitudConcedida(procesoId);
+            return true;
+        } else {
+            oyente.solicitudDenegada(procesoId);
+            // Revertir los cambios deshaciendo el delta de la fila solicitante
+            aplicarDelta(procesoId, request, -1);
+            return false;
         }
+    }
 
-        // Simular la asignación de recursos
-        for (int j = 0; j < numRecursos; j++) {
-            disponibles[j] -= request[j];
-            asignacion[procesoId][j] += request[j];
-            necesario[procesoId][j] -= request[j];
+    // Algoritmo de Liberación: el proceso devuelve parte (o todo) de lo que tiene asignado.
+    // Liberar recursos nunca vuelve inseguro un estado seguro, por lo que no se verifica la seguridad.
+    public boolean liberarRecursos(int procesoId, int[] liberar) {
+        oyente.liberacion(procesoId, liberar);
+
+        if (!liberacionValida(procesoId, liberar)) {
+            oyente.liberacionInvalida(procesoId);
+            return false;
         }
+        aplicarDelta(procesoId, liberar, -1);
+        oyente.recursosLiberados(procesoId, disponibles);
+        return true;
+    }
 
-        // 4. Comprobar el estado de seguridad con la asignación hipotética
-        if (esSeguro()) {
-            System.out.println("  Solicitud de P" + procesoId + " CONCEDIDA. El sistema permanece en estado seguro.\n");
-            return true;
+    // --- Registro dinámico de procesos y recursos ---
+
+    /**
+     * Registra un nuevo proceso con su demanda máxima, reutilizando la menor ranura retirada si la hay.
+     * El proceso llega sin recursos asignados, así que el estado sigue siendo seguro
+     * siempre que su máximo no supere el total del sistema (puede ejecutarse al final de la secuencia).
+     * @param maximaProceso Demanda máxima por recurso.
+     * @return Identificador del proceso, o -1 si su máximo excede los recursos totales.
+     */
+    public int registrarProceso(int[] maximaProceso) {
+        if (maximaProceso.length != numRecursos) {
+            throw new IllegalArgumentException("La demanda máxima debe tener " + numRecursos + " recursos.");
+        }
+        for (int j = 0; j < numRecursos; j++) {
+            if (maximaProceso[j] < 0 || maximaProceso[j] > totales[j]) {
+                return -1;
+            }
+        }
+        int id;
+        if (numRanurasLibres > 0) {
+            id = ranurasLibres.nextSetBit(0);
+            ranurasLibres.clear(id);
+            numRanurasLibres--;
         } else {
-            System.out.println("  Solicitud de P" + procesoId + " DENEGADA. La concesión resultaría en un estado inseguro.\n");
-            // Revertir los cambios
-            asignacion = originalAsignacion;
-            disponibles = originalDisponibles;
-            necesario = originalNecesario;
-            calcularNecesario();
+            id = maxima.agregarFila();
+            asignacion.agregarFila();
+            necesario.agregarFila();
+            if (id == activos.length) {
+                activos = Arrays.copyOf(activos, Math.max(1, activos.length * 2));
+            }
+            numProcesos++;
+        }
+        activos[id] = true;
+        for (int j = 0; j < numRecursos; j++) {
+            maxima.set(id, j, maximaProceso[j]);
+            necesario.set(id, j, maximaProceso[j]);
+        }
+        // Una ranura reutilizada pasa de necesidad cero a su máximo: su lugar en la secuencia guardada ya no sirve
+        motorSeguridad.invalidarCache();
+        return id;
+    }
+
+    /**
+     * Retira un proceso: devuelve todo lo que tiene asignado y deja su ranura libre para reutilizarla.
+     * @param procesoId Proceso a retirar.
+     * @return true si se retiró, false si no estaba registrado.
+     */
+    public boolean retirarProceso(int procesoId) {
+        if (!procesoActivo(procesoId)) {
+            return false;
+        }
+        asignacion.sumarFilaA(procesoId, disponibles);
+        maxima.limpiarFila(procesoId);
+        asignacion.limpiarFila(procesoId);
+        necesario.limpiarFila(procesoId);
+        activos[procesoId] = false;
+        ranurasLibres.set(procesoId);
+        numRanurasLibres++;
+        return true;
+    }
+
+    /**
+     * Agrega un nuevo tipo de recurso. Los procesos existentes declaran demanda máxima 0 de él.
+     * @param cantidad Instancias disponibles del nuevo recurso.
+     * @return Índice del nuevo recurso.
+     */
+    public int agregarRecurso(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad de recursos no puede ser negativa.");
+        }
+        maxima.agregarColumna();
+        asignacion.agregarColumna();
+        necesario.agregarColumna();
+        disponibles = Arrays.copyOf(disponibles, numRecursos + 1);
+        totales = Arrays.copyOf(totales, numRecursos + 1);
+        disponibles[numRecursos] = cantidad;
+        totales[numRecursos] = cantidad;
+        return numRecursos++;
+    }
+
+    // Fija la demanda máxima de un proceso para un recurso (p. ej. tras agregarRecurso)
+    public boolean establecerMaxima(int procesoId, int recurso, int valor) {
+        if (!procesoActivo(procesoId) || valor < asignacion.get(procesoId, recurso) || valor > totales[recurso]) {
+            return false;
+        }
+        // Aumentar el máximo puede volver inseguro el estado: se revierte si es así
+        int anterior = maxima.get(procesoId, recurso);
+        maxima.set(procesoId, recurso, valor);
+        necesario.set(procesoId, recurso, valor - asignacion.get(procesoId, recurso));
+        if (valor > anterior) {
+            motorSeguridad.invalidarCache(); // Más necesidad: la secuencia guardada puede dejar de cumplirse
+        }
+        if (valor > anterior && !verificarSeguridad()) {
+            maxima.set(procesoId, recurso, anterior);
+            necesario.set(procesoId, recurso, anterior - asignacion.get(procesoId, recurso));
+            return false;
+        }
+        return true;
+    }
+
+    public boolean procesoActivo(int procesoId) {
+        return procesoId >= 0 && procesoId < numProcesos && activos[procesoId];
+    }
+
+    // Aplica (signo = 1) o deshace (signo = -1) la asignación de 'request' al proceso indicado
+    void aplicarDelta(int procesoId, int[] request, int signo) {
+        for (int j = 0; j < numRecursos; j++) {
+            disponibles[j] -= signo * request[j];
+        }
+        ajustarFila(procesoId, request, signo);
+    }
+
+    // --- Operaciones internas sin salida por consola (usadas por ServicioAdmision) ---
+
+    int obtenerNumProcesos() {
+        return numProcesos;
+    }
+
+    int obtenerNumRecursos() {
+        return numRecursos;
+    }
+
+    int[] copiarDisponibles() {
+        return Arrays.copyOf(disponibles, numRecursos);
+    }
+
+    void establecerDisponibles(int[] nuevos) {
+        System.arraycopy(nuevos, 0, disponibles, 0, numRecursos);
+    }
+
+    // 0 <= request <= necesario[procesoId]
+    boolean solicitudValida(int procesoId, int[] request) {
+        if (!procesoActivo(procesoId)) {
+            return false;
+        }
+        for (int j = 0; j < numRecursos; j++) {
+            if (request[j] < 0 || request[j] > necesario.get(procesoId, j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 0 <= liberar <= asignacion[procesoId]
+    boolean liberacionValida(int procesoId, int[] liberar) {
+        if (!procesoActivo(procesoId)) {
             return false;
         }
+        for (int j = 0; j < numRecursos; j++) {
+            if (liberar[j] < 0 || liberar[j] > asignacion.get(procesoId, j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // request <= disponibles
+    boolean hayDisponibles(int[] request) {
+        for (int j = 0; j < numRecursos; j++) {
+            if (request[j] > disponibles[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // true si 'disponibles' cubre toda la necesidad restante del proceso
+    boolean cubreNecesidad(int procesoId, int[] disponibles) {
+        return necesario.filaMenorIgual(procesoId, disponibles);
+    }
+
+    // Actualiza solo la fila del proceso (asignación y necesidad), sin tocar 'disponibles'
+    void ajustarFila(int procesoId, int[] delta, int signo) {
+        asignacion.sumarAFila(procesoId, delta, signo);
+        necesario.sumarAFila(procesoId, delta, -signo);
+    }
+
+    // Verifica la seguridad del estado actual con el motor incremental, sin imprimir
+    boolean verificarSeguridad() {
+        return motorSeguridad.verificar(numProcesos, numRecursos, disponibles, necesario, asignacion);
+    }
+
+    // Copias profundas para evaluar solicitudes sobre una instantánea inmutable
+    MatrizPlana copiarNecesario() {
+        return necesario.copiar();
+    }
+
+    MatrizPlana copiarAsignacion() {
+        return asignacion.copiar();
+    }
+
+    // Concede la solicitud si el estado resultante es seguro; si no, la revierte
+    boolean admitir(int procesoId, int[] request) {
+        aplicarDelta(procesoId, request, 1);
+        if (verificarSeguridad()) {
+            return true;
+        }
+        aplicarDelta(procesoId, request, -1);
+        return false;
     }
 
     // Método principal para probar la simulación
@@ -202,6 +465,7 @@ public class Banquero {
         };
         // Crear una instancia del Algoritmo Banquero
         Banquero banquero = new Banquero(numProcesos, numRecursos, disponibles, maxima, asignacion);
+        banquero.establecerOyente(new OyenteBanqueroConsola()); // Mostrar la traza por consola
         // Imprimir el estado inicial del sistema
         banquero.printState();
 
@@ -209,6 +473,7 @@ public class Banquero {
 
         System.out.println("\n--- Verificando estado inicial ---");
         banquero.esSeguro(); // Verificar si el sistema está en un estado seguro
+        banquero.esSeguroIncremental(); // Mismo veredicto con el motor incremental
 
         // 2. Probar solicitudes de recursos
 
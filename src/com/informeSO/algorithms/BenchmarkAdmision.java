@@ -0,0 +1,85 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Benchmark de throughput del ServicioAdmision con distinto número de hilos.
+// Cada hilo controla un subconjunto de procesos: solicita una unidad de un recurso al azar
+// y, cuando un proceso alcanza su máximo (o es denegado), libera todo lo que tiene.
+public class BenchmarkAdmision {
+    private static final int NUM_PROCESOS = 2000;
+    private static final int NUM_RECURSOS = 8;
+    private static final int MAXIMO_POR_RECURSO = 4;
+    private static final long DURACION_MS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        System.out.println("--- Benchmark de ServicioAdmision (" + nucleos + " núcleos) ---");
+        for (int hilos = 1; hilos <= nucleos; hilos *= 2) {
+            ejecutar(hilos);
+        }
+        if (Integer.bitCount(nucleos) != 1) {
+            ejecutar(nucleos);
+        }
+    }
+
+    private static void ejecutar(int numHilos) throws InterruptedException {
+        int[] disponibles = new int[NUM_RECURSOS];
+        int[][] maxima = new int[NUM_PROCESOS][NUM_RECURSOS];
+        int[][] asignacion = new int[NUM_PROCESOS][NUM_RECURSOS];
+        for (int j = 0; j < NUM_RECURSOS; j++) {
+            disponibles[j] = NUM_PROCESOS * MAXIMO_POR_RECURSO / 4;
+        }
+        for (int i = 0; i < NUM_PROCESOS; i++) {
+            for (int j = 0; j < NUM_RECURSOS; j++) {
+                maxima[i][j] = MAXIMO_POR_RECURSO;
+            }
+        }
+        ServicioAdmision servicio = new ServicioAdmision(
+                new Banquero(NUM_PROCESOS, NUM_RECURSOS, disponibles, maxima, asignacion));
+
+        long fin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURACION_MS);
+        long[] operaciones = new long[numHilos];
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < numHilos; h++) {
+            final int id = h;
+            Thread t = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                int[][] tenidos = new int[NUM_PROCESOS][NUM_RECURSOS];
+                int[] unidad = new int[NUM_RECURSOS];
+                long ops = 0;
+                while (System.nanoTime() < fin) {
+                    // Procesos id, id + numHilos, id + 2·numHilos, ...
+                    int p = id + numHilos * rnd.nextInt((NUM_PROCESOS - id + numHilos - 1) / numHilos);
+                    int r = rnd.nextInt(NUM_RECURSOS);
+                    unidad[r] = 1;
+                    if (tenidos[p][r] < MAXIMO_POR_RECURSO && servicio.solicitar(p, unidad)) {
+                        tenidos[p][r]++;
+                    } else {
+                        servicio.liberar(p, tenidos[p]);
+                        tenidos[p] = new int[NUM_RECURSOS];
+                    }
+                    unidad[r] = 0;
+                    ops++;
+                }
+                operaciones[id] = ops;
+            });
+            hilos.add(t);
+            t.start();
+        }
+        for (Thread t : hilos) {
+            t.join();
+        }
+
+        long total = 0;
+        for (long ops : operaciones) {
+            total += ops;
+        }
+        System.out.printf("Hilos: %2d | %,12d ops/s | rápidas: %,d verificadas: %,d denegadas: %,d liberaciones: %,d%n",
+                numHilos, total * 1000 / DURACION_MS,
+                servicio.obtenerConcedidasRapidas(), servicio.obtenerConcedidasVerificadas(),
+                servicio.obtenerDenegadas(), servicio.obtenerLiberaciones());
+    }
+}
@@ -0,0 +1,53 @@
+package com.informeSO.algorithms;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Benchmark de escalado de la detección de interbloqueos en paralelo (1 a N núcleos)
+// comparado con la detección secuencial sobre la misma tabla.
+public class BenchmarkDeteccion {
+    private static final int NUM_PROCESOS = 200_000;
+    private static final int NUM_RECURSOS = 32;
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+        Random rnd = new Random(42);
+        int[] disponibles = new int[NUM_RECURSOS];
+        int[][] asignados = new int[NUM_PROCESOS][NUM_RECURSOS];
+        int[][] request = new int[NUM_PROCESOS][NUM_RECURSOS];
+        for (int j = 0; j < NUM_RECURSOS; j++) {
+            disponibles[j] = rnd.nextInt(3);
+        }
+        for (int i = 0; i < NUM_PROCESOS; i++) {
+            for (int j = 0; j < NUM_RECURSOS; j++) {
+                asignados[i][j] = rnd.nextInt(10) == 0 ? 1 : 0;
+                request[i][j] = rnd.nextInt(40) == 0 ? 1 + rnd.nextInt(3) : 0;
+            }
+        }
+        DeadLock deadLock = new DeadLock(NUM_PROCESOS, NUM_RECURSOS, disponibles, asignados, request);
+
+        System.out.println("--- Benchmark de detección (" + NUM_PROCESOS + " procesos x " + NUM_RECURSOS + " recursos) ---");
+        long inicio = System.nanoTime();
+        boolean secuencial = false;
+        for (int r = 0; r < REPETICIONES; r++) {
+            secuencial = deadLock.detectarInterbloqueo();
+        }
+        long base = (System.nanoTime() - inicio) / REPETICIONES;
+        System.out.printf("Secuencial      : %8.2f ms (interbloqueo: %b)%n", base / 1e6, secuencial);
+
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        for (int hilos = 1; hilos <= nucleos; hilos = hilos < nucleos ? Math.min(hilos * 2, nucleos) : nucleos + 1) {
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            deadLock.detectarInterbloqueoParalelo(pool); // Calentamiento
+            inicio = System.nanoTime();
+            boolean paralelo = false;
+            for (int r = 0; r < REPETICIONES; r++) {
+                paralelo = deadLock.detectarInterbloqueoParalelo(pool);
+            }
+            long tiempo = (System.nanoTime() - inicio) / REPETICIONES;
+            System.out.printf("Paralelo %2d hilos: %8.2f ms (x%.2f, interbloqueo: %b)%n",
+                    hilos, tiempo / 1e6, (double) base / tiempo, paralelo);
+            pool.shutdown();
+        }
+    }
+}
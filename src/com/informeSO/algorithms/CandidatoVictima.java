@@ -0,0 +1,27 @@
+package com.informeSO.algorithms;
+
+// Datos de un proceso interbloqueado que una PoliticaVictima usa para calcular su costo
+public class CandidatoVictima {
+    private final int procesoId;
+    private final int recursosRetenidos;
+    private final int prioridad;
+    private final long trabajoPerdido;
+    private final int desbloqueados;
+
+    CandidatoVictima(int procesoId, int recursosRetenidos, int prioridad, long trabajoPerdido, int desbloqueados) {
+        this.procesoId = procesoId;
+        this.recursosRetenidos = recursosRetenidos;
+        this.prioridad = prioridad;
+        this.trabajoPerdido = trabajoPerdido;
+        this.desbloqueados = desbloqueados;
+    }
+
+    public int obtenerProcesoId() { return procesoId; }
+    // Total de instancias que tiene asignadas
+    public int obtenerRecursosRetenidos() { return recursosRetenidos; }
+    public int obtenerPrioridad() { return prioridad; }
+    // Trabajo que se pierde si se termina (declarado con DeadLock.establecerTrabajoRealizado)
+    public long obtenerTrabajoPerdido() { return trabajoPerdido; }
+    // Procesos interbloqueados que podrían continuar con lo que libera (-1 si la política no lo usa)
+    public int obtenerDesbloqueados() { return desbloqueados; }
+}
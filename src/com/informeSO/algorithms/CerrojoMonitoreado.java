@@ -0,0 +1,192 @@
+package com.informeSO.algorithms;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lock reentrante que registra en una TablaBloqueos quién lo retiene y quién lo espera.
+// Primero intenta tomarlo sin esperar: si el cerrojo está libre solo se registra la retención, y la
+// espera se anota únicamente cuando el hilo de verdad va a bloquearse. Ese intento usa
+// tryLock(0, ...), que respeta la cola si el cerrojo es justo (tryLock() se la saltaría). Las readquisiciones del mismo
+// hilo no se registran (para DeadLock el cerrojo es una sola unidad).
+public class CerrojoMonitoreado implements Lock {
+    private final ReentrantLock cerrojo;
+    private final TablaBloqueos tabla;
+    private final int recurso;
+
+    public CerrojoMonitoreado(TablaBloqueos tabla, String nombre) {
+        this(tabla, nombre, false);
+    }
+
+    public CerrojoMonitoreado(TablaBloqueos tabla, String nombre, boolean justo) {
+        this.cerrojo = new ReentrantLock(justo);
+        this.tabla = tabla;
+        this.recurso = tabla.registrarRecurso(nombre, () -> cerrojo.isLocked() ? 0 : 1);
+    }
+
+    @Override
+    public void lock() {
+        if (cerrojo.isHeldByCurrentThread()) {
+            cerrojo.lock(); // Reentrada: ya registrado
+            return;
+        }
+        if (tomarSinEsperar()) {
+            tabla.retener(recurso, 1);
+            return;
+        }
+        tabla.esperar(recurso, 1);
+        cerrojo.lock();
+        tabla.finEspera(recurso, 1, true);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (cerrojo.isHeldByCurrentThread()) {
+            cerrojo.lockInterruptibly();
+            return;
+        }
+        if (cerrojo.tryLock(0, TimeUnit.NANOSECONDS)) {
+            tabla.retener(recurso, 1);
+            return;
+        }
+        tabla.esperar(recurso, 1);
+        boolean concedido = false;
+        try {
+            cerrojo.lockInterruptibly();
+            concedido = true;
+        } finally {
+            tabla.finEspera(recurso, 1, concedido);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        boolean reentrada = cerrojo.isHeldByCurrentThread();
+        if (!cerrojo.tryLock()) {
+            return false;
+        }
+        if (!reentrada) {
+            tabla.retener(recurso, 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long tiempo, TimeUnit unidad) throws InterruptedException {
+        if (cerrojo.isHeldByCurrentThread()) {
+            return cerrojo.tryLock(tiempo, unidad);
+        }
+        if (cerrojo.tryLock(0, TimeUnit.NANOSECONDS)) {
+            tabla.retener(recurso, 1);
+            return true;
+        }
+        tabla.esperar(recurso, 1);
+        boolean concedido = false;
+        try {
+            concedido = cerrojo.tryLock(tiempo, unidad);
+            return concedido;
+        } finally {
+            tabla.finEspera(recurso, 1, concedido);
+        }
+    }
+
+    // lock() no lanza InterruptedException: si el hilo ya estaba interrumpido se conserva la marca
+    // y se toma el camino lento, que espera sin atender la interrupción
+    private boolean tomarSinEsperar() {
+        try {
+            return cerrojo.tryLock(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void unlock() {
+        // Solo la última liberación devuelve el recurso
+        if (cerrojo.getHoldCount() == 1) {
+            tabla.liberar(recurso, 1);
+        }
+        cerrojo.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new CondicionMonitoreada(cerrojo.newCondition());
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return cerrojo.isHeldByCurrentThread();
+    }
+
+    // await() suelta el cerrojo mientras espera la señal y lo vuelve a tomar antes de retornar
+    private class CondicionMonitoreada implements Condition {
+        private final Condition condicion;
+
+        CondicionMonitoreada(Condition condicion) {
+            this.condicion = condicion;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            tabla.liberar(recurso, 1);
+            try {
+                condicion.await();
+            } finally {
+                tabla.retener(recurso, 1);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            tabla.liberar(recurso, 1);
+            try {
+                condicion.awaitUninterruptibly();
+            } finally {
+                tabla.retener(recurso, 1);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanos) throws InterruptedException {
+            tabla.liberar(recurso, 1);
+            try {
+                return condicion.awaitNanos(nanos);
+            } finally {
+                tabla.retener(recurso, 1);
+            }
+        }
+
+        @Override
+        public boolean await(long tiempo, TimeUnit unidad) throws InterruptedException {
+            tabla.liberar(recurso, 1);
+            try {
+                return condicion.await(tiempo, unidad);
+            } finally {
+                tabla.retener(recurso, 1);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date limite) throws InterruptedException {
+            tabla.liberar(recurso, 1);
+            try {
+                return condicion.awaitUntil(limite);
+            } finally {
+                tabla.retener(recurso, 1);
+            }
+        }
+
+        @Override
+        public void signal() {
+            condicion.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condicion.signalAll();
+        }
+    }
+}
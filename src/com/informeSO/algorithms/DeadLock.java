@@ -1,23 +1,59 @@
 package com.informeSO.algorithms;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
 
 public class DeadLock {
+    // Cómo se rompe el interbloqueo con la víctima elegida
+    public enum ModoRecuperacion {
+        TERMINAR,  // Se termina la víctima y se liberan todos sus recursos
+        EXPROPIAR  // Se le quita solo lo necesario para desbloquear a otro proceso; la víctima sigue viva
+    }
+
     private int numProcesos;
     private int numRecursos;
     private int[] disponibles;
-    private int[][] asignados;
-    private int[][] request; // Para la detección de interbloqueos, 'request' es lo que están esperando.
+    private MatrizPlana asignados; // Matrices fila-mayor en un solo arreglo
+    private MatrizPlana request; // Para la detección de interbloqueos, 'request' es lo que están esperando.
+    // Receptor de eventos; por defecto no imprime nada
+    private OyenteDeadLock oyente = OyenteDeadLock.SILENCIOSO;
+    // Ciclos encontrados en la última detección con grafo de espera
+    private List<List<Integer>> ultimosCiclos = new ArrayList<>();
+    // Datos para las políticas de selección de víctimas
+    private final int[] prioridades;
+    private final long[] trabajoRealizado;
+    // Métricas de la última recuperación
+    private int terminaciones;
+    private int expropiaciones;
 
     
     public DeadLock(int numProcesos, int numRecursos, int[]disponibles, int[][] asignados, int[][] request) {
         this.numProcesos = numProcesos;
         this.numRecursos = numRecursos;
         this.disponibles = Arrays.copyOf(disponibles, disponibles.length);
-        this.asignados = asignados;
-        this.request = request;
+        this.asignados = MatrizPlana.desde(asignados, numProcesos, numRecursos);
+        this.request = MatrizPlana.desde(request, numProcesos, numRecursos);
+        this.prioridades = new int[numProcesos];
+        this.trabajoRealizado = new long[numProcesos];
+    }
+
+    // Prioridad del proceso (las políticas suelen preferir como víctima la menor)
+    public void establecerPrioridad(int procesoId, int prioridad) {
+        prioridades[procesoId] = prioridad;
+    }
+
+    // Trabajo ya realizado por el proceso, que se perdería si se termina
+    public void establecerTrabajoRealizado(int procesoId, long trabajo) {
+        trabajoRealizado[procesoId] = trabajo;
+    }
+
+    // Cambia el receptor de eventos (null vuelve al modo silencioso)
+    public void establecerOyente(OyenteDeadLock oyente) {
+        this.oyente = oyente != null ? oyente : OyenteDeadLock.SILENCIOSO;
     }
 
     //Metodo para hacer una copia profunda de una matriz 2D
@@ -38,24 +74,23 @@ public class DeadLock {
         
         System.out.println("\nMatriz Asignados:");
         for (int i = 0; i < numProcesos; i++) {
-            System.out.println("Proceso " + i + ": " + Arrays.toString(asignados[i]));
+            System.out.println("Proceso " + i + ": " + Arrays.toString(asignados.fila(i)));
         }
         
         System.out.println("\nMatriz Request (Solicitudes de recursos):");
         for (int i = 0; i < numProcesos; i++) {
-            System.out.println("Proceso " + i + ": " + Arrays.toString(request[i]));
+            System.out.println("Proceso " + i + ": " + Arrays.toString(request.fila(i)));
         }
         System.out.println("\n-------------------------------\n");
     }
 
     
     public boolean detectarInterbloqueo(){
-        int work[] = Arrays.copyOf(disponibles, numProcesos);
+        int work[] = Arrays.copyOf(disponibles, numRecursos);
         boolean finish[] = new boolean[numProcesos];
         List<Integer> procesosInterbloqueados = new ArrayList<>();
 
-        System.out.println("\n--- Ejecutando Detección de Interbloqueos --- \n");
-        System.out.println("Estado inicial de 'work': " + Arrays.toString(work));
+        oyente.inicioDeteccion(work);
 
         //Detectar si hay un cambio en cada iteración
         int procesosFinalizadosEnEstaPasada;
@@ -65,25 +100,16 @@ public class DeadLock {
 
             for (int i = 0; i < numProcesos; i++) {
                 if (!finish[i]) {  // Si el proceso aún no ha terminado
-                    boolean puedeAsignar = true;
-
-                    //Verificar si el proceso puede ser asignado
-                    for (int j = 0; j < numRecursos; j++) {
-                        if (request[i][j] > work[j]) {  //Si la solicitud es mayor que los recursos disponibles
-                            puedeAsignar = false;
-                            break;
-                        }
-                    }
+                    //Verificar si el proceso puede ser asignado (request[i] <= work)
+                    boolean puedeAsignar = request.filaMenorIgual(i, work);
 
                     //Si puede asignar, actualizar 'work' y marcar como finalizado
                     if (puedeAsignar) {
                         //simular que el proceso i puede ejecutarse y liberar sus recursos
-                        for (int j = 0; j < numRecursos; j++) {
-                            work[j] += asignados[i][j];
-                        }
+                        asignados.sumarFilaA(i, work);
                         finish[i] = true;  // Marcar el proceso como finalizado
                         procesosFinalizadosEnEstaPasada++;
-                        System.out.println("  Proceso P" + i + " puede ejecutar y liberar recursos. Work actual: " + Arrays.toString(work));
+                        oyente.procesoPuedeEjecutarse(i, work);
                     }
                 }
             }
@@ -100,86 +126,236 @@ public class DeadLock {
         }
 
         if(interbloqueoDetectado) {
-            System.out.println("Interbloqueo detectado!! Procesos interbloqueado son: " + procesosInterbloqueados);
+            oyente.interbloqueoDetectado(procesosInterbloqueados);
             return true; 
         } else {
-            System.out.println("No se detectó interbloqueo. Todos los procesos pueden finalizar.");
+            oyente.sinInterbloqueo();
             return false;
         }
     }
 
+    // Detección en paralelo para tablas de procesos grandes (ver DeteccionParalela).
+    // Da el mismo conjunto de procesos interbloqueados que detectarInterbloqueo().
+    public boolean detectarInterbloqueoParalelo() {
+        return detectarInterbloqueoParalelo(ForkJoinPool.commonPool());
+    }
+
+    public boolean detectarInterbloqueoParalelo(ForkJoinPool pool) {
+        boolean[] finish = DeteccionParalela.reducir(pool, numProcesos, numRecursos, disponibles, asignados, request);
+        List<Integer> procesosInterbloqueados = new ArrayList<>();
+        for (int i = 0; i < numProcesos; i++) {
+            if (!finish[i]) {
+                procesosInterbloqueados.add(i);
+            }
+        }
+        if (!procesosInterbloqueados.isEmpty()) {
+            oyente.interbloqueoDetectado(procesosInterbloqueados);
+            return true;
+        }
+        oyente.sinInterbloqueo();
+        return false;
+    }
+
+    // Detección con grafo de espera para recursos de una sola instancia.
+    // Construye el grafo proceso -> proceso a partir de 'asignados' y 'request' y busca sus
+    // componentes fuertemente conexas con Tarjan en O(V + E). Cada ciclo se reporta por separado;
+    // los procesos que solo esperan a un ciclo también se cuentan como interbloqueados.
+    // Si algún recurso tiene más de una instancia, usa la reducción matricial de detectarInterbloqueo().
+    public boolean detectarInterbloqueoGrafo() {
+        if (!GrafoEspera.esInstanciaUnica(numProcesos, numRecursos, disponibles, asignados)) {
+            ultimosCiclos = new ArrayList<>();
+            return detectarInterbloqueo();
+        }
+        GrafoEspera grafo = GrafoEspera.construir(numProcesos, numRecursos, disponibles, asignados, request);
+        ultimosCiclos = grafo.buscarCiclos();
+        boolean[] bloqueado = grafo.procesosBloqueados(ultimosCiclos);
+
+        List<Integer> procesosInterbloqueados = new ArrayList<>();
+        for (int i = 0; i < numProcesos; i++) {
+            if (bloqueado[i]) {
+                procesosInterbloqueados.add(i);
+            }
+        }
+
+        if (!procesosInterbloqueados.isEmpty()) {
+            oyente.ciclosDetectados(ultimosCiclos);
+            oyente.interbloqueoDetectado(procesosInterbloqueados);
+            return true;
+        }
+        oyente.sinInterbloqueo();
+        return false;
+    }
+
+    // Ciclos (conjuntos de procesos que se esperan mutuamente) de la última detección con grafo
+    public List<List<Integer>> obtenerCiclos() {
+        List<List<Integer>> copia = new ArrayList<>();
+        for (List<Integer> ciclo : ultimosCiclos) {
+            copia.add(new ArrayList<>(ciclo));
+        }
+        return copia;
+    }
+
     //Terminar procesos interbloqueados hasta que se resuelva el interbloqueo
+    // Víctima: el proceso interbloqueado de menor número (comportamiento original)
     public void recuperarInterbloqueo(){
-        if(!detectarInterbloqueo()) {
-            System.out.println("No hay interbloqueo, no es necesario recuperar.");
+        recuperarInterbloqueo(PoliticaVictima.MENOR_ID, ModoRecuperacion.TERMINAR);
+    }
+
+    /**
+     * Recupera el sistema eligiendo en cada paso la víctima de menor costo.
+     * La reducción se hace una sola vez y se conserva entre víctimas: al liberar recursos de una
+     * víctima se suman a 'work' y solo se revisan los procesos que eso desbloquea.
+     * Con políticas de costo fijo los candidatos salen de una cola de prioridad. Si el costo depende
+     * del estado (desbloqueados), cada víctima cambia 'work' y el costo de todos los demás puede bajar,
+     * así que se recalculan todos los candidatos antes de elegir: O(k²·m) por víctima con k interbloqueados.
+     * @param politica Criterio de costo para elegir la víctima.
+     * @param modo TERMINAR la víctima o EXPROPIAR solo parte de sus recursos.
+     */
+    public void recuperarInterbloqueo(PoliticaVictima politica, ModoRecuperacion modo){
+        terminaciones = 0;
+        expropiaciones = 0;
+        ReduccionIncremental reduccion = new ReduccionIncremental(numProcesos, numRecursos, disponibles, asignados, request);
+        if(!reduccion.hayInterbloqueo()) {
+            oyente.recuperacionInnecesaria();
             return;
         }
 
-        System.out.println("\n--- Recuperando de Interbloqueo ---");
-        while(detectarInterbloqueo()){
-            //Obtener la lista de procesos interbloqueados
-            List<Integer> procesosInterbloqueadosActuales = new ArrayList<>();
-            int tempWork[] = Arrays.copyOf(disponibles, numRecursos);
-            boolean tempFinish[] = new boolean[numProcesos];
-
-            
-            int procesosTerminadosTemp;
-            do{
-                procesosTerminadosTemp = 0;
-                boolean procesoFinalizadoEncontradoTemp = false;
-
-                for (int i = 0; i < numProcesos; i++) {
-                    if (!tempFinish[i]) {  // Si el proceso aún no ha terminado
-                        boolean puedeAsignar = true;
-
-                        //Verificar si el proceso puede ser asignado
-                        for (int j = 0; j < numRecursos; j++) {
-                            if (request[i][j] > tempWork[j]) {  //Si la solicitud es mayor que los recursos disponibles
-                                puedeAsignar = false;
-                                break;
-                            }
-                        }
-
-                        //Si puede asignar, actualizar 'work' y marcar como finalizado
-                        if (puedeAsignar) {
-                            //simular que el proceso i puede ejecutarse y liberar sus recursos
-                            for (int j = 0; j < numRecursos; j++) {
-                                tempWork[j] += asignados[i][j];
-                            }
-                            tempFinish[i] = true;  // Marcar el proceso como finalizado
-                            procesoFinalizadoEncontradoTemp = true;
-                            procesosTerminadosTemp++;
-                        }
-                    }
+        oyente.inicioRecuperacion();
+        List<Integer> interbloqueados = reduccion.procesosInterbloqueados();
+        // Solo para políticas de costo fijo: el costo de un candidato no cambia mientras siga en la cola
+        PriorityQueue<EntradaVictima> cola = new PriorityQueue<>(
+                Comparator.comparingDouble((EntradaVictima e) -> e.costo).thenComparingInt(e -> e.procesoId));
+        if (!politica.dependeDelEstado()) {
+            for (int i : interbloqueados) {
+                cola.add(new EntradaVictima(i, politica.costo(candidato(i, politica, reduccion, interbloqueados))));
+            }
+        }
+
+        while(reduccion.hayInterbloqueo()){
+            int victimaId;
+            if (politica.dependeDelEstado()) {
+                interbloqueados.removeIf(reduccion::terminado);
+                victimaId = menorCosto(interbloqueados, politica, reduccion);
+            } else {
+                victimaId = cola.poll().procesoId;
+                if (reduccion.terminado(victimaId)) {
+                    continue; // Se desbloqueó gracias a una víctima anterior
                 }
-            }while (procesosTerminadosTemp > 0);  // Evitar bucles infinitos
-            for (int i = 0; i < numProcesos; i++) {
-                if (!tempFinish[i]) {  // Si hay algún proceso que no ha terminado
-                    procesosInterbloqueadosActuales.add(i);
+            }
+            oyente.victimaSeleccionada(victimaId);
+
+            if (modo == ModoRecuperacion.EXPROPIAR && !asignados.filaEsCero(victimaId)) {
+                int[] expropiado = calcularExpropiacion(victimaId, reduccion);
+                // La víctima devuelve lo expropiado y tendrá que volver a pedirlo
+                for (int j = 0; j < numRecursos; j++) {
+                    disponibles[j] += expropiado[j];
+                }
+                asignados.sumarAFila(victimaId, expropiado, -1);
+                request.sumarAFila(victimaId, expropiado, 1);
+                reduccion.expropiar(victimaId, expropiado);
+                expropiaciones++;
+                oyente.recursosExpropiados(victimaId, expropiado);
+                if (!politica.dependeDelEstado() && !reduccion.terminado(victimaId)) {
+                    // Retiene menos que antes: vuelve a la cola con su costo nuevo
+                    cola.add(new EntradaVictima(victimaId, politica.costo(candidato(victimaId, politica, reduccion, interbloqueados))));
                 }
+            } else {
+                // Continuar la reducción con los recursos de la víctima (antes de limpiar su fila)
+                reduccion.eliminar(victimaId);
+
+                // Liberar recursos del proceso víctima
+                asignados.sumarFilaA(victimaId, disponibles);
+                asignados.limpiarFila(victimaId);  // El proceso víctima ya no tiene recursos asignados
+                request.limpiarFila(victimaId);  // El proceso víctima ya no está solicitando recursos
+                terminaciones++;
+                oyente.victimaTerminada(this, victimaId);
             }
+        }
+        oyente.finRecuperacion();
+    }
 
-            if(procesosInterbloqueadosActuales.isEmpty()) {
-                System.out.println("Todos los procesos han finalizado, no hay interbloqueo.");
-                break;
+    // Candidato de menor costo recalculando todos con el 'work' actual (empates: menor número)
+    private int menorCosto(List<Integer> interbloqueados, PoliticaVictima politica, ReduccionIncremental reduccion) {
+        int mejor = -1;
+        double costoMejor = Double.POSITIVE_INFINITY;
+        for (int i : interbloqueados) {
+            double costo = politica.costo(candidato(i, politica, reduccion, interbloqueados));
+            if (mejor < 0 || costo < costoMejor || (costo == costoMejor && i < mejor)) {
+                mejor = i;
+                costoMejor = costo;
             }
+        }
+        return mejor;
+    }
 
-            //Primer proceso interbloqueado encontrado
-            int victimaId = procesosInterbloqueadosActuales.get(0);
-            System.out.println("Proceso P" + victimaId + " seleccionado como proceso víctima para terminar.");
+    // Procesos terminados en la última recuperación
+    public int obtenerTerminaciones() {
+        return terminaciones;
+    }
+
+    // Expropiaciones parciales realizadas en la última recuperación
+    public int obtenerExpropiaciones() {
+        return expropiaciones;
+    }
+
+    // Entrada de la cola de víctimas
+    private static class EntradaVictima {
+        final int procesoId;
+        final double costo;
+
+        EntradaVictima(int procesoId, double costo) {
+            this.procesoId = procesoId;
+            this.costo = costo;
+        }
+    }
 
-            // Liberar recursos del proceso víctima
-            for (int j = 0; j < numRecursos; j++) {
-                disponibles[j] += asignados[victimaId][j];
-                asignados[victimaId][j] = 0;  // El proceso víctima ya no tiene recursos asignados
-                request[victimaId][j] = 0;  // El proceso víctima ya no está solicitando recursos
+    private CandidatoVictima candidato(int procesoId, PoliticaVictima politica, ReduccionIncremental reduccion,
+                                       List<Integer> interbloqueados) {
+        int retenidos = 0;
+        for (int j = 0; j < numRecursos; j++) {
+            retenidos += asignados.get(procesoId, j);
+        }
+        int desbloqueados = politica.dependeDelEstado() ? contarDesbloqueados(procesoId, reduccion, interbloqueados) : -1;
+        return new CandidatoVictima(procesoId, retenidos, prioridades[procesoId], trabajoRealizado[procesoId], desbloqueados);
+    }
+
+    // Procesos interbloqueados cuya solicitud cabría en work + lo que retiene el candidato: O(k·m)
+    private int contarDesbloqueados(int procesoId, ReduccionIncremental reduccion, List<Integer> interbloqueados) {
+        int[] conVictima = Arrays.copyOf(reduccion.obtenerWork(), numRecursos);
+        asignados.sumarFilaA(procesoId, conVictima);
+        int total = 0;
+        for (int i : interbloqueados) {
+            if (i != procesoId && !reduccion.terminado(i) && request.filaMenorIgual(i, conVictima)) {
+                total++;
             }
+        }
+        return total;
+    }
 
-            //Asegurar que el proceso victima ya no se considere en futuras detecciones de interbloqueo
-            imprimirEstado();
-            System.out.println("  Recursos de P" + victimaId + " liberados. Verificando nuevamente el interbloqueo...");
+    // Lo mínimo que hay que quitarle a la víctima para que otro proceso interbloqueado pueda continuar;
+    // si ninguno puede continuar solo con sus recursos, se le quita todo lo que retiene.
+    private int[] calcularExpropiacion(int victimaId, ReduccionIncremental reduccion) {
+        int[] work = reduccion.obtenerWork();
+        int[] mejor = null;
+        int costoMejor = Integer.MAX_VALUE;
+        int[] deficit = new int[numRecursos];
+        for (int i = 0; i < numProcesos; i++) {
+            if (i == victimaId || reduccion.terminado(i)) {
+                continue;
+            }
+            int costo = 0;
+            boolean alcanza = true;
+            for (int j = 0; j < numRecursos && alcanza; j++) {
+                deficit[j] = Math.max(0, request.get(i, j) - work[j]);
+                alcanza = deficit[j] <= asignados.get(victimaId, j);
+                costo += deficit[j];
+            }
+            if (alcanza && costo < costoMejor) {
+                costoMejor = costo;
+                mejor = Arrays.copyOf(deficit, numRecursos);
+            }
         }
-        System.out.println("\n--- Recuperación de interbloqueo completada ---");
+        return mejor != null ? mejor : asignados.fila(victimaId);
     }
 
     public static void main(String[] args) {
@@ -218,10 +394,28 @@ public class DeadLock {
 
 
         DeadLock deadlock1 = new DeadLock(numProcesos, numRecursos, disponible1, asignado1, request1);
+        deadlock1.establecerOyente(new OyenteDeadLockConsola()); // Mostrar la traza por consola
         deadlock1.imprimirEstado();
         deadlock1.detectarInterbloqueo();   // detectar interbloqueo
         deadlock1.recuperarInterbloqueo(); // si detecta interbloqueo, recuperar y resolverlo
         //deadlock1.imprimirEstado();  //Imprimir estado final después de recuperación
         //deadlock1.detectarInterbloqueo();   verificar si se resolvio el interbloqueo
+
+        System.out.println("\n--- Escenario 2: Interbloqueo con recursos de una instancia (grafo de espera) ---");
+        int[] disponible2 = {0, 0, 0};
+        int[][] asignado2 = {
+                {1, 0, 0}, // P0 tiene R0, espera R1
+                {0, 1, 0}, // P1 tiene R1, espera R0
+                {0, 0, 1}  // P2 tiene R2, no involucrado
+        };
+        int[][] request2 = { // Piden lo que el otro tiene
+                {0, 1, 0}, // P0 solicita R1 (retenido por P1)
+                {1, 0, 0}, // P1 solicita R0 (retenido por P0)
+                {0, 0, 0}  // P2 no solicita nada
+        };
+        DeadLock deadlock2 = new DeadLock(numProcesos, numRecursos, disponible2, asignado2, request2);
+        deadlock2.establecerOyente(new OyenteDeadLockConsola());
+        deadlock2.detectarInterbloqueoGrafo();
+        deadlock2.recuperarInterbloqueo();
     }
 }
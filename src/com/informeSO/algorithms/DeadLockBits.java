@@ -0,0 +1,158 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Detección de interbloqueos para tablas de bloqueos donde cada recurso tiene una sola instancia.
+// En lugar de matrices int (casi todo ceros) cada proceso guarda dos conjuntos de bits en long[]:
+// los recursos que retiene y los que solicita. Así la memoria baja unas 32 veces y la reducción
+// compara 64 recursos por palabra:
+//   - "request ⊆ work":  (request & ~work) == 0 en todas las palabras
+//   - "work |= held" al liberar los recursos de un proceso que puede terminar
+public class DeadLockBits {
+    private final int numProcesos;
+    private final int numRecursos;
+    // Palabras de 64 bits por fila
+    private final int palabras;
+    private final long[] disponibles;
+    // Filas contiguas: bits del proceso i en [i*palabras, (i+1)*palabras)
+    private final long[] asignados;
+    private final long[] request;
+    // Receptor de eventos; por defecto no imprime nada
+    private OyenteDeadLock oyente = OyenteDeadLock.SILENCIOSO;
+    private List<Integer> ultimosInterbloqueados = new ArrayList<>();
+
+    public DeadLockBits(int numProcesos, int numRecursos) {
+        this.numProcesos = numProcesos;
+        this.numRecursos = numRecursos;
+        this.palabras = (numRecursos + 63) >>> 6;
+        this.disponibles = new long[palabras];
+        this.asignados = new long[Math.multiplyExact(numProcesos, palabras)];
+        this.request = new long[Math.multiplyExact(numProcesos, palabras)];
+    }
+
+    // Convierte una tabla densa (valores 0/1) al formato de bits
+    public static DeadLockBits desde(int numProcesos, int numRecursos, int[] disponibles, int[][] asignados, int[][] request) {
+        DeadLockBits d = new DeadLockBits(numProcesos, numRecursos);
+        for (int j = 0; j < numRecursos; j++) {
+            if (disponibles[j] > 0) {
+                d.marcarDisponible(j);
+            }
+        }
+        for (int i = 0; i < numProcesos; i++) {
+            for (int j = 0; j < numRecursos; j++) {
+                if (asignados[i][j] > 0) {
+                    d.asignar(i, j);
+                }
+                if (request[i][j] > 0) {
+                    d.solicitar(i, j);
+                }
+            }
+        }
+        return d;
+    }
+
+    // Cambia el receptor de eventos (null vuelve al modo silencioso)
+    public void establecerOyente(OyenteDeadLock oyente) {
+        this.oyente = oyente != null ? oyente : OyenteDeadLock.SILENCIOSO;
+    }
+
+    // --- Construcción de la tabla ---
+
+    public void marcarDisponible(int recurso) {
+        disponibles[recurso >>> 6] |= 1L << recurso;
+    }
+
+    // El proceso retiene el recurso (deja de estar disponible)
+    public void asignar(int procesoId, int recurso) {
+        asignados[procesoId * palabras + (recurso >>> 6)] |= 1L << recurso;
+        disponibles[recurso >>> 6] &= ~(1L << recurso);
+    }
+
+    // El proceso espera el recurso
+    public void solicitar(int procesoId, int recurso) {
+        request[procesoId * palabras + (recurso >>> 6)] |= 1L << recurso;
+    }
+
+    // El proceso suelta el recurso, que vuelve a estar disponible
+    public void liberar(int procesoId, int recurso) {
+        asignados[procesoId * palabras + (recurso >>> 6)] &= ~(1L << recurso);
+        disponibles[recurso >>> 6] |= 1L << recurso;
+    }
+
+    // El proceso deja de esperar el recurso
+    public void cancelarSolicitud(int procesoId, int recurso) {
+        request[procesoId * palabras + (recurso >>> 6)] &= ~(1L << recurso);
+    }
+
+    /**
+     * Reducción con conjuntos de bits. Cada pasada solo recorre los procesos que aún no han
+     * terminado (la lista se compacta) y se detiene cuando una pasada no termina a ninguno.
+     * @return true si hay procesos interbloqueados.
+     */
+    public boolean detectarInterbloqueo() {
+        long[] work = disponibles.clone();
+        int[] vivos = new int[numProcesos];
+        for (int i = 0; i < numProcesos; i++) {
+            vivos[i] = i;
+        }
+        int numVivos = numProcesos;
+
+        boolean progreso = true;
+        while (progreso && numVivos > 0) {
+            progreso = false;
+            int k = 0;
+            for (int v = 0; v < numVivos; v++) {
+                int i = vivos[v];
+                if (solicitudCabe(i, work)) {
+                    // work |= held
+                    int base = i * palabras;
+                    for (int w = 0; w < palabras; w++) {
+                        work[w] |= asignados[base + w];
+                    }
+                    progreso = true;
+                } else {
+                    vivos[k++] = i;
+                }
+            }
+            numVivos = k;
+        }
+
+        List<Integer> procesosInterbloqueados = new ArrayList<>(numVivos);
+        for (int v = 0; v < numVivos; v++) {
+            procesosInterbloqueados.add(vivos[v]);
+        }
+        procesosInterbloqueados.sort(null);
+        ultimosInterbloqueados = procesosInterbloqueados;
+
+        if (numVivos > 0) {
+            oyente.interbloqueoDetectado(procesosInterbloqueados);
+            return true;
+        }
+        oyente.sinInterbloqueo();
+        return false;
+    }
+
+    // request[i] ⊆ work
+    private boolean solicitudCabe(int procesoId, long[] work) {
+        int base = procesoId * palabras;
+        long faltantes = 0;
+        for (int w = 0; w < palabras; w++) {
+            faltantes |= request[base + w] & ~work[w];
+        }
+        return faltantes == 0;
+    }
+
+    // Procesos interbloqueados de la última detección
+    public List<Integer> obtenerInterbloqueados() {
+        return new ArrayList<>(ultimosInterbloqueados);
+    }
+
+    public int obtenerNumProcesos() {
+        return numProcesos;
+    }
+
+    public int obtenerNumRecursos() {
+        return numRecursos;
+    }
+}
@@ -0,0 +1,109 @@
+package com.informeSO.algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Reducción de detección de interbloqueos en paralelo con fork-join.
+// Cada ronda divide los procesos aún vivos en tramos, encuentra en paralelo todos los que pueden
+// ejecutarse con el 'work' actual (que no cambia durante la ronda) y acumula lo que liberan.
+// Al final de la ronda las liberaciones se aplican en bloque. Como la reducción es confluente
+// (terminar un proceso solo hace crecer 'work'), el conjunto interbloqueado final es el mismo
+// que el del recorrido secuencial.
+class DeteccionParalela {
+    // Procesos por tarea hoja
+    private static final int UMBRAL = 1024;
+
+    private final int numRecursos;
+    private final MatrizPlana asignados;
+    private final MatrizPlana request;
+    private final int[] work;
+    private final boolean[] finish;
+    private final int[] vivos;
+    private int numVivos;
+
+    private DeteccionParalela(int numProcesos, int numRecursos, int[] disponibles, MatrizPlana asignados, MatrizPlana request) {
+        this.numRecursos = numRecursos;
+        this.asignados = asignados;
+        this.request = request;
+        this.work = Arrays.copyOf(disponibles, numRecursos);
+        this.finish = new boolean[numProcesos];
+        this.vivos = new int[numProcesos];
+        for (int i = 0; i < numProcesos; i++) {
+            vivos[i] = i;
+        }
+        this.numVivos = numProcesos;
+    }
+
+    // Retorna el arreglo 'finish': false para los procesos interbloqueados
+    static boolean[] reducir(ForkJoinPool pool, int numProcesos, int numRecursos, int[] disponibles,
+                             MatrizPlana asignados, MatrizPlana request) {
+        DeteccionParalela d = new DeteccionParalela(numProcesos, numRecursos, disponibles, asignados, request);
+        while (d.numVivos > 0) {
+            int[] liberado = pool.invoke(d.new Ronda(0, d.numVivos));
+            if (liberado == null) {
+                break; // Ningún proceso pudo ejecutarse en esta ronda
+            }
+            for (int j = 0; j < numRecursos; j++) {
+                d.work[j] += liberado[j];
+            }
+            d.compactar();
+        }
+        return d.finish;
+    }
+
+    // Quita de 'vivos' los procesos terminados en la última ronda
+    private void compactar() {
+        int k = 0;
+        for (int v = 0; v < numVivos; v++) {
+            if (!finish[vivos[v]]) {
+                vivos[k++] = vivos[v];
+            }
+        }
+        numVivos = k;
+    }
+
+    // Tarea de una ronda sobre vivos[desde, hasta): retorna lo que liberan los procesos listos (o null)
+    @SuppressWarnings("serial") // Las tareas fork-join nunca se serializan
+    private class Ronda extends RecursiveTask<int[]> {
+        private final int desde;
+        private final int hasta;
+
+        Ronda(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hasta - desde <= UMBRAL) {
+                int[] liberado = null;
+                for (int v = desde; v < hasta; v++) {
+                    int i = vivos[v];
+                    if (request.filaMenorIgual(i, work)) {
+                        if (liberado == null) {
+                            liberado = new int[numRecursos];
+                        }
+                        asignados.sumarFilaA(i, liberado);
+                        finish[i] = true; // Cada tarea escribe posiciones distintas
+                    }
+                }
+                return liberado;
+            }
+            int medio = (desde + hasta) >>> 1;
+            Ronda izquierda = new Ronda(desde, medio);
+            izquierda.fork();
+            int[] derecha = new Ronda(medio, hasta).compute();
+            int[] izq = izquierda.join();
+            if (izq == null) {
+                return derecha;
+            }
+            if (derecha != null) {
+                for (int j = 0; j < numRecursos; j++) {
+                    izq[j] += derecha[j];
+                }
+            }
+            return izq;
+        }
+    }
+}
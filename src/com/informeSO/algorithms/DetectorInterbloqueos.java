@@ -0,0 +1,269 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Detector en segundo plano para hilos reales de la JVM.
+// Cada cierto periodo toma una instantánea de la TablaBloqueos, la pasa a DeadLock
+// (hilos = procesos, cerrojos/semáforos = recursos) y ejecuta detectarInterbloqueo().
+//
+// La instantánea no es atómica: un cerrojo que pasa de un hilo a otro mientras se copia la
+// tabla puede aparecer retenido sin dueño. Por eso un interbloqueo solo se reporta cuando la
+// misma espera se ve en dos revisiones seguidas (un interbloqueo real no desaparece solo),
+// y se reporta una sola vez mientras siga igual.
+public class DetectorInterbloqueos implements AutoCloseable {
+    private final TablaBloqueos tabla;
+    private final long periodoMs;
+    private ScheduledExecutorService planificador;
+    // Receptor de eventos; por defecto no imprime nada
+    private volatile OyenteMonitor oyente = OyenteMonitor.SILENCIOSO;
+
+    // Firma de la última revisión con interbloqueo y del último reportado
+    private String firmaPendiente;
+    private String firmaReportada;
+    private volatile ReporteInterbloqueo ultimoReporte;
+
+    // Métricas
+    private final LongAdder revisiones = new LongAdder();
+    private final LongAdder nanosInstantanea = new LongAdder();
+    private final LongAdder nanosDeteccion = new LongAdder();
+    private final LongAdder interbloqueosReportados = new LongAdder();
+
+    public DetectorInterbloqueos(TablaBloqueos tabla, long periodoMs) {
+        this.tabla = tabla;
+        this.periodoMs = periodoMs;
+    }
+
+    // Cambia el receptor de eventos (null vuelve al modo silencioso)
+    public void establecerOyente(OyenteMonitor oyente) {
+        this.oyente = oyente != null ? oyente : OyenteMonitor.SILENCIOSO;
+    }
+
+    // Inicia las revisiones periódicas en un hilo daemon
+    public synchronized void iniciar() {
+        if (planificador != null) {
+            return;
+        }
+        planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "detector-interbloqueos");
+            t.setDaemon(true);
+            return t;
+        });
+        planificador.scheduleWithFixedDelay(() -> {
+            try {
+                revisar();
+            } catch (RuntimeException e) {
+                oyente.errorDeteccion(e); // Una excepción cancelaría las siguientes revisiones
+            }
+        }, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void detener() {
+        if (planificador != null) {
+            planificador.shutdownNow();
+            planificador = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        detener();
+    }
+
+    /**
+     * Ejecuta una revisión ahora.
+     * @return El reporte si se confirmó un interbloqueo nuevo en esta revisión, o null.
+     */
+    public synchronized ReporteInterbloqueo revisar() {
+        revisiones.increment();
+        long inicio = System.nanoTime();
+        TablaBloqueos.Instantanea foto = tabla.tomarInstantanea();
+        long medio = System.nanoTime();
+        nanosInstantanea.add(medio - inicio);
+
+        int n = foto.hilos.length;
+        int m = foto.recursos.length;
+        List<Integer> interbloqueados = new ArrayList<>();
+        DeadLock deadLock = new DeadLock(n, m, foto.disponibles, foto.asignados, foto.request);
+        deadLock.establecerOyente(new OyenteDeadLock() {
+            @Override
+            public void interbloqueoDetectado(List<Integer> procesosInterbloqueados) {
+                interbloqueados.addAll(procesosInterbloqueados);
+            }
+        });
+        boolean hayInterbloqueo = n > 0 && deadLock.detectarInterbloqueo();
+        nanosDeteccion.add(System.nanoTime() - medio);
+
+        if (!hayInterbloqueo) {
+            firmaPendiente = null;
+            firmaReportada = null;
+            return null;
+        }
+        String firma = firma(foto, interbloqueados);
+        if (!firma.equals(firmaPendiente)) {
+            firmaPendiente = firma; // Primera vez que se ve: esperar a la siguiente revisión
+            return null;
+        }
+        if (firma.equals(firmaReportada)) {
+            return null; // Ya reportado
+        }
+        firmaReportada = firma;
+        ReporteInterbloqueo reporte = construirReporte(foto, interbloqueados);
+        ultimoReporte = reporte;
+        interbloqueosReportados.increment();
+        oyente.interbloqueoDetectado(reporte);
+        return reporte;
+    }
+
+    // Identifica el interbloqueo por los hilos y lo que espera cada uno
+    private static String firma(TablaBloqueos.Instantanea foto, List<Integer> interbloqueados) {
+        List<String> partes = new ArrayList<>();
+        for (int i : interbloqueados) {
+            StringBuilder sb = new StringBuilder().append(foto.hilos[i].getId()).append('>');
+            for (int j = 0; j < foto.recursos.length; j++) {
+                if (foto.request[i][j] > 0) {
+                    sb.append(foto.recursos[j]).append('x').append(foto.request[i][j]);
+                }
+            }
+            partes.add(sb.toString());
+        }
+        partes.sort(null);
+        return String.join(",", partes);
+    }
+
+    private static ReporteInterbloqueo construirReporte(TablaBloqueos.Instantanea foto, List<Integer> interbloqueados) {
+        List<ReporteInterbloqueo.HiloInterbloqueado> hilos = new ArrayList<>();
+        boolean[] involucrado = new boolean[foto.recursos.length];
+        for (int i : interbloqueados) {
+            List<String> retenidos = new ArrayList<>();
+            String esperado = null;
+            for (int j = 0; j < foto.recursos.length; j++) {
+                if (foto.asignados[i][j] > 0) {
+                    retenidos.add(foto.recursos[j]);
+                    involucrado[j] = true;
+                }
+                if (foto.request[i][j] > 0) {
+                    esperado = foto.recursos[j];
+                    involucrado[j] = true;
+                }
+            }
+            hilos.add(new ReporteInterbloqueo.HiloInterbloqueado(
+                    foto.hilos[i].getName(), foto.hilos[i].getId(), retenidos, esperado));
+        }
+        List<String> recursos = new ArrayList<>();
+        for (int j = 0; j < foto.recursos.length; j++) {
+            if (involucrado[j]) {
+                recursos.add(foto.recursos[j]);
+            }
+        }
+        return new ReporteInterbloqueo(hilos, recursos);
+    }
+
+    public ReporteInterbloqueo obtenerUltimoReporte() {
+        return ultimoReporte;
+    }
+
+    public long obtenerRevisiones() {
+        return revisiones.sum();
+    }
+
+    public long obtenerInterbloqueosReportados() {
+        return interbloqueosReportados.sum();
+    }
+
+    // Tiempo medio de una revisión (instantánea + detección), en microsegundos
+    public double obtenerMicrosPorRevision() {
+        long r = revisiones.sum();
+        return r == 0 ? 0 : (nanosInstantanea.sum() + nanosDeteccion.sum()) / 1e3 / r;
+    }
+
+    public double obtenerMicrosInstantanea() {
+        long r = revisiones.sum();
+        return r == 0 ? 0 : nanosInstantanea.sum() / 1e3 / r;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        TablaBloqueos tabla = new TablaBloqueos();
+
+        // Coste de la instrumentación: lock/unlock sin contención
+        final int iteraciones = 2_000_000;
+        ReentrantLock normal = new ReentrantLock();
+        CerrojoMonitoreado monitoreado = new CerrojoMonitoreado(tabla, "medicion");
+        for (int ronda = 0; ronda < 2; ronda++) { // La primera ronda es de calentamiento
+            long inicio = System.nanoTime();
+            for (int i = 0; i < iteraciones; i++) {
+                normal.lock();
+                normal.unlock();
+            }
+            long tiempoNormal = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            for (int i = 0; i < iteraciones; i++) {
+                monitoreado.lock();
+                monitoreado.unlock();
+            }
+            long tiempoMonitoreado = System.nanoTime() - inicio;
+            if (ronda == 1) {
+                System.out.println("\n--- Coste de la instrumentación ---");
+                System.out.printf("ReentrantLock      : %6.1f ns por lock/unlock%n", (double) tiempoNormal / iteraciones);
+                System.out.printf("CerrojoMonitoreado : %6.1f ns por lock/unlock%n", (double) tiempoMonitoreado / iteraciones);
+                System.out.printf("Registro en la tabla (muestreado): %.1f ns por operación%n", tabla.obtenerNanosPorOperacion());
+            }
+        }
+
+        // Tres hilos en espera circular: A -> B -> semáforo -> A
+        System.out.println("\n--- Interbloqueo entre hilos reales ---");
+        CerrojoMonitoreado a = new CerrojoMonitoreado(tabla, "cerrojoA");
+        CerrojoMonitoreado b = new CerrojoMonitoreado(tabla, "cerrojoB");
+        SemaforoMonitoreado conexiones = new SemaforoMonitoreado(tabla, "conexiones", 1);
+        CountDownLatch listos = new CountDownLatch(3);
+        Thread h1 = new Thread(() -> {
+            a.lock();
+            listos.countDown();
+            esperar(listos);
+            b.lock();
+        }, "trabajador-1");
+        Thread h2 = new Thread(() -> {
+            b.lock();
+            listos.countDown();
+            esperar(listos);
+            conexiones.acquireUninterruptibly();
+        }, "trabajador-2");
+        Thread h3 = new Thread(() -> {
+            conexiones.acquireUninterruptibly();
+            listos.countDown();
+            esperar(listos);
+            a.lock();
+        }, "trabajador-3");
+        for (Thread t : new Thread[] { h1, h2, h3 }) {
+            t.setDaemon(true); // Quedan bloqueados para siempre
+            t.start();
+        }
+
+        DetectorInterbloqueos detector = new DetectorInterbloqueos(tabla, 100);
+        detector.establecerOyente(new OyenteMonitorConsola());
+        detector.iniciar();
+        long limite = System.currentTimeMillis() + 5000;
+        while (detector.obtenerInterbloqueosReportados() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+        detector.detener();
+
+        System.out.printf("Revisiones: %d | %.1f µs por revisión (instantánea: %.1f µs) | operaciones registradas: %,d | esperas: %d%n",
+                detector.obtenerRevisiones(), detector.obtenerMicrosPorRevision(), detector.obtenerMicrosInstantanea(),
+                tabla.obtenerOperaciones(), tabla.obtenerEsperas());
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
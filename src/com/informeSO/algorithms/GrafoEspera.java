@@ -0,0 +1,202 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Grafo de espera (wait-for) para sistemas con una sola instancia por recurso.
+// Hay una arista Pi -> Pk si Pi solicita un recurso que no está disponible y que retiene Pk.
+// Con instancias únicas, un proceso está interbloqueado si y solo si puede alcanzar un ciclo,
+// así que basta con buscar las componentes fuertemente conexas (Tarjan) en O(V + E).
+class GrafoEspera {
+    private final int numProcesos;
+    // Aristas en formato CSR: los sucesores de i están en destinos[inicio[i] .. inicio[i + 1])
+    private final int[] inicio;
+    private final int[] destinos;
+    // Procesos que piden más instancias de las que existen: nunca podrán continuar
+    private final boolean[] imposible;
+
+    private GrafoEspera(int numProcesos, int[] inicio, int[] destinos, boolean[] imposible) {
+        this.numProcesos = numProcesos;
+        this.inicio = inicio;
+        this.destinos = destinos;
+        this.imposible = imposible;
+    }
+
+    // true si ningún recurso tiene más de una instancia en total (disponible + asignada)
+    static boolean esInstanciaUnica(int numProcesos, int numRecursos, int[] disponibles, MatrizPlana asignados) {
+        int[] totales = Arrays.copyOf(disponibles, numRecursos);
+        for (int i = 0; i < numProcesos; i++) {
+            asignados.sumarFilaA(i, totales);
+        }
+        for (int j = 0; j < numRecursos; j++) {
+            if (totales[j] > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static GrafoEspera construir(int numProcesos, int numRecursos, int[] disponibles,
+                                 MatrizPlana asignados, MatrizPlana request) {
+        // Titular de cada recurso (-1 si nadie lo retiene)
+        int[] titular = new int[numRecursos];
+        Arrays.fill(titular, -1);
+        for (int i = 0; i < numProcesos; i++) {
+            for (int j = 0; j < numRecursos; j++) {
+                if (asignados.get(i, j) > 0) {
+                    titular[j] = i;
+                }
+            }
+        }
+
+        int[] inicio = new int[numProcesos + 1];
+        int[] destinos = new int[Math.max(4, numProcesos)];
+        boolean[] imposible = new boolean[numProcesos];
+        int numAristas = 0;
+        for (int i = 0; i < numProcesos; i++) {
+            inicio[i] = numAristas;
+            for (int j = 0; j < numRecursos; j++) {
+                int pedido = request.get(i, j);
+                if (pedido == 0 || pedido <= disponibles[j]) {
+                    continue; // Se puede conceder en cuanto el proceso lo pida
+                }
+                if (pedido > 1 || titular[j] < 0) {
+                    imposible[i] = true; // Más de una instancia de un recurso único
+                    continue;
+                }
+                if (numAristas == destinos.length) {
+                    destinos = Arrays.copyOf(destinos, destinos.length * 2);
+                }
+                destinos[numAristas++] = titular[j];
+            }
+        }
+        inicio[numProcesos] = numAristas;
+        return new GrafoEspera(numProcesos, inicio, destinos, imposible);
+    }
+
+    /**
+     * Algoritmo de Tarjan (iterativo, sin recursión para soportar grafos grandes).
+     * @return Ciclos del grafo: componentes con más de un proceso o con una arista a sí mismo.
+     */
+    List<List<Integer>> buscarCiclos() {
+        int[] indice = new int[numProcesos];
+        int[] bajo = new int[numProcesos];
+        boolean[] enPila = new boolean[numProcesos];
+        int[] pila = new int[numProcesos];
+        int tope = 0;
+        // Pila de llamadas simulada: nodo y posición de la siguiente arista por explorar
+        int[] llamadas = new int[numProcesos];
+        int[] siguienteArista = new int[numProcesos];
+        Arrays.fill(indice, -1);
+        int contador = 0;
+        List<List<Integer>> ciclos = new ArrayList<>();
+
+        for (int raiz = 0; raiz < numProcesos; raiz++) {
+            if (indice[raiz] >= 0) {
+                continue;
+            }
+            int profundidad = 0;
+            llamadas[0] = raiz;
+            siguienteArista[0] = inicio[raiz];
+            indice[raiz] = bajo[raiz] = contador++;
+            pila[tope++] = raiz;
+            enPila[raiz] = true;
+
+            while (profundidad >= 0) {
+                int v = llamadas[profundidad];
+                if (siguienteArista[profundidad] < inicio[v + 1]) {
+                    int w = destinos[siguienteArista[profundidad]++];
+                    if (indice[w] < 0) {
+                        // Descender a w
+                        indice[w] = bajo[w] = contador++;
+                        pila[tope++] = w;
+                        enPila[w] = true;
+                        profundidad++;
+                        llamadas[profundidad] = w;
+                        siguienteArista[profundidad] = inicio[w];
+                    } else if (enPila[w]) {
+                        bajo[v] = Math.min(bajo[v], indice[w]);
+                    }
+                    continue;
+                }
+                // Todas las aristas de v exploradas: cerrar la componente si v es su raíz
+                if (bajo[v] == indice[v]) {
+                    List<Integer> componente = new ArrayList<>();
+                    int w;
+                    do {
+                        w = pila[--tope];
+                        enPila[w] = false;
+                        componente.add(w);
+                    } while (w != v);
+                    if (componente.size() > 1 || tieneAutoArista(v)) {
+                        componente.sort(null);
+                        ciclos.add(componente);
+                    }
+                }
+                profundidad--;
+                if (profundidad >= 0) {
+                    int padre = llamadas[profundidad];
+                    bajo[padre] = Math.min(bajo[padre], bajo[v]);
+                }
+            }
+        }
+        return ciclos;
+    }
+
+    // Procesos bloqueados: los de los ciclos, los imposibles y todos los que esperan (directa o
+    // indirectamente) por alguno de ellos. Se recorre el grafo invertido desde esos procesos.
+    boolean[] procesosBloqueados(List<List<Integer>> ciclos) {
+        int[] inicioInverso = new int[numProcesos + 1];
+        int numAristas = inicio[numProcesos];
+        for (int e = 0; e < numAristas; e++) {
+            inicioInverso[destinos[e] + 1]++;
+        }
+        for (int i = 0; i < numProcesos; i++) {
+            inicioInverso[i + 1] += inicioInverso[i];
+        }
+        int[] origenes = new int[numAristas];
+        int[] posicion = Arrays.copyOf(inicioInverso, numProcesos);
+        for (int v = 0; v < numProcesos; v++) {
+            for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+                origenes[posicion[destinos[e]]++] = v;
+            }
+        }
+
+        boolean[] bloqueado = new boolean[numProcesos];
+        int[] cola = new int[numProcesos];
+        int finCola = 0;
+        for (List<Integer> ciclo : ciclos) {
+            for (int v : ciclo) {
+                bloqueado[v] = true;
+                cola[finCola++] = v;
+            }
+        }
+        for (int v = 0; v < numProcesos; v++) {
+            if (imposible[v] && !bloqueado[v]) {
+                bloqueado[v] = true;
+                cola[finCola++] = v;
+            }
+        }
+        for (int k = 0; k < finCola; k++) {
+            int v = cola[k];
+            for (int e = inicioInverso[v]; e < inicioInverso[v + 1]; e++) {
+                int u = origenes[e];
+                if (!bloqueado[u]) {
+                    bloqueado[u] = true;
+                    cola[finCola++] = u;
+                }
+            }
+        }
+        return bloqueado;
+    }
+
+    private boolean tieneAutoArista(int v) {
+        for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+            if (destinos[e] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,151 @@
+package com.informeSO.algorithms;
+
+import java.util.Arrays;
+
+// Matriz de enteros almacenada en un único arreglo en orden fila-mayor.
+// Evita un objeto por fila (int[][]) y el salto de punteros en los bucles internos;
+// cada fila es un tramo contiguo de 'datos' que el JIT puede recorrer con instrucciones SIMD.
+//
+// La matriz puede crecer: se reserva capacidad extra de filas y de columnas (paso de fila
+// mayor que el número de columnas) y se duplica al agotarse, así que agregar una fila o una
+// columna cuesta O(columnas) u O(filas) amortizado en lugar de reconstruir la matriz.
+class MatrizPlana {
+    // Tamaño del bloque en las comparaciones: permite salir antes sin romper la vectorización
+    private static final int BLOQUE = 64;
+
+    private int filas;
+    private int columnas;
+    // Distancia entre el inicio de dos filas consecutivas (>= columnas)
+    private int paso;
+    private int[] datos;
+
+    MatrizPlana(int filas, int columnas) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.paso = columnas;
+        this.datos = new int[filas * columnas];
+    }
+
+    // Copia las primeras 'filas' x 'columnas' posiciones de una matriz int[][]
+    static MatrizPlana desde(int[][] original, int filas, int columnas) {
+        MatrizPlana m = new MatrizPlana(filas, columnas);
+        for (int i = 0; i < filas; i++) {
+            System.arraycopy(original[i], 0, m.datos, i * columnas, columnas);
+        }
+        return m;
+    }
+
+    MatrizPlana copiar() {
+        MatrizPlana m = new MatrizPlana(filas, columnas);
+        for (int i = 0; i < filas; i++) {
+            System.arraycopy(datos, i * paso, m.datos, i * columnas, columnas);
+        }
+        return m;
+    }
+
+    int obtenerFilas() {
+        return filas;
+    }
+
+    int obtenerColumnas() {
+        return columnas;
+    }
+
+    int get(int i, int j) {
+        return datos[i * paso + j];
+    }
+
+    void set(int i, int j, int valor) {
+        datos[i * paso + j] = valor;
+    }
+
+    // Copia de la fila i
+    int[] fila(int i) {
+        return Arrays.copyOfRange(datos, i * paso, i * paso + columnas);
+    }
+
+    // Agrega una fila de ceros al final y retorna su índice (O(columnas) amortizado)
+    int agregarFila() {
+        if ((filas + 1) * paso > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(filas + 1, filas * 2) * Math.max(paso, 1));
+        }
+        limpiarFila(filas);
+        return filas++;
+    }
+
+    // Agrega una columna de ceros y retorna su índice (O(filas) amortizado)
+    int agregarColumna() {
+        if (columnas == paso) {
+            int nuevoPaso = Math.max(1, paso * 2);
+            int capacidadFilas = paso == 0 ? filas : datos.length / paso;
+            int[] nuevos = new int[Math.max(capacidadFilas, filas) * nuevoPaso];
+            for (int i = 0; i < filas; i++) {
+                System.arraycopy(datos, i * paso, nuevos, i * nuevoPaso, columnas);
+            }
+            datos = nuevos;
+            paso = nuevoPaso;
+        }
+        for (int i = 0; i < filas; i++) {
+            datos[i * paso + columnas] = 0;
+        }
+        return columnas++;
+    }
+
+    // fila[i] <= work, componente a componente.
+    // Se acumula el OR de (work - fila): si algún componente es negativo, el bit de signo queda activo.
+    // Los valores se asumen no negativos y lejos del desbordamiento, como en el resto del algoritmo.
+    boolean filaMenorIgual(int i, int[] work) {
+        int base = i * paso;
+        for (int inicio = 0; inicio < columnas; inicio += BLOQUE) {
+            int fin = Math.min(columnas, inicio + BLOQUE);
+            int signo = 0;
+            for (int j = inicio; j < fin; j++) {
+                signo |= work[j] - datos[base + j];
+            }
+            if (signo < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // work += fila[i]
+    void sumarFilaA(int i, int[] work) {
+        int base = i * paso;
+        for (int j = 0; j < columnas; j++) {
+            work[j] += datos[base + j];
+        }
+    }
+
+    // fila[i] += signo * delta
+    void sumarAFila(int i, int[] delta, int signo) {
+        int base = i * paso;
+        for (int j = 0; j < columnas; j++) {
+            datos[base + j] += signo * delta[j];
+        }
+    }
+
+    // fila[i] = 0
+    void limpiarFila(int i) {
+        Arrays.fill(datos, i * paso, i * paso + columnas, 0);
+    }
+
+    // true si toda la fila i es cero
+    boolean filaEsCero(int i) {
+        int base = i * paso;
+        int acumulado = 0;
+        for (int j = 0; j < columnas; j++) {
+            acumulado |= datos[base + j];
+        }
+        return acumulado == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < filas; i++) {
+            sb.append(Arrays.toString(fila(i))).append('\n');
+        }
+        return sb.toString();
+    }
+}
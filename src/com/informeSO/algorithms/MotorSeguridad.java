@@ -0,0 +1,179 @@
+package com.informeSO.algorithms;
+
+import java.util.Arrays;
+
+// Motor alternativo del Algoritmo de Seguridad.
+// En lugar de reiniciar la búsqueda desde P0 tras cada proceso que termina (O(n²·m)),
+// ordena los procesos por su necesidad en cada recurso y lleva, para cada proceso,
+// cuántos recursos tiene todavía sin satisfacer. Como 'work' solo crece, cada lista
+// ordenada se recorre una única vez con un puntero: coste total O(n·m·log n).
+// Los buffers se reutilizan entre llamadas para no generar basura en cada verificación.
+//
+// Además guarda la última secuencia segura encontrada: tras una concesión suele seguir siendo
+// válida, así que verificar() primero la reproduce en O(n·m) sin ordenar ni buscar, y solo
+// ejecuta la búsqueda completa si la reproducción falla.
+class MotorSeguridad {
+    // claves[j*n + i] = (necesidad << 32) | proceso, ordenadas por recurso
+    private long[] claves = new long[0];
+    // Posición del puntero dentro de la lista ordenada de cada recurso
+    private int[] punteros = new int[0];
+    // Número de recursos cuya necesidad aún supera a work, por proceso
+    private int[] pendientes = new int[0];
+    // Cola de procesos listos para ejecutarse
+    private int[] cola = new int[0];
+    private int[] work = new int[0];
+    private int[] secuencia = new int[0];
+    private int longitudSecuencia;
+    // Última secuencia segura completa (válida si longitudCache == número de procesos)
+    private int[] secuenciaCache = new int[0];
+    private int longitudCache;
+    private long aciertosCache;
+    private long fallosCache;
+
+    // Verifica la seguridad reutilizando la última secuencia segura si sigue siendo válida
+    boolean verificar(int numProcesos, int numRecursos, int[] disponibles, MatrizPlana necesario, MatrizPlana asignacion) {
+        if (longitudCache == numProcesos && numProcesos > 0) {
+            if (reproducirCache(numRecursos, disponibles, necesario, asignacion)) {
+                aciertosCache++;
+                return true;
+            }
+            fallosCache++;
+        }
+        boolean seguro = buscarSecuencia(numProcesos, numRecursos, disponibles, necesario, asignacion);
+        if (seguro) {
+            if (secuenciaCache.length < numProcesos) {
+                secuenciaCache = new int[secuencia.length];
+            }
+            System.arraycopy(secuencia, 0, secuenciaCache, 0, numProcesos);
+            longitudCache = numProcesos;
+        }
+        return seguro;
+    }
+
+    // Recorre la secuencia guardada comprobando necesidad <= work y liberando asignaciones
+    private boolean reproducirCache(int numRecursos, int[] disponibles, MatrizPlana necesario, MatrizPlana asignacion) {
+        asegurarCapacidad(longitudCache, numRecursos);
+        System.arraycopy(disponibles, 0, work, 0, numRecursos);
+        for (int k = 0; k < longitudCache; k++) {
+            int i = secuenciaCache[k];
+            if (!necesario.filaMenorIgual(i, work)) {
+                return false;
+            }
+            asignacion.sumarFilaA(i, work);
+        }
+        System.arraycopy(secuenciaCache, 0, secuencia, 0, longitudCache);
+        longitudSecuencia = longitudCache;
+        return true;
+    }
+
+    // Olvida la secuencia guardada; lo llama el Banquero cuando aumenta la necesidad de un proceso
+    // fuera de una concesión (registro en una ranura reutilizada o un máximo mayor)
+    void invalidarCache() {
+        longitudCache = 0;
+    }
+
+    long obtenerAciertosCache() {
+        return aciertosCache;
+    }
+
+    long obtenerFallosCache() {
+        return fallosCache;
+    }
+
+    // Busca una secuencia segura. Retorna true si todos los procesos pueden terminar.
+    boolean buscarSecuencia(int numProcesos, int numRecursos, int[] disponibles, MatrizPlana necesario, MatrizPlana asignacion) {
+        return buscarSecuencia(numProcesos, numRecursos, disponibles, necesario, asignacion, -1, null);
+    }
+
+    // Igual que la anterior, pero evalúa el estado como si 'delta' se hubiera concedido a 'procesoId',
+    // sin modificar ni copiar las matrices (permite evaluar candidatas sobre una instantánea compartida).
+    boolean buscarSecuencia(int numProcesos, int numRecursos, int[] disponibles, MatrizPlana necesario,
+                            MatrizPlana asignacion, int procesoId, int[] delta) {
+        asegurarCapacidad(numProcesos, numRecursos);
+        System.arraycopy(disponibles, 0, work, 0, numRecursos);
+        if (delta != null) {
+            for (int j = 0; j < numRecursos; j++) {
+                work[j] -= delta[j];
+            }
+        }
+
+        // Ordenar los procesos por necesidad en cada recurso
+        for (int j = 0; j < numRecursos; j++) {
+            int base = j * numProcesos;
+            for (int i = 0; i < numProcesos; i++) {
+                claves[base + i] = ((long) necesario.get(i, j) << 32) | i;
+            }
+            if (delta != null) {
+                claves[base + procesoId] = ((long) (necesario.get(procesoId, j) - delta[j]) << 32) | procesoId;
+            }
+            Arrays.sort(claves, base, base + numProcesos);
+            punteros[j] = 0;
+        }
+
+        int inicioCola = 0;
+        int finCola = 0;
+        for (int i = 0; i < numProcesos; i++) {
+            pendientes[i] = numRecursos;
+            if (numRecursos == 0) {
+                cola[finCola++] = i;
+            }
+        }
+        for (int j = 0; j < numRecursos; j++) {
+            finCola = avanzar(j, numProcesos, finCola);
+        }
+
+        longitudSecuencia = 0;
+        while (inicioCola < finCola) {
+            int i = cola[inicioCola++];
+            secuencia[longitudSecuencia++] = i;
+            // El proceso i termina y libera sus recursos
+            for (int j = 0; j < numRecursos; j++) {
+                int liberado = asignacion.get(i, j) + (i == procesoId ? delta[j] : 0);
+                if (liberado != 0) {
+                    work[j] += liberado;
+                    finCola = avanzar(j, numProcesos, finCola);
+                }
+            }
+        }
+        return longitudSecuencia == numProcesos;
+    }
+
+    // Avanza el puntero del recurso j mientras la necesidad quepa en work[j]
+    private int avanzar(int j, int numProcesos, int finCola) {
+        int base = j * numProcesos;
+        int p = punteros[j];
+        while (p < numProcesos) {
+            long clave = claves[base + p];
+            if ((int) (clave >> 32) > work[j]) {
+                break;
+            }
+            int i = (int) clave;
+            if (--pendientes[i] == 0) {
+                cola[finCola++] = i; // Todos sus recursos están satisfechos
+            }
+            p++;
+        }
+        punteros[j] = p;
+        return finCola;
+    }
+
+    private void asegurarCapacidad(int numProcesos, int numRecursos) {
+        if (claves.length < numProcesos * numRecursos) {
+            claves = new long[numProcesos * numRecursos];
+        }
+        if (punteros.length < numRecursos) {
+            punteros = new int[numRecursos];
+            work = new int[numRecursos];
+        }
+        if (pendientes.length < numProcesos) {
+            pendientes = new int[numProcesos];
+            cola = new int[numProcesos];
+            secuencia = new int[numProcesos];
+        }
+    }
+
+    // Secuencia encontrada en la última búsqueda (completa solo si fue segura)
+    int[] obtenerSecuencia() {
+        return Arrays.copyOf(secuencia, longitudSecuencia);
+    }
+}
@@ -0,0 +1,27 @@
+package com.informeSO.algorithms;
+
+// Eventos del Algoritmo del Banquero.
+// Todos los métodos tienen una implementación vacía por defecto: con el oyente SILENCIOSO
+// las rutas críticas no imprimen ni construyen cadenas. Los arreglos recibidos son los
+// del propio algoritmo (no copias) y solo son válidos durante la llamada.
+public interface OyenteBanquero {
+    // Oyente por defecto: no hace nada
+    OyenteBanquero SILENCIOSO = new OyenteBanquero() { };
+
+    default void inicioSeguridad(int[] work) { }
+    default void inicioSeguridadIncremental() { }
+    default void procesoPuedeEjecutarse(int procesoId, int[] work) { }
+    default void estadoSeguro(int[] secuenciaSegura) { }
+    default void estadoInseguro() { }
+
+    default void solicitud(int procesoId, int[] request) { }
+    default void procesoNoRegistrado(int procesoId) { }
+    default void solicitudExcedeNecesidad(int procesoId) { }
+    default void solicitudDebeEsperar(int procesoId) { }
+    default void solicitudConcedida(int procesoId) { }
+    default void solicitudDenegada(int procesoId) { }
+
+    default void liberacion(int procesoId, int[] liberar) { }
+    default void liberacionInvalida(int procesoId) { }
+    default void recursosLiberados(int procesoId, int[] disponibles) { }
+}
@@ -0,0 +1,79 @@
+package com.informeSO.algorithms;
+
+import java.util.Arrays;
+
+// Oyente que reproduce por consola la traza del Algoritmo del Banquero
+public class OyenteBanqueroConsola implements OyenteBanquero {
+    @Override
+    public void inicioSeguridad(int[] work) {
+        System.out.println("\n--- Ejecutando Algoritmo de Seguridad ---");
+        System.out.println("Work inicial: " + Arrays.toString(work));
+    }
+
+    @Override
+    public void inicioSeguridadIncremental() {
+        System.out.println("\n--- Ejecutando Algoritmo de Seguridad (incremental) ---");
+    }
+
+    @Override
+    public void procesoPuedeEjecutarse(int procesoId, int[] work) {
+        System.out.println("Proceso P" + procesoId + " puede ejecutarse. Work actualizado: " + Arrays.toString(work));
+    }
+
+    @Override
+    public void estadoSeguro(int[] secuenciaSegura) {
+        System.out.println("\n El sistema está en estado seguro. Secuencia segura: " + Arrays.toString(secuenciaSegura));
+    }
+
+    @Override
+    public void estadoInseguro() {
+        System.out.println("\n No se encontró un proceso que pueda ejecutarse. El sistema está en estado inseguro.");
+    }
+
+    @Override
+    public void solicitud(int procesoId, int[] request) {
+        System.out.println("\n--- Solicitud de Recursos ---");
+        System.out.println("Proceso P" + procesoId + " solicita: " + Arrays.toString(request));
+    }
+
+    @Override
+    public void procesoNoRegistrado(int procesoId) {
+        System.out.println("  Error: P" + procesoId + " no está registrado.");
+    }
+
+    @Override
+    public void solicitudExcedeNecesidad(int procesoId) {
+        System.out.println("  Error: La solicitud excede la necesidad máxima declarada de P" + procesoId);
+    }
+
+    @Override
+    public void solicitudDebeEsperar(int procesoId) {
+        System.out.println("  Proceso P" + procesoId + " debe esperar. Recursos no disponibles actualmente.\n");
+    }
+
+    @Override
+    public void solicitudConcedida(int procesoId) {
+        System.out.println("  Solicitud de P" + procesoId + " CONCEDIDA. El sistema permanece en estado seguro.\n");
+    }
+
+    @Override
+    public void solicitudDenegada(int procesoId) {
+        System.out.println("  Solicitud de P" + procesoId + " DENEGADA. La concesión resultaría en un estado inseguro.\n");
+    }
+
+    @Override
+    public void liberacion(int procesoId, int[] liberar) {
+        System.out.println("\n--- Liberación de Recursos ---");
+        System.out.println("Proceso P" + procesoId + " libera: " + Arrays.toString(liberar));
+    }
+
+    @Override
+    public void liberacionInvalida(int procesoId) {
+        System.out.println("  Error: P" + procesoId + " intenta liberar más recursos de los que tiene asignados.");
+    }
+
+    @Override
+    public void recursosLiberados(int procesoId, int[] disponibles) {
+        System.out.println("  Recursos de P" + procesoId + " liberados. Disponibles: " + Arrays.toString(disponibles) + "\n");
+    }
+}
@@ -0,0 +1,23 @@
+package com.informeSO.algorithms;
+
+import java.util.List;
+
+// Eventos de la detección y recuperación de interbloqueos.
+// Implementaciones vacías por defecto: con el oyente SILENCIOSO no se imprime ni se construyen cadenas.
+public interface OyenteDeadLock {
+    // Oyente por defecto: no hace nada
+    OyenteDeadLock SILENCIOSO = new OyenteDeadLock() { };
+
+    default void inicioDeteccion(int[] work) { }
+    default void procesoPuedeEjecutarse(int procesoId, int[] work) { }
+    default void interbloqueoDetectado(List<Integer> procesosInterbloqueados) { }
+    default void sinInterbloqueo() { }
+    default void ciclosDetectados(List<List<Integer>> ciclos) { }
+
+    default void recuperacionInnecesaria() { }
+    default void inicioRecuperacion() { }
+    default void victimaSeleccionada(int procesoId) { }
+    default void victimaTerminada(DeadLock deadLock, int procesoId) { }
+    default void recursosExpropiados(int procesoId, int[] expropiado) { }
+    default void finRecuperacion() { }
+}
@@ -0,0 +1,66 @@
+package com.informeSO.algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Oyente que reproduce por consola la traza de la detección y recuperación de interbloqueos
+public class OyenteDeadLockConsola implements OyenteDeadLock {
+    @Override
+    public void inicioDeteccion(int[] work) {
+        System.out.println("\n--- Ejecutando Detección de Interbloqueos --- \n");
+        System.out.println("Estado inicial de 'work': " + Arrays.toString(work));
+    }
+
+    @Override
+    public void procesoPuedeEjecutarse(int procesoId, int[] work) {
+        System.out.println("  Proceso P" + procesoId + " puede ejecutar y liberar recursos. Work actual: " + Arrays.toString(work));
+    }
+
+    @Override
+    public void interbloqueoDetectado(List<Integer> procesosInterbloqueados) {
+        System.out.println("Interbloqueo detectado!! Procesos interbloqueado son: " + procesosInterbloqueados);
+    }
+
+    @Override
+    public void sinInterbloqueo() {
+        System.out.println("No se detectó interbloqueo. Todos los procesos pueden finalizar.");
+    }
+
+    @Override
+    public void ciclosDetectados(List<List<Integer>> ciclos) {
+        for (List<Integer> ciclo : ciclos) {
+            System.out.println("Ciclo de espera entre procesos: " + ciclo);
+        }
+    }
+
+    @Override
+    public void recuperacionInnecesaria() {
+        System.out.println("No hay interbloqueo, no es necesario recuperar.");
+    }
+
+    @Override
+    public void inicioRecuperacion() {
+        System.out.println("\n--- Recuperando de Interbloqueo ---");
+    }
+
+    @Override
+    public void victimaSeleccionada(int procesoId) {
+        System.out.println("Proceso P" + procesoId + " seleccionado como proceso víctima para terminar.");
+    }
+
+    @Override
+    public void victimaTerminada(DeadLock deadLock, int procesoId) {
+        deadLock.imprimirEstado();
+        System.out.println("  Recursos de P" + procesoId + " liberados. Verificando nuevamente el interbloqueo...");
+    }
+
+    @Override
+    public void recursosExpropiados(int procesoId, int[] expropiado) {
+        System.out.println("  Se expropian " + Arrays.toString(expropiado) + " a P" + procesoId + " (vuelve a solicitarlos más tarde).");
+    }
+
+    @Override
+    public void finRecuperacion() {
+        System.out.println("\n--- Recuperación de interbloqueo completada ---");
+    }
+}
@@ -0,0 +1,11 @@
+package com.informeSO.algorithms;
+
+// Eventos del detector de interbloqueos sobre hilos reales (DetectorInterbloqueos).
+// Implementaciones vacías por defecto, igual que OyenteDeadLock.
+public interface OyenteMonitor {
+    // Oyente por defecto: no hace nada
+    OyenteMonitor SILENCIOSO = new OyenteMonitor() { };
+
+    default void interbloqueoDetectado(ReporteInterbloqueo reporte) { }
+    default void errorDeteccion(RuntimeException error) { }
+}
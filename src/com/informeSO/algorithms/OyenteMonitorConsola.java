@@ -0,0 +1,14 @@
+package com.informeSO.algorithms;
+
+// Oyente que imprime por consola los interbloqueos encontrados entre hilos reales
+public class OyenteMonitorConsola implements OyenteMonitor {
+    @Override
+    public void interbloqueoDetectado(ReporteInterbloqueo reporte) {
+        System.out.println("Interbloqueo detectado en la JVM!! " + reporte);
+    }
+
+    @Override
+    public void errorDeteccion(RuntimeException error) {
+        System.out.println("Error en la detección de interbloqueos: " + error);
+    }
+}
@@ -0,0 +1,271 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Planificador por lotes para el Algoritmo del Banquero.
+// Recibe una cola de solicitudes (proceso, request) y concede tantas como sea posible
+// manteniendo el estado seguro; las demás quedan pendientes hasta una liberación posterior.
+//
+// Cada lote se procesa en tres fases para compartir la verificación de seguridad:
+// 1. Concesión directa: si 'disponibles' cubre toda la necesidad del proceso, conceder es seguro sin verificar.
+// 2. Verificación conjunta: se prueba conceder todas las restantes a la vez con una sola ejecución del algoritmo.
+// 3. Si falla, cada candidata se evalúa en paralelo (fork-join) sobre una instantánea inmutable para
+//    descartar las que por sí solas son inseguras, y luego se concede el prefijo seguro más largo
+//    mediante búsqueda binaria (si un conjunto de concesiones es seguro, cualquier subconjunto también lo es).
+public class PlanificadorLotes {
+    // Número de candidatas por tarea hoja en la evaluación paralela
+    private static final int UMBRAL_PARALELO = 8;
+
+    // Solicitud pendiente de un proceso
+    public static class Solicitud {
+        private final int procesoId;
+        private final int[] request;
+
+        public Solicitud(int procesoId, int[] request) {
+            this.procesoId = procesoId;
+            this.request = Arrays.copyOf(request, request.length);
+        }
+
+        public int obtenerProcesoId() { return procesoId; }
+        public int[] obtenerRequest() { return Arrays.copyOf(request, request.length); }
+
+        @Override
+        public String toString() {
+            return "P" + procesoId + " " + Arrays.toString(request);
+        }
+    }
+
+    private final Banquero banquero;
+    private final ForkJoinPool pool;
+    private List<Solicitud> pendientes = new ArrayList<>();
+    private final List<Solicitud> rechazadas = new ArrayList<>();
+    // Número de ejecuciones del Algoritmo de Seguridad realizadas
+    private long evaluaciones;
+
+    public PlanificadorLotes(Banquero banquero) {
+        this(banquero, ForkJoinPool.commonPool());
+    }
+
+    public PlanificadorLotes(Banquero banquero, ForkJoinPool pool) {
+        this.banquero = banquero;
+        this.pool = pool;
+    }
+
+    public void encolar(int procesoId, int[] request) {
+        pendientes.add(new Solicitud(procesoId, request));
+    }
+
+    // Libera recursos de un proceso; las pendientes se reintentan en el siguiente lote
+    public boolean liberar(int procesoId, int[] liberar) {
+        if (!banquero.liberacionValida(procesoId, liberar)) {
+            return false;
+        }
+        banquero.aplicarDelta(procesoId, liberar, -1);
+        return true;
+    }
+
+    /**
+     * Procesa la cola de solicitudes pendientes.
+     * @return Solicitudes concedidas en este lote, en orden de cola.
+     */
+    public List<Solicitud> procesarLote() {
+        List<Solicitud> concedidas = new ArrayList<>();
+        List<Solicitud> candidatas = new ArrayList<>();
+        List<Solicitud> enEspera = new ArrayList<>();
+
+        // Fase 1: descartar las inválidas y conceder directamente las claramente seguras
+        int[] disponibles = banquero.copiarDisponibles();
+        for (Solicitud s : pendientes) {
+            if (!banquero.solicitudValida(s.procesoId, s.request)) {
+                rechazadas.add(s); // Excede la necesidad máxima declarada: nunca se concederá
+            } else if (!cubre(disponibles, s.request)) {
+                enEspera.add(s);
+            } else if (banquero.cubreNecesidad(s.procesoId, disponibles)) {
+                banquero.aplicarDelta(s.procesoId, s.request, 1);
+                restar(disponibles, s.request);
+                concedidas.add(s);
+            } else {
+                candidatas.add(s);
+            }
+        }
+
+        // Fase 2: intentar conceder todas las candidatas con una sola verificación
+        if (!candidatas.isEmpty()) {
+            if (concederPrefijoSiSeguro(candidatas, candidatas.size())) {
+                concedidas.addAll(candidatas);
+            } else {
+                // Fase 3: filtrar en paralelo y conceder prefijos seguros
+                List<Solicitud> viables = filtrarViables(candidatas, enEspera);
+                concederPrefijos(viables, concedidas, enEspera);
+            }
+        }
+
+        pendientes = enEspera;
+        return concedidas;
+    }
+
+    // Evalúa cada candidata por separado contra una instantánea inmutable del estado
+    private List<Solicitud> filtrarViables(List<Solicitud> candidatas, List<Solicitud> enEspera) {
+        int[] disponibles = banquero.copiarDisponibles();
+        MatrizPlana necesario = banquero.copiarNecesario();
+        MatrizPlana asignacion = banquero.copiarAsignacion();
+        boolean[] segura = new boolean[candidatas.size()];
+        pool.invoke(new EvaluacionParalela(candidatas, 0, candidatas.size(), disponibles, necesario, asignacion, segura));
+        evaluaciones += candidatas.size();
+
+        List<Solicitud> viables = new ArrayList<>();
+        for (int k = 0; k < candidatas.size(); k++) {
+            if (segura[k]) {
+                viables.add(candidatas.get(k));
+            } else {
+                enEspera.add(candidatas.get(k)); // Insegura por sí sola: también lo será junto a otras
+            }
+        }
+        return viables;
+    }
+
+    // Concede repetidamente el prefijo seguro más largo; la primera que lo rompe queda en espera
+    private void concederPrefijos(List<Solicitud> viables, List<Solicitud> concedidas, List<Solicitud> enEspera) {
+        int inicio = 0;
+        while (inicio < viables.size()) {
+            List<Solicitud> resto = viables.subList(inicio, viables.size());
+            // Búsqueda binaria de la longitud máxima segura
+            int bajo = 0;
+            int alto = resto.size();
+            while (bajo < alto) {
+                int medio = (bajo + alto + 1) >>> 1;
+                if (esPrefijoSeguro(resto, medio)) {
+                    bajo = medio;
+                } else {
+                    alto = medio - 1;
+                }
+            }
+            for (int k = 0; k < bajo; k++) {
+                Solicitud s = resto.get(k);
+                banquero.aplicarDelta(s.procesoId, s.request, 1);
+                concedidas.add(s);
+            }
+            if (bajo < resto.size()) {
+                enEspera.add(resto.get(bajo));
+            }
+            inicio += bajo + 1;
+        }
+    }
+
+    // Aplica las primeras 'longitud' solicitudes; si el estado es seguro las deja aplicadas
+    private boolean concederPrefijoSiSeguro(List<Solicitud> solicitudes, int longitud) {
+        if (!aplicarPrefijo(solicitudes, longitud)) {
+            return false;
+        }
+        evaluaciones++;
+        if (banquero.verificarSeguridad()) {
+            return true;
+        }
+        revertirPrefijo(solicitudes, longitud);
+        return false;
+    }
+
+    // Comprueba la seguridad del prefijo sin dejarlo aplicado
+    private boolean esPrefijoSeguro(List<Solicitud> solicitudes, int longitud) {
+        if (concederPrefijoSiSeguro(solicitudes, longitud)) {
+            revertirPrefijo(solicitudes, longitud);
+            return true;
+        }
+        return false;
+    }
+
+    // Aplica el prefijo si los recursos disponibles y las necesidades lo permiten
+    private boolean aplicarPrefijo(List<Solicitud> solicitudes, int longitud) {
+        for (int k = 0; k < longitud; k++) {
+            Solicitud s = solicitudes.get(k);
+            if (!banquero.solicitudValida(s.procesoId, s.request) || !banquero.hayDisponibles(s.request)) {
+                revertirPrefijo(solicitudes, k);
+                return false;
+            }
+            banquero.aplicarDelta(s.procesoId, s.request, 1);
+        }
+        return true;
+    }
+
+    private void revertirPrefijo(List<Solicitud> solicitudes, int longitud) {
+        for (int k = longitud - 1; k >= 0; k--) {
+            Solicitud s = solicitudes.get(k);
+            banquero.aplicarDelta(s.procesoId, s.request, -1);
+        }
+    }
+
+    public List<Solicitud> obtenerPendientes() {
+        return new ArrayList<>(pendientes);
+    }
+
+    // Solicitudes que exceden la necesidad declarada del proceso
+    public List<Solicitud> obtenerRechazadas() {
+        return new ArrayList<>(rechazadas);
+    }
+
+    public long obtenerEvaluaciones() {
+        return evaluaciones;
+    }
+
+    private boolean cubre(int[] disponibles, int[] request) {
+        int numRecursos = banquero.obtenerNumRecursos();
+        for (int j = 0; j < numRecursos; j++) {
+            if (request[j] > disponibles[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void restar(int[] disponibles, int[] request) {
+        int numRecursos = banquero.obtenerNumRecursos();
+        for (int j = 0; j < numRecursos; j++) {
+            disponibles[j] -= request[j];
+        }
+    }
+
+    // Evaluación fork-join: cada hoja usa su propio motor y evalúa la concesión sin copiar matrices
+    @SuppressWarnings("serial") // Las tareas fork-join nunca se serializan
+    private class EvaluacionParalela extends RecursiveAction {
+        private final List<Solicitud> candidatas;
+        private final int desde;
+        private final int hasta;
+        private final int[] disponibles;
+        private final MatrizPlana necesario;
+        private final MatrizPlana asignacion;
+        private final boolean[] segura;
+
+        EvaluacionParalela(List<Solicitud> candidatas, int desde, int hasta, int[] disponibles,
+                           MatrizPlana necesario, MatrizPlana asignacion, boolean[] segura) {
+            this.candidatas = candidatas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.disponibles = disponibles;
+            this.necesario = necesario;
+            this.asignacion = asignacion;
+            this.segura = segura;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_PARALELO) {
+                MotorSeguridad motor = new MotorSeguridad();
+                int numProcesos = necesario.obtenerFilas();
+                int numRecursos = necesario.obtenerColumnas();
+                for (int k = desde; k < hasta; k++) {
+                    Solicitud s = candidatas.get(k);
+                    segura[k] = motor.buscarSecuencia(numProcesos, numRecursos, disponibles, necesario, asignacion,
+                                                      s.procesoId, s.request);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new EvaluacionParalela(candidatas, desde, medio, disponibles, necesario, asignacion, segura),
+                      new EvaluacionParalela(candidatas, medio, hasta, disponibles, necesario, asignacion, segura));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.informeSO.algorithms;
+
+// Política de selección de víctimas para la recuperación de interbloqueos.
+// La recuperación elige el candidato con menor costo: de una cola de prioridad si el costo es fijo,
+// o recalculando todos los candidatos tras cada víctima si depende del estado.
+public interface PoliticaVictima {
+    // Menor costo = mejor víctima
+    double costo(CandidatoVictima candidato);
+
+    // true si el costo depende de qué procesos siguen interbloqueados (se recalcula para todos tras cada víctima)
+    default boolean dependeDelEstado() {
+        return false;
+    }
+
+    // Comportamiento original: el proceso interbloqueado de menor número
+    PoliticaVictima MENOR_ID = CandidatoVictima::obtenerProcesoId;
+    // El que más recursos libera
+    PoliticaVictima MAS_RECURSOS = c -> -c.obtenerRecursosRetenidos();
+    // El de menor prioridad
+    PoliticaVictima MENOR_PRIORIDAD = CandidatoVictima::obtenerPrioridad;
+    // El que menos trabajo pierde
+    PoliticaVictima MENOR_TRABAJO_PERDIDO = CandidatoVictima::obtenerTrabajoPerdido;
+    // El que desbloquea a más procesos
+    PoliticaVictima MAS_DESBLOQUEADOS = ponderada(0, 0, 0, 1);
+
+    /**
+     * Combina los criterios: costo = prioridad·pPrioridad + trabajoPerdido·pTrabajo
+     *                                - recursosRetenidos·pRecursos - desbloqueados·pDesbloqueos.
+     */
+    static PoliticaVictima ponderada(double pRecursos, double pPrioridad, double pTrabajo, double pDesbloqueos) {
+        return new PoliticaVictima() {
+            @Override
+            public double costo(CandidatoVictima c) {
+                return c.obtenerPrioridad() * pPrioridad + c.obtenerTrabajoPerdido() * pTrabajo
+                        - c.obtenerRecursosRetenidos() * pRecursos
+                        - (pDesbloqueos != 0 ? c.obtenerDesbloqueados() * pDesbloqueos : 0);
+            }
+
+            @Override
+            public boolean dependeDelEstado() {
+                return pDesbloqueos != 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Reducción del grafo de asignación que conserva su estado ('work' y 'finish') entre víctimas.
+// Igual que MotorSeguridad, ordena los procesos por solicitud en cada recurso y lleva por proceso
+// cuántos recursos siguen sin satisfacerse. Al terminar una víctima solo se avanzan los punteros
+// de los recursos que ella liberaba, así que solo se revisan los procesos que ahora pueden avanzar.
+// Toda una recuperación cuesta O(n·m·log n), lo mismo que una detección.
+//
+// Los procesos a los que se les expropian recursos cambian su solicitud, así que dejan de
+// seguirse con los punteros y se revisan directamente cada vez que la reducción se detiene.
+class ReduccionIncremental {
+    private final int numProcesos;
+    private final int numRecursos;
+    private final MatrizPlana asignados;
+    private final MatrizPlana request;
+    private final int[] work;
+    private final boolean[] finish;
+    // claves[j*n + i] = (solicitud << 32) | proceso, ordenadas por recurso
+    private final long[] claves;
+    private final int[] punteros;
+    private final int[] pendientesPorProceso;
+    private final int[] cola;
+    private int inicioCola;
+    private int finCola;
+    private int terminados;
+    // Procesos con recursos expropiados (su solicitud ya no coincide con las listas ordenadas)
+    private final boolean[] excluido;
+    private int[] excluidos = new int[0];
+    private int numExcluidos;
+
+    ReduccionIncremental(int numProcesos, int numRecursos, int[] disponibles, MatrizPlana asignados, MatrizPlana request) {
+        this.numProcesos = numProcesos;
+        this.numRecursos = numRecursos;
+        this.asignados = asignados;
+        this.request = request;
+        this.excluido = new boolean[numProcesos];
+        this.work = Arrays.copyOf(disponibles, numRecursos);
+        this.finish = new boolean[numProcesos];
+        this.claves = new long[numProcesos * numRecursos];
+        this.punteros = new int[numRecursos];
+        this.pendientesPorProceso = new int[numProcesos];
+        this.cola = new int[numProcesos];
+
+        for (int j = 0; j < numRecursos; j++) {
+            int base = j * numProcesos;
+            for (int i = 0; i < numProcesos; i++) {
+                claves[base + i] = ((long) request.get(i, j) << 32) | i;
+            }
+            Arrays.sort(claves, base, base + numProcesos);
+        }
+        Arrays.fill(pendientesPorProceso, numRecursos);
+        if (numRecursos == 0) {
+            for (int i = 0; i < numProcesos; i++) {
+                cola[finCola++] = i;
+            }
+        }
+        for (int j = 0; j < numRecursos; j++) {
+            avanzar(j);
+        }
+        reducir();
+    }
+
+    // Termina todos los procesos cuya solicitud cabe en 'work', liberando sus recursos
+    private void reducir() {
+        boolean progreso = true;
+        while (progreso) {
+            while (inicioCola < finCola) {
+                int i = cola[inicioCola++];
+                if (finish[i]) {
+                    continue; // Ya retirado como víctima
+                }
+                terminar(i);
+            }
+            // Revisar directamente los procesos expropiados (suelen ser pocos)
+            progreso = false;
+            for (int k = 0; k < numExcluidos; k++) {
+                int i = excluidos[k];
+                if (!finish[i] && request.filaMenorIgual(i, work)) {
+                    terminar(i);
+                    progreso = true;
+                }
+            }
+        }
+    }
+
+    // Marca el proceso como terminado y devuelve sus recursos a 'work'
+    private void terminar(int i) {
+        finish[i] = true;
+        terminados++;
+        for (int j = 0; j < numRecursos; j++) {
+            int liberado = asignados.get(i, j);
+            if (liberado != 0) {
+                work[j] += liberado;
+                avanzar(j);
+            }
+        }
+    }
+
+    // Avanza el puntero del recurso j mientras la solicitud quepa en work[j]
+    private void avanzar(int j) {
+        int base = j * numProcesos;
+        int p = punteros[j];
+        while (p < numProcesos) {
+            long clave = claves[base + p];
+            if ((int) (clave >> 32) > work[j]) {
+                break;
+            }
+            int i = (int) clave;
+            if (--pendientesPorProceso[i] == 0 && !finish[i] && !excluido[i]) {
+                cola[finCola++] = i;
+            }
+            p++;
+        }
+        punteros[j] = p;
+    }
+
+    /**
+     * Termina una víctima interbloqueada: sus recursos se suman a 'work' y se reanuda la
+     * reducción solo con los procesos que eso desbloquea. Debe llamarse antes de limpiar su fila.
+     */
+    void eliminar(int victima) {
+        if (finish[victima]) {
+            return;
+        }
+        terminar(victima);
+        reducir();
+    }
+
+    /**
+     * Expropia 'cantidad' de los recursos de un proceso interbloqueado sin terminarlo.
+     * Lo expropiado pasa a 'work'; el proceso deberá volver a pedirlo, por lo que su fila de
+     * 'request' ya debe estar actualizada cuando se llame a este método.
+     */
+    void expropiar(int procesoId, int[] cantidad) {
+        if (!excluido[procesoId]) {
+            excluido[procesoId] = true;
+            if (numExcluidos == excluidos.length) {
+                excluidos = Arrays.copyOf(excluidos, Math.max(4, excluidos.length * 2));
+            }
+            excluidos[numExcluidos++] = procesoId;
+        }
+        for (int j = 0; j < numRecursos; j++) {
+            if (cantidad[j] != 0) {
+                work[j] += cantidad[j];
+                avanzar(j);
+            }
+        }
+        reducir();
+    }
+
+    boolean hayInterbloqueo() {
+        return terminados < numProcesos;
+    }
+
+    boolean terminado(int procesoId) {
+        return finish[procesoId];
+    }
+
+    List<Integer> procesosInterbloqueados() {
+        List<Integer> procesos = new ArrayList<>();
+        for (int i = 0; i < numProcesos; i++) {
+            if (!finish[i]) {
+                procesos.add(i);
+            }
+        }
+        return procesos;
+    }
+
+    // Vista de 'work' (no copiar en las rutas críticas)
+    int[] obtenerWork() {
+        return work;
+    }
+}
@@ -0,0 +1,59 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Resultado de una detección sobre hilos reales: qué hilos están interbloqueados,
+// qué recursos retiene cada uno y cuál está esperando.
+public class ReporteInterbloqueo {
+    public static class HiloInterbloqueado {
+        private final String nombre;
+        private final long id;
+        private final List<String> retenidos;
+        private final String esperado;
+
+        HiloInterbloqueado(String nombre, long id, List<String> retenidos, String esperado) {
+            this.nombre = nombre;
+            this.id = id;
+            this.retenidos = Collections.unmodifiableList(retenidos);
+            this.esperado = esperado;
+        }
+
+        public String obtenerNombre() { return nombre; }
+        public long obtenerId() { return id; }
+        public List<String> obtenerRetenidos() { return retenidos; }
+        public String obtenerEsperado() { return esperado; }
+
+        @Override
+        public String toString() {
+            return "Hilo[" + nombre + " (id " + id + "), retiene=" + retenidos + ", espera=" + esperado + "]";
+        }
+    }
+
+    private final List<HiloInterbloqueado> hilos;
+    private final List<String> recursos;
+
+    ReporteInterbloqueo(List<HiloInterbloqueado> hilos, List<String> recursos) {
+        this.hilos = Collections.unmodifiableList(new ArrayList<>(hilos));
+        this.recursos = Collections.unmodifiableList(new ArrayList<>(recursos));
+    }
+
+    public List<HiloInterbloqueado> obtenerHilos() {
+        return hilos;
+    }
+
+    // Recursos retenidos o esperados por los hilos interbloqueados
+    public List<String> obtenerRecursos() {
+        return recursos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Interbloqueo entre " + hilos.size() + " hilos, recursos " + recursos);
+        for (HiloInterbloqueado h : hilos) {
+            sb.append("\n  ").append(h);
+        }
+        return sb.toString();
+    }
+}
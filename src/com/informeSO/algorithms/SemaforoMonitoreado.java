@@ -0,0 +1,128 @@
+package com.informeSO.algorithms;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Semáforo que registra en una TablaBloqueos los permisos que tiene cada hilo y sus esperas.
+// Se puede usar en lugar de un Semaphore. Los permisos no tienen dueño: si los libera un hilo
+// distinto del que los tomó, la tabla solo descuenta los que ese hilo tenía registrados.
+// Las adquisiciones intentan primero tryAcquire(permisos, 0, ...), que respeta la cola si el
+// semáforo es justo, y solo registran la espera si de verdad van a bloquearse.
+@SuppressWarnings("serial") // Envuelve una TablaBloqueos en vivo: no tiene sentido serializarlo
+public class SemaforoMonitoreado extends Semaphore {
+    private final transient TablaBloqueos tabla;
+    private final int recurso;
+
+    public SemaforoMonitoreado(TablaBloqueos tabla, String nombre, int permisos) {
+        this(tabla, nombre, permisos, false);
+    }
+
+    public SemaforoMonitoreado(TablaBloqueos tabla, String nombre, int permisos, boolean justo) {
+        super(permisos, justo);
+        this.tabla = tabla;
+        this.recurso = tabla.registrarRecurso(nombre, this::availablePermits);
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    @Override
+    public void acquire(int permisos) throws InterruptedException {
+        if (super.tryAcquire(permisos, 0, TimeUnit.NANOSECONDS)) {
+            tabla.retener(recurso, permisos);
+            return;
+        }
+        tabla.esperar(recurso, permisos);
+        boolean concedido = false;
+        try {
+            super.acquire(permisos);
+            concedido = true;
+        } finally {
+            tabla.finEspera(recurso, permisos, concedido);
+        }
+    }
+
+    @Override
+    public void acquireUninterruptibly() {
+        acquireUninterruptibly(1);
+    }
+
+    @Override
+    public void acquireUninterruptibly(int permisos) {
+        if (tomarSinEsperar(permisos)) {
+            tabla.retener(recurso, permisos);
+            return;
+        }
+        tabla.esperar(recurso, permisos);
+        super.acquireUninterruptibly(permisos);
+        tabla.finEspera(recurso, permisos, true);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    @Override
+    public boolean tryAcquire(int permisos) {
+        if (!super.tryAcquire(permisos)) {
+            return false;
+        }
+        tabla.retener(recurso, permisos);
+        return true;
+    }
+
+    @Override
+    public boolean tryAcquire(long tiempo, TimeUnit unidad) throws InterruptedException {
+        return tryAcquire(1, tiempo, unidad);
+    }
+
+    @Override
+    public boolean tryAcquire(int permisos, long tiempo, TimeUnit unidad) throws InterruptedException {
+        if (super.tryAcquire(permisos, 0, TimeUnit.NANOSECONDS)) {
+            tabla.retener(recurso, permisos);
+            return true;
+        }
+        tabla.esperar(recurso, permisos);
+        boolean concedido = false;
+        try {
+            concedido = super.tryAcquire(permisos, tiempo, unidad);
+            return concedido;
+        } finally {
+            tabla.finEspera(recurso, permisos, concedido);
+        }
+    }
+
+    // Sin InterruptedException: si el hilo ya estaba interrumpido se conserva la marca y se toma el
+    // camino lento, que espera sin atender la interrupción
+    private boolean tomarSinEsperar(int permisos) {
+        try {
+            return super.tryAcquire(permisos, 0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void release() {
+        release(1);
+    }
+
+    @Override
+    public void release(int permisos) {
+        tabla.liberar(recurso, permisos);
+        super.release(permisos);
+    }
+
+    @Override
+    public int drainPermits() {
+        int permisos = super.drainPermits();
+        if (permisos > 0) {
+            tabla.retener(recurso, permisos);
+        }
+        return permisos;
+    }
+}
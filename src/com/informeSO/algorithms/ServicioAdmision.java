@@ -0,0 +1,242 @@
+package com.informeSO.algorithms;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Servicio de admisión concurrente alrededor de un Banquero.
+//
+// - Camino rápido: si 'disponibles' ya cubre toda la necesidad restante del proceso, el proceso
+//   podría terminar primero y devolverlo todo, así que conceder es seguro sin ejecutar el
+//   Algoritmo de Seguridad. El vector 'disponibles' es una instantánea inmutable que se
+//   reemplaza con compareAndSet, y cada fila se protege con una franja (lock por grupo de procesos).
+//   Varios caminos rápidos avanzan en paralelo bajo el lock de lectura compartido.
+// - Camino lento: el resto de solicitudes toma el lock de escritura, ve un estado estable y
+//   ejecuta la verificación completa del Banquero.
+// - Las liberaciones siempre mantienen el estado seguro y usan el camino rápido.
+// Mientras el Banquero esté envuelto, debe usarse solo a través de este servicio.
+public class ServicioAdmision {
+    private static final int FRANJAS_POR_DEFECTO = 64;
+
+    private final Banquero banquero;
+    // Solo cambia bajo el lock de escritura (agregarRecurso)
+    private int numRecursos;
+    // Instantánea versionada de los recursos disponibles (nunca se modifica en sitio)
+    private final AtomicReference<int[]> disponibles;
+    // Lectura: caminos rápidos y liberaciones. Escritura: verificación completa de seguridad
+    private final ReentrantReadWriteLock estado = new ReentrantReadWriteLock();
+    private final ReentrantLock[] franjas;
+
+    // Métricas
+    private final LongAdder concedidasRapidas = new LongAdder();
+    private final LongAdder concedidasVerificadas = new LongAdder();
+    private final LongAdder denegadas = new LongAdder();
+    private final LongAdder liberaciones = new LongAdder();
+
+    public ServicioAdmision(Banquero banquero) {
+        this(banquero, FRANJAS_POR_DEFECTO);
+    }
+
+    public ServicioAdmision(Banquero banquero, int numFranjas) {
+        if (numFranjas <= 0) {
+            throw new IllegalArgumentException("El número de franjas debe ser mayor a 0.");
+        }
+        this.banquero = banquero;
+        this.numRecursos = banquero.obtenerNumRecursos();
+        this.disponibles = new AtomicReference<>(banquero.copiarDisponibles());
+        this.franjas = new ReentrantLock[numFranjas];
+        for (int i = 0; i < numFranjas; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Solicita recursos para un proceso de forma segura entre hilos.
+     * @param procesoId Proceso solicitante.
+     * @param request Recursos solicitados.
+     * @return true si se concedió, false si excede la necesidad, no hay recursos o el estado sería inseguro.
+     */
+    public boolean solicitar(int procesoId, int[] request) {
+        estado.readLock().lock();
+        try {
+            ReentrantLock franja = franjaDe(procesoId);
+            franja.lock();
+            try {
+                if (!banquero.solicitudValida(procesoId, request)) {
+                    denegadas.increment();
+                    return false;
+                }
+                while (true) {
+                    int[] actual = disponibles.get();
+                    if (!cubre(actual, request)) {
+                        denegadas.increment();
+                        return false; // Debe esperar: recursos no disponibles actualmente
+                    }
+                    if (!banquero.cubreNecesidad(procesoId, actual)) {
+                        break; // No es claramente seguro: pasar al camino lento
+                    }
+                    if (disponibles.compareAndSet(actual, restar(actual, request))) {
+                        banquero.ajustarFila(procesoId, request, 1);
+                        concedidasRapidas.increment();
+                        return true;
+                    }
+                }
+            } finally {
+                franja.unlock();
+            }
+        } finally {
+            estado.readLock().unlock();
+        }
+
+        estado.writeLock().lock();
+        try {
+            // Revalidar: el estado pudo cambiar al soltar el lock de lectura
+            int[] actual = disponibles.get();
+            if (!banquero.solicitudValida(procesoId, request) || !cubre(actual, request)) {
+                denegadas.increment();
+                return false;
+            }
+            banquero.establecerDisponibles(actual);
+            if (banquero.admitir(procesoId, request)) {
+                disponibles.set(banquero.copiarDisponibles());
+                concedidasVerificadas.increment();
+                return true;
+            }
+            denegadas.increment();
+            return false;
+        } finally {
+            estado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve recursos asignados a un proceso. Nunca vuelve inseguro el estado.
+     * @param procesoId Proceso que libera.
+     * @param liberar Recursos a devolver.
+     * @return true si se liberaron, false si excede lo asignado.
+     */
+    public boolean liberar(int procesoId, int[] liberar) {
+        estado.readLock().lock();
+        try {
+            ReentrantLock franja = franjaDe(procesoId);
+            franja.lock();
+            try {
+                if (!banquero.liberacionValida(procesoId, liberar)) {
+                    return false;
+                }
+                // Primero la fila y después 'disponibles': mientras tanto el estado visible es más conservador
+                banquero.ajustarFila(procesoId, liberar, -1);
+                int[] actual;
+                do {
+                    actual = disponibles.get();
+                } while (!disponibles.compareAndSet(actual, sumar(actual, liberar)));
+                liberaciones.increment();
+                return true;
+            } finally {
+                franja.unlock();
+            }
+        } finally {
+            estado.readLock().unlock();
+        }
+    }
+
+    // Registro dinámico: se ejecuta bajo el lock de escritura para no cruzarse con las solicitudes
+
+    public int registrarProceso(int[] maximaProceso) {
+        estado.writeLock().lock();
+        try {
+            banquero.establecerDisponibles(disponibles.get());
+            return banquero.registrarProceso(maximaProceso);
+        } finally {
+            estado.writeLock().unlock();
+        }
+    }
+
+    public boolean retirarProceso(int procesoId) {
+        estado.writeLock().lock();
+        try {
+            banquero.establecerDisponibles(disponibles.get());
+            boolean retirado = banquero.retirarProceso(procesoId);
+            disponibles.set(banquero.copiarDisponibles());
+            return retirado;
+        } finally {
+            estado.writeLock().unlock();
+        }
+    }
+
+    public int agregarRecurso(int cantidad) {
+        estado.writeLock().lock();
+        try {
+            banquero.establecerDisponibles(disponibles.get());
+            int recurso = banquero.agregarRecurso(cantidad);
+            numRecursos = banquero.obtenerNumRecursos();
+            disponibles.set(banquero.copiarDisponibles());
+            return recurso;
+        } finally {
+            estado.writeLock().unlock();
+        }
+    }
+
+    // Imprime el estado del Banquero envuelto (sincroniza antes su vector 'disponibles')
+    public void imprimirEstado() {
+        estado.writeLock().lock();
+        try {
+            banquero.establecerDisponibles(disponibles.get());
+            banquero.printState();
+        } finally {
+            estado.writeLock().unlock();
+        }
+    }
+
+    // Copia de los recursos disponibles en este momento
+    public int[] obtenerDisponibles() {
+        return disponibles.get().clone();
+    }
+
+    public long obtenerConcedidasRapidas() {
+        return concedidasRapidas.sum();
+    }
+
+    public long obtenerConcedidasVerificadas() {
+        return concedidasVerificadas.sum();
+    }
+
+    public long obtenerDenegadas() {
+        return denegadas.sum();
+    }
+
+    public long obtenerLiberaciones() {
+        return liberaciones.sum();
+    }
+
+    // floorMod: un id negativo también cae en una franja y lo rechaza la validación del Banquero
+    private ReentrantLock franjaDe(int procesoId) {
+        return franjas[Math.floorMod(procesoId, franjas.length)];
+    }
+
+    private boolean cubre(int[] disponibles, int[] request) {
+        for (int j = 0; j < numRecursos; j++) {
+            if (request[j] > disponibles[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] restar(int[] a, int[] b) {
+        int[] r = new int[numRecursos];
+        for (int j = 0; j < numRecursos; j++) {
+            r[j] = a[j] - b[j];
+        }
+        return r;
+    }
+
+    private int[] sumar(int[] a, int[] b) {
+        int[] r = new int[numRecursos];
+        for (int j = 0; j < numRecursos; j++) {
+            r[j] = a[j] + b[j];
+        }
+        return r;
+    }
+}
@@ -0,0 +1,263 @@
+package com.informeSO.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Tabla concurrente de asignaciones y esperas de los hilos reales de la JVM.
+// La alimentan CerrojoMonitoreado y SemaforoMonitoreado; DetectorInterbloqueos toma instantáneas
+// y las convierte en las matrices de DeadLock (hilos = procesos, cerrojos/semáforos = recursos).
+//
+// Cada hilo escribe solo en su propio EstadoHilo (obtenido con un ThreadLocal), así que el
+// registro no compite entre hilos: el monitor del estado solo lo toma también la instantánea.
+// Los recursos disponibles se leen del cerrojo o semáforo real al tomar la instantánea.
+public class TablaBloqueos {
+    // Se mide el coste del registro en una de cada MUESTREO operaciones por hilo
+    private static final int MUESTREO = 64;
+
+    // Recurso monitoreado: nombre y cómo leer sus unidades disponibles
+    private static final class Recurso {
+        final String nombre;
+        final IntSupplier disponibles;
+
+        Recurso(String nombre, IntSupplier disponibles) {
+            this.nombre = nombre;
+            this.disponibles = disponibles;
+        }
+    }
+
+    // Estado de un hilo. Lo escribe solo su hilo; las lecturas de la instantánea se sincronizan.
+    private static final class EstadoHilo {
+        final Thread hilo;
+        // Recursos retenidos (un hilo suele retener pocos: búsqueda lineal)
+        int[] recursos = new int[4];
+        int[] unidades = new int[4];
+        int numRetenidos;
+        int esperando = -1;
+        int unidadesEsperadas;
+        int operaciones;
+
+        EstadoHilo(Thread hilo) {
+            this.hilo = hilo;
+        }
+
+        void sumar(int recurso, int cantidad) {
+            for (int k = 0; k < numRetenidos; k++) {
+                if (recursos[k] == recurso) {
+                    unidades[k] += cantidad;
+                    if (unidades[k] <= 0) {
+                        // Quitar la entrada moviendo la última a su lugar
+                        numRetenidos--;
+                        recursos[k] = recursos[numRetenidos];
+                        unidades[k] = unidades[numRetenidos];
+                    }
+                    return;
+                }
+            }
+            if (cantidad <= 0) {
+                return; // Liberación de algo que este hilo no registró (p. ej. semáforo de otro hilo)
+            }
+            if (numRetenidos == recursos.length) {
+                recursos = Arrays.copyOf(recursos, numRetenidos * 2);
+                unidades = Arrays.copyOf(unidades, numRetenidos * 2);
+            }
+            recursos[numRetenidos] = recurso;
+            unidades[numRetenidos] = cantidad;
+            numRetenidos++;
+        }
+    }
+
+    // Foto de la tabla en formato de matrices para DeadLock
+    static final class Instantanea {
+        final Thread[] hilos;
+        final String[] recursos;
+        final int[] disponibles;
+        final int[][] asignados;
+        final int[][] request;
+
+        Instantanea(Thread[] hilos, String[] recursos, int[] disponibles, int[][] asignados, int[][] request) {
+            this.hilos = hilos;
+            this.recursos = recursos;
+            this.disponibles = disponibles;
+            this.asignados = asignados;
+            this.request = request;
+        }
+    }
+
+    private final AtomicInteger siguienteRecurso = new AtomicInteger();
+    private final Map<Integer, Recurso> recursos = new ConcurrentHashMap<>();
+    private final Map<Thread, EstadoHilo> hilos = new ConcurrentHashMap<>();
+    private final ThreadLocal<EstadoHilo> estadoLocal = ThreadLocal.withInitial(() -> {
+        EstadoHilo estado = new EstadoHilo(Thread.currentThread());
+        hilos.put(estado.hilo, estado);
+        return estado;
+    });
+
+    // Métricas del coste de la instrumentación
+    private final LongAdder operaciones = new LongAdder();
+    private final LongAdder esperas = new LongAdder();
+    private final LongAdder operacionesMedidas = new LongAdder();
+    private final LongAdder nanosMedidos = new LongAdder();
+
+    // Registra un recurso y retorna su id
+    int registrarRecurso(String nombre, IntSupplier disponibles) {
+        int id = siguienteRecurso.getAndIncrement();
+        recursos.put(id, new Recurso(nombre, disponibles));
+        return id;
+    }
+
+    // El hilo actual obtuvo 'cantidad' unidades del recurso sin esperar
+    void retener(int recurso, int cantidad) {
+        EstadoHilo estado = estadoLocal.get();
+        long inicio = iniciarMedicion(estado);
+        synchronized (estado) {
+            estado.sumar(recurso, cantidad);
+        }
+        terminarMedicion(inicio);
+    }
+
+    // El hilo actual va a bloquearse esperando 'cantidad' unidades del recurso
+    void esperar(int recurso, int cantidad) {
+        EstadoHilo estado = estadoLocal.get();
+        long inicio = iniciarMedicion(estado);
+        synchronized (estado) {
+            estado.esperando = recurso;
+            estado.unidadesEsperadas = cantidad;
+        }
+        esperas.increment();
+        terminarMedicion(inicio);
+    }
+
+    // Termina la espera del hilo actual; si se concedió, el recurso pasa a estar retenido
+    void finEspera(int recurso, int cantidad, boolean concedido) {
+        EstadoHilo estado = estadoLocal.get();
+        long inicio = iniciarMedicion(estado);
+        synchronized (estado) {
+            estado.esperando = -1;
+            estado.unidadesEsperadas = 0;
+            if (concedido) {
+                estado.sumar(recurso, cantidad);
+            }
+        }
+        terminarMedicion(inicio);
+    }
+
+    // El hilo actual devolvió 'cantidad' unidades del recurso
+    void liberar(int recurso, int cantidad) {
+        retener(recurso, -cantidad);
+    }
+
+    private long iniciarMedicion(EstadoHilo estado) {
+        operaciones.increment();
+        return (++estado.operaciones & (MUESTREO - 1)) == 0 ? System.nanoTime() : 0;
+    }
+
+    private void terminarMedicion(long inicio) {
+        if (inicio != 0) {
+            nanosMedidos.add(System.nanoTime() - inicio);
+            operacionesMedidas.increment();
+        }
+    }
+
+    /**
+     * Copia la tabla a matrices densas. Solo aparecen los hilos que retienen o esperan algo;
+     * los estados de hilos terminados sin recursos se descartan.
+     */
+    Instantanea tomarInstantanea() {
+        List<Thread> listaHilos = new ArrayList<>();
+        List<int[]> retenidos = new ArrayList<>();
+        List<int[]> esperasHilo = new ArrayList<>();
+        for (EstadoHilo estado : hilos.values()) {
+            int[] copia;
+            int esperando;
+            int unidadesEsperadas;
+            synchronized (estado) {
+                copia = new int[estado.numRetenidos * 2];
+                for (int k = 0; k < estado.numRetenidos; k++) {
+                    copia[2 * k] = estado.recursos[k];
+                    copia[2 * k + 1] = estado.unidades[k];
+                }
+                esperando = estado.esperando;
+                unidadesEsperadas = estado.unidadesEsperadas;
+            }
+            if (copia.length == 0 && esperando < 0) {
+                if (!estado.hilo.isAlive()) {
+                    hilos.remove(estado.hilo);
+                }
+                continue;
+            }
+            listaHilos.add(estado.hilo);
+            retenidos.add(copia);
+            esperasHilo.add(new int[] { esperando, unidadesEsperadas });
+        }
+
+        // Índices densos para los recursos que aparecen en la tabla
+        Map<Integer, Integer> indice = new HashMap<>();
+        List<Integer> ids = new ArrayList<>();
+        for (int h = 0; h < listaHilos.size(); h++) {
+            int[] copia = retenidos.get(h);
+            for (int k = 0; k < copia.length; k += 2) {
+                indexar(copia[k], indice, ids);
+            }
+            if (esperasHilo.get(h)[0] >= 0) {
+                indexar(esperasHilo.get(h)[0], indice, ids);
+            }
+        }
+
+        int n = listaHilos.size();
+        int m = ids.size();
+        String[] nombres = new String[m];
+        int[] disponibles = new int[m];
+        for (int j = 0; j < m; j++) {
+            Recurso r = recursos.get(ids.get(j));
+            nombres[j] = r.nombre;
+            disponibles[j] = Math.max(0, r.disponibles.getAsInt());
+        }
+        int[][] asignados = new int[n][m];
+        int[][] request = new int[n][m];
+        for (int h = 0; h < n; h++) {
+            int[] copia = retenidos.get(h);
+            for (int k = 0; k < copia.length; k += 2) {
+                asignados[h][indice.get(copia[k])] = copia[k + 1];
+            }
+            int[] espera = esperasHilo.get(h);
+            if (espera[0] >= 0) {
+                request[h][indice.get(espera[0])] = espera[1];
+            }
+        }
+        return new Instantanea(listaHilos.toArray(new Thread[0]), nombres, disponibles, asignados, request);
+    }
+
+    private static void indexar(int recurso, Map<Integer, Integer> indice, List<Integer> ids) {
+        if (!indice.containsKey(recurso)) {
+            indice.put(recurso, ids.size());
+            ids.add(recurso);
+        }
+    }
+
+    // Operaciones registradas (adquisiciones, esperas y liberaciones)
+    public long obtenerOperaciones() {
+        return operaciones.sum();
+    }
+
+    // Veces que un hilo tuvo que bloquearse
+    public long obtenerEsperas() {
+        return esperas.sum();
+    }
+
+    // Coste medio del registro por operación (estimado por muestreo), en nanosegundos
+    public double obtenerNanosPorOperacion() {
+        long medidas = operacionesMedidas.sum();
+        return medidas == 0 ? 0 : (double) nanosMedidos.sum() / medidas;
+    }
+
+    public int obtenerNumHilos() {
+        return hilos.size();
+    }
+}
@@ -0,0 +1,120 @@
+package com.informeSO.disco;
+
+import java.util.Arrays;
+
+// Autómata de Aho-Corasick sobre bytes para buscar muchos patrones en una sola pasada.
+// Se construye como un autómata determinista completo (256 transiciones por estado), así que
+// procesar un byte es una sola lectura de la tabla, sin seguir enlaces de fallo.
+// Es inmutable después de construirse: varios hilos lo pueden recorrer a la vez.
+class AutomataFirmas {
+    // Recibe cada aparición de un patrón: índice del patrón y desplazamiento de su último byte
+    interface Receptor {
+        void coincidencia(int patron, long fin);
+    }
+
+    private final int[] transiciones;
+    // Primer patrón que termina exactamente en el estado (-1 si ninguno) y encadenamiento de iguales
+    private final int[] primerPatron;
+    private final int[] siguientePatron;
+    // Primer estado de la cadena de sufijos (incluido el propio) donde termina algún patrón, o -1
+    private final int[] salida;
+    // Siguiente estado con patrón en la cadena de sufijos de un estado con patrón, o -1
+    private final int[] enlaceSalida;
+    private final int longitudMaxima;
+
+    AutomataFirmas(byte[][] patrones) {
+        int maxEstados = 1;
+        int longitudMaxima = 0;
+        for (byte[] patron : patrones) {
+            if (patron.length == 0) {
+                throw new IllegalArgumentException("Patrón vacío");
+            }
+            maxEstados += patron.length;
+            longitudMaxima = Math.max(longitudMaxima, patron.length);
+        }
+        this.longitudMaxima = longitudMaxima;
+
+        // Trie (0 = sin hijo; el estado 0 es la raíz y nunca es hijo)
+        int[] trie = new int[maxEstados * 256];
+        int[] primero = new int[maxEstados];
+        Arrays.fill(primero, -1);
+        int[] siguiente = new int[patrones.length];
+        int numEstados = 1;
+        for (int p = 0; p < patrones.length; p++) {
+            int estado = 0;
+            for (byte b : patrones[p]) {
+                int k = (estado << 8) | (b & 0xFF);
+                if (trie[k] == 0) {
+                    trie[k] = numEstados++;
+                }
+                estado = trie[k];
+            }
+            siguiente[p] = primero[estado];
+            primero[estado] = p;
+        }
+
+        // Recorrido en anchura: completar transiciones con las del enlace de fallo
+        int[] fallo = new int[numEstados];
+        int[] salida = new int[numEstados];
+        int[] enlaceSalida = new int[numEstados];
+        int[] cola = new int[numEstados];
+        int inicioCola = 0;
+        int finCola = 0;
+        salida[0] = -1;
+        enlaceSalida[0] = -1;
+        for (int c = 0; c < 256; c++) {
+            int hijo = trie[c];
+            if (hijo != 0) {
+                fallo[hijo] = 0;
+                cola[finCola++] = hijo;
+            }
+        }
+        while (inicioCola < finCola) {
+            int estado = cola[inicioCola++];
+            int f = fallo[estado];
+            // Salidas: el propio estado si termina un patrón, si no la primera salida de su fallo
+            int salidaFallo = salida[f];
+            enlaceSalida[estado] = salidaFallo;
+            salida[estado] = primero[estado] >= 0 ? estado : salidaFallo;
+            for (int c = 0; c < 256; c++) {
+                int k = (estado << 8) | c;
+                int hijo = trie[k];
+                if (hijo != 0) {
+                    fallo[hijo] = trie[(f << 8) | c];
+                    cola[finCola++] = hijo;
+                } else {
+                    trie[k] = trie[(f << 8) | c];
+                }
+            }
+        }
+        this.transiciones = Arrays.copyOf(trie, numEstados * 256);
+        this.primerPatron = Arrays.copyOf(primero, numEstados);
+        this.siguientePatron = siguiente;
+        this.salida = salida;
+        this.enlaceSalida = enlaceSalida;
+    }
+
+    int longitudMaxima() {
+        return longitudMaxima;
+    }
+
+    /**
+     * Procesa datos[0, longitud) a partir del estado dado.
+     * @param desplazamiento Posición global del primer byte (para informar las coincidencias).
+     * @return El estado final, para continuar con el siguiente fragmento.
+     */
+    int procesar(int estado, byte[] datos, int longitud, long desplazamiento, Receptor receptor) {
+        int[] t = transiciones;
+        for (int i = 0; i < longitud; i++) {
+            estado = t[(estado << 8) | (datos[i] & 0xFF)];
+            int s = salida[estado];
+            while (s >= 0) {
+                for (int p = primerPatron[s]; p >= 0; p = siguientePatron[p]) {
+                    receptor.coincidencia(p, desplazamiento + i);
+                }
+                s = enlaceSalida[s];
+            }
+        }
+        return estado;
+    }
+}
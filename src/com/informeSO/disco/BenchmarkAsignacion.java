@@ -0,0 +1,65 @@
+package com.informeSO.disco;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Compara los modos de asignación sobre un disco fragmentado: primero se llena con archivos
+// pequeños y se borra la mitad al azar; después se mide el throughput de creación/borrado con
+// archivos más grandes, cuántas creaciones fallan por falta de espacio y el estado final
+// (fragmentación, metadatos y amplificación de lectura).
+public class BenchmarkAsignacion {
+    private static final int TOTAL_BLOQUES = 262_144;
+    private static final int OPERACIONES = 20_000;
+
+    public static void main(String[] args) {
+        System.out.println("--- Benchmark de modos de asignación (" + TOTAL_BLOQUES + " bloques de "
+                + SimuladorDisco.TAMANO_BLOQUE_POR_DEFECTO + " bytes) ---");
+        for (ModoAsignacion modo : ModoAsignacion.values()) {
+            ejecutar(modo);
+        }
+    }
+
+    private static void ejecutar(ModoAsignacion modo) {
+        Random rnd = new Random(42); // La misma carga para todos los modos
+        SimuladorDisco disco = new SimuladorDisco(TOTAL_BLOQUES);
+        disco.establecerModoAsignacion(modo);
+        List<String> vivos = new ArrayList<>();
+        int siguiente = 0;
+
+        // Fragmentar: llenar hasta ~90 % con archivos de 1 a 32 bloques y borrar la mitad
+        while (disco.obtenerBloquesLibres() > TOTAL_BLOQUES / 10) {
+            String nombre = "f" + siguiente++;
+            if (disco.crearArchivo(nombre, 1 + rnd.nextInt(32), "DAT", "CONTENIDO_" + nombre)) {
+                vivos.add(nombre);
+            }
+        }
+        for (int i = vivos.size() - 1; i >= 0; i--) {
+            if (rnd.nextBoolean()) {
+                disco.eliminarArchivo(vivos.get(i));
+                vivos.set(i, vivos.get(vivos.size() - 1));
+                vivos.remove(vivos.size() - 1);
+            }
+        }
+
+        // Carga medida: archivos de 1 a 256 bloques; si falta espacio se borra uno al azar
+        int fallidas = 0;
+        long inicio = System.nanoTime();
+        for (int op = 0; op < OPERACIONES; op++) {
+            String nombre = "g" + siguiente++;
+            if (disco.crearArchivo(nombre, 1 + rnd.nextInt(256), "DAT", "CONTENIDO_" + nombre)) {
+                vivos.add(nombre);
+            } else {
+                fallidas++;
+                int victima = rnd.nextInt(vivos.size());
+                disco.eliminarArchivo(vivos.get(victima));
+                vivos.set(victima, vivos.get(vivos.size() - 1));
+                vivos.remove(vivos.size() - 1);
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        System.out.printf("%-9s | %,8d ops/s | creaciones fallidas: %5d%n", modo, OPERACIONES * 1_000_000_000L / nanos, fallidas);
+        System.out.println("          " + disco.obtenerMetricas());
+    }
+}
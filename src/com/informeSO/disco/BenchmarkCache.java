@@ -0,0 +1,82 @@
+package com.informeSO.disco;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Mide cuánta E/S ahorra la CacheBloques en una carga dominada por recuperaciones:
+// un conjunto de archivos borrados se recupera y se vuelve a borrar una y otra vez (cada
+// recuperación lee todos sus bloques para verificarlos), con sobrescrituras sueltas, archivos
+// nuevos y, a mitad de la carga, un escaneo de carving de todo el disco que intenta barrer la cache.
+// La E/S que llega al dispositivo se registra con un DispositivoTrazado debajo de la cache y su
+// costo se estima con el PlanificadorES pidiendo cada bloque al terminar el anterior, como el simulador.
+public class BenchmarkCache {
+    private static final int TOTAL_BLOQUES = 65_536;
+    private static final int ARCHIVOS = 1_500;
+    private static final int OPERACIONES = 20_000;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("--- Benchmark de cache de bloques (" + TOTAL_BLOQUES + " bloques, " + OPERACIONES + " operaciones) ---");
+        ejecutar("Sin cache", 0, null, 0);
+        for (int capacidad : new int[] { 512, 4096 }) {
+            ejecutar("LRU " + capacidad, capacidad, PoliticaCache.LRU, 32);
+            ejecutar("ARC " + capacidad, capacidad, PoliticaCache.ARC, 32);
+        }
+        ejecutar("ARC 4096 sin anticipar", 4096, PoliticaCache.ARC, 0);
+    }
+
+    private static void ejecutar(String titulo, int capacidad, PoliticaCache politica, int ventana) throws IOException {
+        DispositivoTrazado trazado = new DispositivoTrazado(new DispositivoMemoria(TOTAL_BLOQUES, SimuladorDisco.TAMANO_BLOQUE_POR_DEFECTO));
+        CacheBloques cache = politica != null ? new CacheBloques(trazado, capacidad, politica, ventana) : null;
+        SimuladorDisco disco = new SimuladorDisco(cache != null ? cache : trazado, OyenteDisco.SILENCIOSO);
+        Random rnd = new Random(42); // La misma carga para todas las configuraciones
+
+        List<String> borrados = new ArrayList<>();
+        for (int i = 0; i < ARCHIVOS; i++) {
+            disco.crearArchivo("f" + i, 1 + rnd.nextInt(32), "DAT", "CONTENIDO_f" + i);
+        }
+        for (int i = 0; i < ARCHIVOS; i += 3) {
+            disco.eliminarArchivo("f" + i);
+            borrados.add("f" + i);
+        }
+
+        long inicio = System.nanoTime();
+        int recuperados = 0;
+        for (int op = 0; op < OPERACIONES; op++) {
+            if (op == OPERACIONES / 2) {
+                disco.tallarArchivos(FirmaArchivo.COMUNES);
+            }
+            int tipo = rnd.nextInt(100);
+            if (tipo < 90) {
+                // Los primeros borrados se recuperan mucho más seguido (conjunto caliente)
+                double u = rnd.nextDouble();
+                String nombre = borrados.get((int) (borrados.size() * u * u * u));
+                if (disco.recuperarArchivo(nombre)) {
+                    recuperados++;
+                    disco.eliminarArchivo(nombre);
+                }
+            } else if (tipo < 95) {
+                disco.sobrescribirBloque(rnd.nextInt(TOTAL_BLOQUES), "DATOS_" + op);
+            } else {
+                String nombre = "g" + op;
+                if (disco.crearArchivo(nombre, 1 + rnd.nextInt(16), "DAT", "CONTENIDO_" + nombre)) {
+                    disco.eliminarArchivo(nombre);
+                }
+            }
+        }
+        if (cache != null) {
+            cache.sincronizar(); // Lo sucio también cuesta E/S
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        TrazaES traza = trazado.obtenerTraza();
+        double segundosDisco = new PlanificadorES(ModeloDisco.HDD_7200, 0).tiempoSecuencialMs(traza) / 1000;
+        System.out.printf("%n%-22s | %,8d ops/s | recuperados: %,d | E/S al disco: %,d (%,d escrituras) | tiempo de disco simulado: %,.1f s%n",
+                titulo, OPERACIONES * 1_000_000_000L / nanos, recuperados, traza.obtenerNumSolicitudes(), traza.obtenerNumEscrituras(),
+                segundosDisco);
+        if (cache != null) {
+            System.out.println("                       " + cache.obtenerMetricas());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.informeSO.disco;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Mide cómo escalan las operaciones de archivo del SimuladorDisco con varios hilos a la vez: cada
+// hilo crea, borra, recupera y sobrescribe con sus propios nombres (más algunos compartidos con los
+// demás, para que también haya choques en el índice) y la cantidad total de operaciones es la misma
+// para cada número de hilos. Con un cerrojo global el throughput no pasaría del de un hilo; con los
+// cerrojos por grupo de bloques y por nombre debería crecer hasta el número de núcleos.
+// Al final se comprueba que ningún bloque tenga dos dueños y que los libres cuadren con las entradas.
+public class BenchmarkConcurrencia {
+    private static final int TOTAL_BLOQUES = 262_144; // 8 grupos de bloques
+    private static final int OPERACIONES = 400_000;
+    private static final int NOMBRES_POR_HILO = 2_000;
+    private static final int NOMBRES_COMPARTIDOS = 64;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        System.out.println("--- Benchmark de concurrencia (" + TOTAL_BLOQUES + " bloques, " + OPERACIONES
+                + " operaciones, " + nucleos + " núcleos) ---");
+        ejecutar(nucleos); // Calentamiento del JIT, no se mide
+        double base = 0;
+        for (int hilos = 1; hilos <= Math.max(4, 2 * nucleos); hilos *= 2) {
+            double opsPorSegundo = ejecutar(hilos);
+            if (hilos == 1) {
+                base = opsPorSegundo;
+            }
+            System.out.printf("%3d hilos | %,10.0f ops/s | x%.2f%n", hilos, opsPorSegundo, opsPorSegundo / base);
+        }
+    }
+
+    private static double ejecutar(int hilos) throws InterruptedException, ExecutionException {
+        SimuladorDisco disco = new SimuladorDisco(TOTAL_BLOQUES);
+        // Se usan hilos de plataforma: cada hilo tiene su grupo de casa y no hay E/S que esperar
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            long inicio = System.nanoTime();
+            for (int h = 0; h < hilos; h++) {
+                final int hilo = h;
+                tareas.add(ejecutor.submit(() -> carga(disco, hilo, OPERACIONES / hilos)));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            long nanos = System.nanoTime() - inicio;
+            verificar(disco);
+            return (OPERACIONES / hilos) * hilos * 1e9 / nanos;
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    // Archivos de 1 a 16 bloques; uno de cada veinte nombres es compartido con los otros hilos
+    private static void carga(SimuladorDisco disco, int hilo, int operaciones) {
+        Random rnd = new Random(42 + hilo);
+        for (int op = 0; op < operaciones; op++) {
+            String nombre = rnd.nextInt(20) == 0
+                    ? "comun" + rnd.nextInt(NOMBRES_COMPARTIDOS)
+                    : "h" + hilo + "_" + rnd.nextInt(NOMBRES_POR_HILO);
+            int tipo = rnd.nextInt(100);
+            if (tipo < 45) {
+                disco.crearArchivo(nombre, 1 + rnd.nextInt(16), "DAT", "CONTENIDO_" + nombre);
+            } else if (tipo < 80) {
+                disco.eliminarArchivo(nombre);
+            } else if (tipo < 95) {
+                disco.recuperarArchivo(nombre);
+            } else {
+                disco.sobrescribirBloque(rnd.nextInt(TOTAL_BLOQUES), "DATOS_" + op);
+            }
+        }
+    }
+
+    // Cada bloque de un archivo vivo (datos o índice) tiene un solo dueño y no está libre; el resto sí lo está
+    private static void verificar(SimuladorDisco disco) {
+        boolean[] ocupado = new boolean[TOTAL_BLOQUES];
+        int ocupados = 0;
+        for (EntradaArchivo archivo : disco.obtenerEntradas()) {
+            if (archivo.estaBorrado()) {
+                continue;
+            }
+            for (ListaExtensiones tramos : new ListaExtensiones[] { archivo.obtenerExtensiones(), archivo.obtenerBloquesIndice() }) {
+                for (int k = 0; k < tramos.numExtensiones(); k++) {
+                    for (int b = tramos.inicio(k); b < tramos.inicio(k) + tramos.longitud(k); b++) {
+                        if (ocupado[b] || disco.bloqueLibre(b)) {
+                            throw new IllegalStateException("El bloque " + b + " de " + archivo.obtenerNombre()
+                                    + (ocupado[b] ? " tiene otro dueño" : " figura como libre"));
+                        }
+                        ocupado[b] = true;
+                        ocupados++;
+                    }
+                }
+            }
+        }
+        if (disco.obtenerBloquesLibres() != TOTAL_BLOQUES - ocupados) {
+            throw new IllegalStateException(disco.obtenerBloquesLibres() + " bloques libres, pero los archivos vivos ocupan "
+                    + ocupados + " de " + TOTAL_BLOQUES);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.informeSO.disco;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Compara el costo del DiarioMetadatos con un fsync por operación frente a la confirmación en grupo,
+// sobre una imagen de disco en archivo (cada confirmación también sincroniza los bloques de datos).
+// Después reabre el disco y mide la reproducción. Un punto de control guarda una entrada por archivo
+// (también las generaciones borradas que aún se pueden recuperar; las demás se descartan) y la tabla
+// de generaciones, así que reabrir cuesta lo que ocupa la tabla más el final del diario; sin puntos
+// de control el diario crece con todo el historial (cada sobrescritura, borrado y recuperación).
+public class BenchmarkDiario {
+    private static final int TOTAL_BLOQUES = 16_384;
+    private static final int OPERACIONES = 20_000;
+    private static final int[] GRUPOS = { 1, 8, 64, 512 };
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("--- Benchmark del diario de metadatos (" + TOTAL_BLOQUES + " bloques, " + OPERACIONES + " operaciones) ---");
+        for (int grupo : GRUPOS) {
+            ejecutar("Grupo de " + grupo + (grupo == 1 ? " (fsync por operación)" : ""), grupo, 1_000);
+        }
+        ejecutar("Grupo de 64, sin puntos de control", 64, Integer.MAX_VALUE);
+    }
+
+    private static void ejecutar(String titulo, int operacionesPorGrupo, int registrosPorPunto) throws IOException {
+        Path directorio = Files.createTempDirectory("diario");
+        Path imagen = directorio.resolve("disco.img");
+        try {
+            long nanos;
+            MetricasDiario escritura;
+            int archivos;
+            try (DispositivoArchivo dispositivo = DispositivoArchivo.crear(imagen, TOTAL_BLOQUES, SimuladorDisco.TAMANO_BLOQUE_POR_DEFECTO);
+                 DiarioMetadatos diario = DiarioMetadatos.abrir(directorio.resolve("diario"), operacionesPorGrupo, registrosPorPunto)) {
+                SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+                disco.establecerDiario(diario);
+                long inicio = System.nanoTime();
+                carga(disco, new Random(42)); // La misma carga para todas las configuraciones
+                diario.confirmar();
+                nanos = System.nanoTime() - inicio;
+                escritura = diario.obtenerMetricas();
+                archivos = disco.obtenerNumArchivos();
+            }
+
+            // Reabrir: el estado sale del último punto de control más el final del diario
+            try (DispositivoArchivo dispositivo = DispositivoArchivo.abrir(imagen);
+                 DiarioMetadatos diario = DiarioMetadatos.abrir(directorio.resolve("diario"), operacionesPorGrupo, registrosPorPunto)) {
+                SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+                disco.establecerDiario(diario);
+                MetricasDiario lectura = diario.obtenerMetricas();
+                System.out.printf("%n%-36s | %,8d ops/s | %,d fsync | %,d puntos de control | reabierto: %,d registros en %.1f ms (%s)%n",
+                        titulo, OPERACIONES * 1_000_000_000L / nanos, escritura.obtenerConfirmaciones(), escritura.obtenerPuntosControl(),
+                        lectura.obtenerRegistrosReproducidos(), lectura.obtenerMilisReproduccion(),
+                        disco.obtenerNumArchivos() == archivos ? "mismos archivos" : "ARCHIVOS DISTINTOS");
+            }
+        } finally {
+            try (Stream<Path> rutas = Files.walk(directorio)) {
+                for (Path ruta : (Iterable<Path>) rutas.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(ruta);
+                }
+            }
+        }
+    }
+
+    // Crea archivos de 1 a 16 bloques; a veces borra uno, recupera uno borrado o sobrescribe un bloque
+    private static void carga(SimuladorDisco disco, Random rnd) {
+        List<String> vivos = new ArrayList<>();
+        List<String> borrados = new ArrayList<>();
+        for (int op = 0; op < OPERACIONES; op++) {
+            int tipo = rnd.nextInt(100);
+            if (tipo < 50 || vivos.isEmpty()) {
+                String nombre = "f" + op;
+                if (disco.crearArchivo(nombre, 1 + rnd.nextInt(16), "DAT", "CONTENIDO_" + nombre)) {
+                    vivos.add(nombre);
+                } else {
+                    disco.eliminarArchivo(vivos.remove(0)); // Disco lleno: se borra el más antiguo
+                }
+            } else if (tipo < 80) {
+                String nombre = vivos.remove(rnd.nextInt(vivos.size()));
+                disco.eliminarArchivo(nombre);
+                borrados.add(nombre);
+            } else if (tipo < 95 && !borrados.isEmpty()) {
+                String nombre = borrados.remove(rnd.nextInt(borrados.size()));
+                if (disco.recuperarArchivo(nombre)) {
+                    vivos.add(nombre);
+                }
+            } else {
+                disco.sobrescribirBloque(rnd.nextInt(TOTAL_BLOQUES), "DATOS_" + op);
+            }
+        }
+    }
+}
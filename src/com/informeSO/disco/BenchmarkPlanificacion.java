@@ -0,0 +1,83 @@
+package com.informeSO.disco;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Compara las políticas de planificación de E/S con trazas reales del simulador sobre un
+// DispositivoTrazado, para cada modo de asignación (la ubicación de los bloques cambia la traza):
+//   - archivos: creación, borrado y recuperación de archivos sobre un disco ya fragmentado.
+//   - carving: el escaneo de firmas de todo el disco (las lecturas llegan de varios hilos).
+// Cada traza se simula con la cola llena desde el principio (intervalo 0) y con llegadas espaciadas.
+// Con llegadas espaciadas las políticas que barren hacia abajo (SSTF, SCAN, LOOK) pierden frente a
+// C-SCAN/C-LOOK en escrituras secuenciales: dentro de una pista, atender bloques en orden descendente
+// cuesta casi una vuelta por bloque, porque los sectores pasan bajo la cabeza en orden ascendente.
+public class BenchmarkPlanificacion {
+    private static final int TOTAL_BLOQUES = 65_536;
+    private static final int OPERACIONES = 2_000;
+    private static final double[] INTERVALOS_MS = { 0.0, 1.0 };
+
+    public static void main(String[] args) {
+        System.out.println("--- Benchmark de planificación de E/S (" + TOTAL_BLOQUES + " bloques, modelo HDD 7200 rpm) ---");
+        for (ModoAsignacion modo : new ModoAsignacion[] { ModoAsignacion.CONTIGUA, ModoAsignacion.ENLAZADA }) {
+            DispositivoTrazado dispositivo = new DispositivoTrazado(new DispositivoMemoria(TOTAL_BLOQUES, SimuladorDisco.TAMANO_BLOQUE_POR_DEFECTO));
+            SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+            disco.establecerModoAsignacion(modo);
+            TrazaES traza = dispositivo.obtenerTraza();
+
+            fragmentar(disco, new Random(42));
+            traza.limpiar(); // La preparación no se mide
+            cargaArchivos(disco, new Random(7));
+            reportar(modo + " / archivos", traza);
+
+            traza.limpiar();
+            disco.tallarArchivos(FirmaArchivo.COMUNES);
+            reportar(modo + " / carving", traza);
+        }
+    }
+
+    // Llena el disco hasta ~90 % con archivos de 1 a 32 bloques y borra la mitad al azar
+    private static void fragmentar(SimuladorDisco disco, Random rnd) {
+        int siguiente = 0;
+        while (disco.obtenerBloquesLibres() > TOTAL_BLOQUES / 10) {
+            String nombre = "f" + siguiente++;
+            disco.crearArchivo(nombre, 1 + rnd.nextInt(32), "DAT", "CONTENIDO_" + nombre);
+        }
+        for (int i = 0; i < siguiente; i++) {
+            if (rnd.nextBoolean()) {
+                disco.eliminarArchivo("f" + i);
+            }
+        }
+    }
+
+    // Crea archivos de 1 a 64 bloques; cuando falta espacio borra uno y a veces intenta recuperar otro
+    private static void cargaArchivos(SimuladorDisco disco, Random rnd) {
+        List<String> vivos = new ArrayList<>();
+        List<String> borrados = new ArrayList<>();
+        for (int op = 0; op < OPERACIONES; op++) {
+            String nombre = "g" + op;
+            if (disco.crearArchivo(nombre, 1 + rnd.nextInt(64), "DAT", "CONTENIDO_" + nombre)) {
+                vivos.add(nombre);
+            } else if (!vivos.isEmpty()) {
+                String victima = vivos.remove(rnd.nextInt(vivos.size()));
+                disco.eliminarArchivo(victima);
+                borrados.add(victima);
+            }
+            if (op % 10 == 0 && !borrados.isEmpty()) {
+                String candidato = borrados.get(rnd.nextInt(borrados.size()));
+                disco.recuperarArchivo(candidato); // Lee sus bloques para verificarlos
+            }
+        }
+    }
+
+    private static void reportar(String titulo, TrazaES traza) {
+        System.out.printf("%n%s: %,d solicitudes (%,d escrituras)%n", titulo, traza.obtenerNumSolicitudes(), traza.obtenerNumEscrituras());
+        for (double intervalo : INTERVALOS_MS) {
+            System.out.println("  Llegadas cada " + intervalo + " ms:");
+            PlanificadorES planificador = new PlanificadorES(ModeloDisco.HDD_7200, intervalo);
+            for (EstadisticasPlanificacion e : planificador.compararPoliticas(traza)) {
+                System.out.println("    " + e);
+            }
+        }
+    }
+}
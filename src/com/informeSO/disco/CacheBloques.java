@@ -0,0 +1,369 @@
+package com.informeSO.disco;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cache de bloques acotada entre el SimuladorDisco y su dispositivo (es un DispositivoBloques
+// que envuelve a otro). Las escrituras quedan sucias en la cache y llegan al dispositivo al
+// expulsar el bloque o al sincronizar (write-back); un bloque que se escribe entero no se lee antes.
+// Lectura anticipada: se siguen hasta FLUJOS lecturas secuenciales a la vez (el escaneo de carving
+// lee varios tramos en paralelo) y, cuando un flujo llega al final de lo ya cargado, se leen los
+// siguientes bloques con una ventana que se duplica hasta 'ventanaMaxima'. Como en Linux, solo un
+// fallo o el primer uso de un bloque anticipado lo disparan: releer un archivo que ya está en la
+// cache no sigue leyendo más allá de su final.
+// Los métodos se sincronizan: la cache se puede usar desde los hilos del MotorCarving.
+public class CacheBloques implements DispositivoBloques {
+    private static final int FLUJOS = 8;
+    private static final int VENTANA_INICIAL = 4;
+
+    // Listas de ARC: T1 (vistos una vez), T2 (reutilizados) y sus fantasmas B1 y B2 (solo el número
+    // de bloque, sin datos). LRU usa únicamente T1.
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+    private static final int B1 = 2;
+    private static final int B2 = 3;
+
+    private static final class Nodo {
+        final int bloque;
+        int marco = -1; // -1 en los fantasmas
+        int lista;
+        boolean sucio;
+        boolean anticipado; // Cargado por lectura anticipada y aún sin usar
+        Nodo anterior;
+        Nodo siguiente;
+
+        Nodo(int bloque) {
+            this.bloque = bloque;
+        }
+    }
+
+    // Lista doblemente enlazada: al frente el más reciente, al final el candidato a expulsar
+    private static final class Lista {
+        Nodo primero;
+        Nodo ultimo;
+        int tamano;
+
+        void agregarAlFrente(Nodo n) {
+            n.anterior = null;
+            n.siguiente = primero;
+            if (primero != null) {
+                primero.anterior = n;
+            } else {
+                ultimo = n;
+            }
+            primero = n;
+            tamano++;
+        }
+
+        void quitar(Nodo n) {
+            if (n.anterior != null) {
+                n.anterior.siguiente = n.siguiente;
+            } else {
+                primero = n.siguiente;
+            }
+            if (n.siguiente != null) {
+                n.siguiente.anterior = n.anterior;
+            } else {
+                ultimo = n.anterior;
+            }
+            n.anterior = null;
+            n.siguiente = null;
+            tamano--;
+        }
+    }
+
+    private final DispositivoBloques dispositivo;
+    private final PoliticaCache politica;
+    private final int capacidad;
+    private final int tamanoBloque;
+    private final int ventanaMaxima;
+    private final byte[][] marcos; // Se reservan al usarse por primera vez
+    private final int[] marcosLibres;
+    private int numMarcosLibres;
+    private final Map<Integer, Nodo> nodos = new HashMap<>();
+    private final Lista[] listas = { new Lista(), new Lista(), new Lista(), new Lista() };
+    private int objetivoT1; // Parámetro p de ARC: tamaño deseado de T1
+
+    // Flujos de lectura secuencial: último bloque leído y ventana actual de cada uno
+    private final int[] finFlujo = new int[FLUJOS];
+    private final int[] ventanaFlujo = new int[FLUJOS];
+    private int siguienteFlujo;
+
+    private long aciertos;
+    private long fallos;
+    private long expulsiones;
+    private long expulsionesSucias;
+    private long volcados;
+    private long anticipados;
+    private long anticipadosUsados;
+    private long lecturasDispositivo;
+    private long escriturasDispositivo;
+
+    public CacheBloques(DispositivoBloques dispositivo, int capacidad, PoliticaCache politica) {
+        this(dispositivo, capacidad, politica, 32);
+    }
+
+    /**
+     * @param dispositivo Dispositivo al que se leen y escriben los bloques que no están en la cache.
+     * @param capacidad Número máximo de bloques con datos en la cache.
+     * @param politica Política de expulsión.
+     * @param ventanaMaxima Bloques que se leen por adelantado como máximo (0 desactiva la lectura anticipada).
+     */
+    public CacheBloques(DispositivoBloques dispositivo, int capacidad, PoliticaCache politica, int ventanaMaxima) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cache debe ser positiva");
+        }
+        this.dispositivo = dispositivo;
+        this.politica = politica;
+        this.capacidad = capacidad;
+        this.tamanoBloque = dispositivo.obtenerTamanoBloque();
+        this.ventanaMaxima = Math.min(ventanaMaxima, capacidad / 4); // Que lo anticipado no expulse lo que se está leyendo
+        this.marcos = new byte[capacidad][];
+        this.marcosLibres = new int[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            marcosLibres[i] = capacidad - 1 - i;
+        }
+        this.numMarcosLibres = capacidad;
+        Arrays.fill(finFlujo, -2);
+    }
+
+    @Override
+    public int obtenerNumBloques() {
+        return dispositivo.obtenerNumBloques();
+    }
+
+    @Override
+    public int obtenerTamanoBloque() {
+        return tamanoBloque;
+    }
+
+    @Override
+    public synchronized void leer(int bloque, byte[] destino) {
+        Nodo n = nodos.get(bloque);
+        boolean disparar; // Solo un fallo o el uso de un bloque anticipado piden más lectura anticipada
+        if (n != null && n.marco >= 0) {
+            aciertos++;
+            disparar = n.anticipado;
+            usar(n);
+        } else {
+            fallos++;
+            disparar = true;
+            n = cargar(bloque, n, true);
+        }
+        System.arraycopy(marcos[n.marco], 0, destino, 0, tamanoBloque);
+        leerAdelante(bloque, disparar);
+    }
+
+    @Override
+    public synchronized void escribir(int bloque, byte[] origen, int longitud) {
+        Nodo n = nodos.get(bloque);
+        if (n != null && n.marco >= 0) {
+            aciertos++;
+            usar(n);
+        } else {
+            fallos++;
+            n = cargar(bloque, n, false); // Se sobrescribe completo: no hace falta leerlo
+        }
+        byte[] marco = marcos[n.marco];
+        System.arraycopy(origen, 0, marco, 0, longitud);
+        Arrays.fill(marco, longitud, tamanoBloque, (byte) 0);
+        n.sucio = true;
+    }
+
+    // Escribe en el dispositivo los bloques sucios, en orden de bloque, y lo sincroniza
+    @Override
+    public synchronized void sincronizar() throws IOException {
+        List<Nodo> sucios = new ArrayList<>();
+        for (Nodo n : nodos.values()) {
+            if (n.sucio) {
+                sucios.add(n);
+            }
+        }
+        sucios.sort((a, b) -> Integer.compare(a.bloque, b.bloque));
+        for (Nodo n : sucios) {
+            volcar(n);
+        }
+        dispositivo.sincronizar();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sincronizar();
+        dispositivo.close();
+    }
+
+    public synchronized MetricasCache obtenerMetricas() {
+        return new MetricasCache(aciertos, fallos, expulsiones, expulsionesSucias, volcados,
+                anticipados, anticipadosUsados, lecturasDispositivo, escriturasDispositivo);
+    }
+
+    public synchronized int obtenerNumSucios() {
+        int sucios = 0;
+        for (Nodo n : nodos.values()) {
+            if (n.sucio) {
+                sucios++;
+            }
+        }
+        return sucios;
+    }
+
+    // Acierto: en LRU pasa al frente; en ARC un bloque reutilizado pasa a T2. El primer uso de un
+    // bloque anticipado cuenta como primera referencia (queda en T1), así un escaneo no llena T2.
+    private void usar(Nodo n) {
+        listas[n.lista].quitar(n);
+        if (n.anticipado) {
+            n.anticipado = false;
+            anticipadosUsados++;
+            n.lista = T1;
+        } else {
+            n.lista = politica == PoliticaCache.ARC ? T2 : T1;
+        }
+        listas[n.lista].agregarAlFrente(n);
+    }
+
+    // Fallo: hace espacio según la política y pone el bloque en un marco
+    private Nodo cargar(int bloque, Nodo fantasma, boolean leerDispositivo) {
+        Nodo n;
+        if (politica == PoliticaCache.LRU) {
+            if (numMarcosLibres == 0) {
+                expulsar(listas[T1].ultimo, -1);
+            }
+            n = new Nodo(bloque);
+            n.lista = T1;
+        } else if (fantasma != null) {
+            // Fallo fantasma: el lado que lo expulsó era demasiado pequeño
+            int b1 = listas[B1].tamano;
+            int b2 = listas[B2].tamano;
+            if (fantasma.lista == B1) {
+                objetivoT1 = Math.min(capacidad, objetivoT1 + Math.max(b2 / b1, 1));
+            } else {
+                objetivoT1 = Math.max(0, objetivoT1 - Math.max(b1 / b2, 1));
+            }
+            reemplazar(fantasma.lista == B2);
+            listas[fantasma.lista].quitar(fantasma);
+            n = fantasma;
+            n.lista = T2;
+        } else {
+            int l1 = listas[T1].tamano + listas[B1].tamano;
+            if (l1 == capacidad) {
+                if (listas[T1].tamano < capacidad) {
+                    borrarFantasma(B1);
+                    reemplazar(false);
+                } else {
+                    expulsar(listas[T1].ultimo, -1);
+                }
+            } else if (l1 + listas[T2].tamano + listas[B2].tamano >= capacidad) {
+                if (l1 + listas[T2].tamano + listas[B2].tamano == 2 * capacidad) {
+                    borrarFantasma(B2);
+                }
+                reemplazar(false);
+            }
+            n = new Nodo(bloque);
+            n.lista = T1;
+        }
+        n.marco = marcosLibres[--numMarcosLibres];
+        if (marcos[n.marco] == null) {
+            marcos[n.marco] = new byte[tamanoBloque];
+        }
+        if (leerDispositivo) {
+            dispositivo.leer(bloque, marcos[n.marco]);
+            lecturasDispositivo++;
+        }
+        nodos.put(bloque, n);
+        listas[n.lista].agregarAlFrente(n);
+        return n;
+    }
+
+    // REPLACE de ARC: expulsa de T1 si pasa de su objetivo (su bloque queda como fantasma en B1), si no de T2
+    private void reemplazar(boolean fantasmaEnB2) {
+        if (numMarcosLibres > 0) {
+            return; // Aún no está llena
+        }
+        int t1 = listas[T1].tamano;
+        if (t1 > 0 && ((fantasmaEnB2 && t1 == objetivoT1) || t1 > objetivoT1 || listas[T2].tamano == 0)) {
+            expulsar(listas[T1].ultimo, B1);
+        } else {
+            expulsar(listas[T2].ultimo, B2);
+        }
+    }
+
+    private void borrarFantasma(int lista) {
+        Nodo n = listas[lista].ultimo;
+        if (n != null) {
+            listas[lista].quitar(n);
+            nodos.remove(n.bloque);
+        }
+    }
+
+    // Libera el marco del nodo (escribiéndolo antes si está sucio); queda como fantasma en 'destino' o se olvida (-1)
+    private void expulsar(Nodo n, int destino) {
+        if (n.sucio) {
+            volcar(n);
+            expulsionesSucias++;
+        }
+        expulsiones++;
+        listas[n.lista].quitar(n);
+        marcosLibres[numMarcosLibres++] = n.marco;
+        n.marco = -1;
+        n.anticipado = false;
+        if (destino >= 0) {
+            n.lista = destino;
+            listas[destino].agregarAlFrente(n);
+        } else {
+            nodos.remove(n.bloque);
+        }
+    }
+
+    private void volcar(Nodo n) {
+        dispositivo.escribir(n.bloque, marcos[n.marco], tamanoBloque);
+        escriturasDispositivo++;
+        volcados++;
+        n.sucio = false;
+    }
+
+    // Sigue el flujo secuencial al que pertenece el bloque y, si llegó al final de lo cargado, lee más
+    private void leerAdelante(int bloque, boolean disparar) {
+        if (ventanaMaxima <= 0) {
+            return;
+        }
+        int f = 0;
+        while (f < FLUJOS && finFlujo[f] != bloque - 1) {
+            f++;
+        }
+        if (f == FLUJOS) {
+            // Lectura aislada: empieza un flujo nuevo en lugar del más antiguo, todavía sin anticipar
+            f = siguienteFlujo;
+            siguienteFlujo = (siguienteFlujo + 1) % FLUJOS;
+            finFlujo[f] = bloque;
+            ventanaFlujo[f] = 0;
+            return;
+        }
+        finFlujo[f] = bloque;
+        int primero = bloque + 1;
+        if (!disparar) {
+            return;
+        }
+        Nodo siguiente = nodos.get(primero);
+        if (primero >= obtenerNumBloques() || (siguiente != null && siguiente.marco >= 0)) {
+            return; // Todavía queda parte de la ventana anterior en la cache
+        }
+        ventanaFlujo[f] = ventanaFlujo[f] == 0 ? Math.min(VENTANA_INICIAL, ventanaMaxima) : Math.min(ventanaMaxima, ventanaFlujo[f] * 2);
+        int fin = Math.min(obtenerNumBloques(), primero + ventanaFlujo[f]);
+        for (int b = primero; b < fin; b++) {
+            Nodo n = nodos.get(b);
+            if (n != null && n.marco >= 0) {
+                continue;
+            }
+            if (n != null) {
+                listas[n.lista].quitar(n); // Un fantasma anticipado entra como bloque nuevo
+                nodos.remove(b);
+            }
+            cargar(b, null, true).anticipado = true;
+            anticipados++;
+        }
+    }
+}
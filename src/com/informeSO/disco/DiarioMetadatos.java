@@ -0,0 +1,462 @@
+package com.informeSO.disco;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+// Diario (write-ahead log) de las operaciones de metadatos del SimuladorDisco, en un directorio:
+//   - diario.log: registros que solo se agregan al final, uno por operación.
+//   - punto.chk: punto de control con la tabla completa de archivos y de generaciones.
+// Las operaciones se acumulan en memoria y se confirman en grupo: una sola escritura y un solo
+// fsync para 'operacionesPorGrupo' operaciones (una operación no confirmada se pierde si el
+// proceso cae, pero el diario nunca queda inconsistente). Antes de cada confirmación se sincroniza
+// el dispositivo, así que los bloques de datos siempre llegan antes que los metadatos que los usan.
+// Cada 'registrosPorPunto' registros se escribe un punto de control y el diario vuelve a empezar,
+// de modo que al reabrir solo se reproducen los registros posteriores al último punto.
+// Con varios hilos, los registros se agregan de a uno (métodos synchronized) y el grupo los junta a
+// todos; el punto de control necesita el simulador quieto, así que lo escribe el hilo que terminó
+// la operación que lo hizo necesario, después de soltar sus cerrojos.
+//
+// Formato de un registro: [int longitud][int crc32c][long secuencia][byte tipo][datos], donde la
+// longitud y el CRC cubren secuencia, tipo y datos. Al reproducir, el primer registro incompleto o
+// con CRC distinto (una escritura cortada a la mitad) marca el final del diario y se descarta.
+public class DiarioMetadatos implements Closeable {
+    private static final int MAGICO = 0x43484B31; // "CHK1"
+    private static final int CABECERA_REGISTRO = 8;
+
+    private static final byte CREAR = 1;
+    private static final byte ELIMINAR = 2;
+    private static final byte RECUPERAR = 3;
+    private static final byte SOBRESCRIBIR = 4;
+    private static final byte GENERACIONES = 5;
+
+    private final Path rutaDiario;
+    private final Path rutaPunto;
+    private final int operacionesPorGrupo;
+    private final int registrosPorPunto;
+    private final CRC32C crc = new CRC32C();
+    private final ByteArrayOutputStream datos = new ByteArrayOutputStream(); // Datos del registro en construcción
+    private final DataOutputStream salidaDatos = new DataOutputStream(datos);
+    private final ByteArrayOutputStream grupo = new ByteArrayOutputStream(); // Registros aún no confirmados
+    private FileChannel canal;
+    private SimuladorDisco simulador;
+    private long secuencia;
+    private int pendientes;
+    private int registrosDesdePunto;
+    private volatile boolean puntoPendiente;
+
+    private long operaciones;
+    private long confirmaciones;
+    private long puntosControl;
+    private long bytesEscritos;
+    private long registrosReproducidos;
+    private long nanosReproduccion;
+
+    private DiarioMetadatos(Path directorio, int operacionesPorGrupo, int registrosPorPunto) {
+        this.rutaDiario = directorio.resolve("diario.log");
+        this.rutaPunto = directorio.resolve("punto.chk");
+        this.operacionesPorGrupo = operacionesPorGrupo;
+        this.registrosPorPunto = registrosPorPunto;
+    }
+
+    /**
+     * Abre (o crea) el diario de un directorio. Lo que tenga se aplica al conectarlo a un
+     * simulador con SimuladorDisco.establecerDiario.
+     * @param directorio Directorio del diario y del punto de control (se crea si no existe).
+     * @param operacionesPorGrupo Operaciones por confirmación (1 = un fsync por operación).
+     * @param registrosPorPunto Registros en el diario antes de escribir un punto de control.
+     */
+    public static DiarioMetadatos abrir(Path directorio, int operacionesPorGrupo, int registrosPorPunto) throws IOException {
+        if (operacionesPorGrupo <= 0 || registrosPorPunto <= 0) {
+            throw new IllegalArgumentException("Grupo y punto de control deben ser positivos: " + operacionesPorGrupo + ", " + registrosPorPunto);
+        }
+        Files.createDirectories(directorio);
+        DiarioMetadatos diario = new DiarioMetadatos(directorio, operacionesPorGrupo, registrosPorPunto);
+        boolean nuevo = !Files.exists(diario.rutaDiario);
+        diario.canal = FileChannel.open(diario.rutaDiario, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (nuevo) {
+            sincronizarDirectorio(directorio); // Que la entrada de diario.log sobreviva a un corte de luz
+        }
+        return diario;
+    }
+
+    // Operaciones que registra el simulador. Un fallo de E/S del diario sale como UncheckedIOException,
+    // porque las operaciones del simulador no declaran IOException.
+
+    synchronized void registrarCreacion(EntradaArchivo archivo) {
+        try {
+            escribirCreacion(archivo);
+            agregar(CREAR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized void registrarEliminacion(EntradaArchivo archivo) {
+        try {
+            salidaDatos.writeLong(archivo.obtenerGeneracion());
+            agregar(ELIMINAR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Guarda los bloques con que quedó el archivo: una recuperación parcial lo deja más corto
+    synchronized void registrarRecuperacion(EntradaArchivo archivo) {
+        try {
+            salidaDatos.writeLong(archivo.obtenerGeneracion());
+            escribirTramos(archivo.obtenerExtensiones());
+            escribirTramos(archivo.obtenerBloquesIndice());
+            agregar(RECUPERAR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized void registrarSobrescritura(int idBloque, long generacion) {
+        try {
+            salidaDatos.writeInt(idBloque);
+            salidaDatos.writeLong(generacion);
+            salidaDatos.writeInt(simulador.obtenerRegistroEscrituras().suma(idBloque));
+            agregar(SOBRESCRIBIR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Cierra el registro en construcción y lo deja en el grupo; confirma si el grupo se llenó
+    private void agregar(byte tipo) throws IOException {
+        enmarcar(tipo, grupo);
+        operaciones++;
+        if (++pendientes >= operacionesPorGrupo) {
+            confirmar();
+        }
+    }
+
+    /**
+     * Escribe y sincroniza (fsync) las operaciones pendientes. Primero sincroniza el dispositivo
+     * del simulador, para que los bloques que usan esas operaciones ya estén en disco.
+     * Si se acumularon registrosPorPunto registros desde el último punto de control, la siguiente
+     * operación del simulador que termine escribe uno.
+     */
+    public synchronized void confirmar() throws IOException {
+        if (pendientes == 0) {
+            return;
+        }
+        escribirGrupo();
+    }
+
+    private void escribirGrupo() throws IOException {
+        simulador.obtenerDispositivo().sincronizar();
+        ByteBuffer buffer = ByteBuffer.wrap(grupo.toByteArray());
+        while (buffer.hasRemaining()) {
+            canal.write(buffer, canal.size());
+        }
+        canal.force(false);
+        bytesEscritos += grupo.size();
+        confirmaciones++;
+        registrosDesdePunto += pendientes;
+        grupo.reset();
+        pendientes = 0;
+        puntoPendiente = registrosDesdePunto >= registrosPorPunto;
+    }
+
+    /**
+     * Escribe el estado completo en un punto de control y vacía el diario. El punto se escribe en un
+     * archivo temporal que reemplaza al anterior con un renombrado atómico; si el proceso cae antes
+     * de vaciar el diario, los registros que ya están en el punto se reconocen por su secuencia.
+     */
+    public void puntoDeControl() throws IOException {
+        escribirPuntoDeControl(false);
+    }
+
+    // Lo llama el simulador al terminar cada operación, sin cerrojos tomados
+    void puntoDeControlSiToca() throws IOException {
+        if (puntoPendiente) {
+            escribirPuntoDeControl(true);
+        }
+    }
+
+    private void escribirPuntoDeControl(boolean soloSiToca) throws IOException {
+        simulador.bloquearTodo();
+        try {
+            synchronized (this) {
+                if (!soloSiToca || registrosDesdePunto >= registrosPorPunto) {
+                    escribirPunto();
+                }
+            }
+        } finally {
+            simulador.desbloquearTodo();
+        }
+    }
+
+    private void escribirPunto() throws IOException {
+        if (pendientes > 0) {
+            escribirGrupo();
+        }
+        Path temporal = rutaPunto.resolveSibling("punto.chk.tmp");
+        ByteArrayOutputStream punto = new ByteArrayOutputStream();
+        DataOutputStream salida = new DataOutputStream(punto);
+        salida.writeInt(MAGICO);
+        salida.writeLong(secuencia);
+
+        // El punto solo guarda lo que se puede recuperar: la tabla en memoria se poda igual, para que
+        // reabrir desde el punto dé el mismo estado
+        simulador.descartarIrrecuperables();
+        for (EntradaArchivo archivo : simulador.entradasEnOrdenDeReconstruccion()) {
+            escribirCreacion(archivo);
+            enmarcar(CREAR, punto);
+            if (archivo.estaBorrado()) {
+                salidaDatos.writeLong(archivo.obtenerGeneracion());
+                enmarcar(ELIMINAR, punto);
+            }
+        }
+        // La tabla de generaciones reemplaza a la que dejaron las creaciones (bloques reescritos después)
+        escribirGeneraciones(simulador.obtenerRegistroEscrituras());
+        enmarcar(GENERACIONES, punto);
+
+        try (FileChannel salidaPunto = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(punto.toByteArray());
+            while (buffer.hasRemaining()) {
+                salidaPunto.write(buffer);
+            }
+            salidaPunto.force(true);
+        }
+        Files.move(temporal, rutaPunto, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // El renombrado tiene que ser durable antes de vaciar el diario: si no, tras un corte de luz
+        // podría quedar el punto anterior con el diario vacío y se perderían las operaciones confirmadas
+        sincronizarDirectorio(rutaPunto.getParent());
+        canal.truncate(0);
+        canal.force(true);
+        bytesEscritos += punto.size();
+        puntosControl++;
+        registrosDesdePunto = 0;
+        puntoPendiente = false;
+    }
+
+    // fsync del directorio: hace durables las entradas creadas o renombradas en él
+    private static void sincronizarDirectorio(Path directorio) throws IOException {
+        try (FileChannel canalDirectorio = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canalDirectorio.force(true);
+        }
+    }
+
+    // Aplica el punto de control y los registros confirmados después de él. Lo llama establecerDiario.
+    synchronized void reproducir(SimuladorDisco simulador) throws IOException {
+        long inicio = System.nanoTime();
+        this.simulador = simulador;
+        Map<Long, EntradaArchivo> porGeneracion = new HashMap<>();
+        long ultimaDelPunto = 0;
+        if (Files.exists(rutaPunto)) {
+            ByteBuffer punto = ByteBuffer.wrap(Files.readAllBytes(rutaPunto));
+            if (punto.getInt() != MAGICO) {
+                throw new IOException("No es un punto de control: " + rutaPunto);
+            }
+            ultimaDelPunto = punto.getLong();
+            // Se escribió completo antes del renombrado: un registro dañado aquí no es un final cortado
+            if (aplicarRegistros(punto, 0, porGeneracion) != punto.limit()) {
+                throw new IOException("Punto de control dañado: " + rutaPunto);
+            }
+        }
+        // Los registros del punto llevan secuencias posteriores a la que guardó su cabecera
+        secuencia = Math.max(secuencia, ultimaDelPunto);
+
+        ByteBuffer diario = ByteBuffer.wrap(Files.readAllBytes(rutaDiario));
+        int fin = aplicarRegistros(diario, ultimaDelPunto, porGeneracion);
+        if (fin < diario.limit()) {
+            canal.truncate(fin); // Final cortado por una caída: no se confirmó, se descarta
+            canal.force(true);
+        }
+        nanosReproduccion = System.nanoTime() - inicio;
+    }
+
+    // Aplica los registros desde la posición actual hasta el primero incompleto o dañado (cuya posición
+    // devuelve); se saltan los que ya incluye el punto de control
+    private int aplicarRegistros(ByteBuffer buffer, long ultimaAplicada, Map<Long, EntradaArchivo> porGeneracion) throws IOException {
+        while (buffer.remaining() >= CABECERA_REGISTRO) {
+            int posicion = buffer.position();
+            int longitud = buffer.getInt();
+            int suma = buffer.getInt();
+            if (longitud < 9 || longitud > buffer.remaining()) {
+                return posicion;
+            }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), longitud);
+            if ((int) crc.getValue() != suma) {
+                return posicion;
+            }
+            DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(buffer.array(), buffer.position(), longitud));
+            buffer.position(buffer.position() + longitud);
+            long numero = entrada.readLong();
+            byte tipo = entrada.readByte();
+            if (numero <= ultimaAplicada) {
+                continue;
+            }
+            aplicar(tipo, entrada, porGeneracion);
+            secuencia = Math.max(secuencia, numero);
+            registrosReproducidos++;
+        }
+        return buffer.position();
+    }
+
+    private void aplicar(byte tipo, DataInputStream entrada, Map<Long, EntradaArchivo> porGeneracion) throws IOException {
+        switch (tipo) {
+            case CREAR: {
+                String nombre = entrada.readUTF();
+                ModoAsignacion modo = ModoAsignacion.values()[entrada.readByte()];
+                String firma = entrada.readUTF();
+                String contenido = entrada.readUTF();
+                long generacion = entrada.readLong();
+                ListaExtensiones extensiones = leerTramos(entrada);
+                ListaExtensiones bloquesIndice = leerTramos(entrada);
+                int[] sumas = new int[extensiones.numBloques() + bloquesIndice.numBloques()];
+                for (int i = 0; i < sumas.length; i++) {
+                    sumas[i] = entrada.readInt();
+                }
+                porGeneracion.put(generacion, simulador.aplicarCreacion(nombre, modo, firma, contenido, generacion, extensiones, bloquesIndice, sumas));
+                break;
+            }
+            case ELIMINAR:
+                simulador.aplicarEliminacion(buscar(porGeneracion, entrada.readLong()));
+                break;
+            case RECUPERAR: {
+                EntradaArchivo archivo = buscar(porGeneracion, entrada.readLong());
+                simulador.aplicarRecuperacion(archivo, leerTramos(entrada), leerTramos(entrada));
+                break;
+            }
+            case SOBRESCRIBIR:
+                simulador.aplicarSobrescritura(entrada.readInt(), entrada.readLong(), entrada.readInt());
+                break;
+            case GENERACIONES: {
+                RegistroEscrituras escrituras = simulador.obtenerRegistroEscrituras();
+                int numTramos = entrada.readInt();
+                for (int t = 0; t < numTramos; t++) {
+                    int inicio = entrada.readInt();
+                    int longitud = entrada.readInt();
+                    long generacion = entrada.readLong();
+                    boolean esArchivo = entrada.readBoolean();
+                    for (int b = inicio; b < inicio + longitud; b++) {
+                        escrituras.restaurar(b, generacion, entrada.readInt(), esArchivo);
+                    }
+                }
+                break;
+            }
+            default:
+                throw new IOException("Tipo de registro desconocido: " + tipo);
+        }
+    }
+
+    private static EntradaArchivo buscar(Map<Long, EntradaArchivo> porGeneracion, long generacion) throws IOException {
+        EntradaArchivo archivo = porGeneracion.get(generacion);
+        if (archivo == null) {
+            throw new IOException("El diario nombra una generación que no creó: " + generacion);
+        }
+        return archivo;
+    }
+
+    // Datos de un registro CREAR: la entrada, sus bloques y la suma registrada de cada uno
+    private void escribirCreacion(EntradaArchivo archivo) throws IOException {
+        salidaDatos.writeUTF(archivo.obtenerNombre());
+        salidaDatos.writeByte(archivo.obtenerModo().ordinal());
+        salidaDatos.writeUTF(archivo.obtenerFirma());
+        salidaDatos.writeUTF(archivo.obtenerContenidoOriginal());
+        salidaDatos.writeLong(archivo.obtenerGeneracion());
+        escribirTramos(archivo.obtenerExtensiones());
+        escribirTramos(archivo.obtenerBloquesIndice());
+        RegistroEscrituras escrituras = simulador.obtenerRegistroEscrituras();
+        for (ListaExtensiones tramos : new ListaExtensiones[] { archivo.obtenerExtensiones(), archivo.obtenerBloquesIndice() }) {
+            for (int k = 0; k < tramos.numExtensiones(); k++) {
+                for (int b = tramos.inicio(k); b < tramos.inicio(k) + tramos.longitud(k); b++) {
+                    salidaDatos.writeInt(escrituras.suma(b));
+                }
+            }
+        }
+    }
+
+    // Datos de un registro GENERACIONES: tramos de bloques escritos con la misma generación y origen
+    private void escribirGeneraciones(RegistroEscrituras escrituras) throws IOException {
+        ByteArrayOutputStream tramos = new ByteArrayOutputStream();
+        DataOutputStream salida = new DataOutputStream(tramos);
+        int numTramos = 0;
+        int numBloques = escrituras.numBloques();
+        for (int b = 0; b < numBloques; ) {
+            long generacion = escrituras.generacion(b);
+            if (generacion == 0) {
+                b++;
+                continue;
+            }
+            boolean esArchivo = escrituras.esDeArchivo(b);
+            int fin = b + 1;
+            while (fin < numBloques && escrituras.generacion(fin) == generacion && escrituras.esDeArchivo(fin) == esArchivo) {
+                fin++;
+            }
+            salida.writeInt(b);
+            salida.writeInt(fin - b);
+            salida.writeLong(generacion);
+            salida.writeBoolean(esArchivo);
+            for (; b < fin; b++) {
+                salida.writeInt(escrituras.suma(b));
+            }
+            numTramos++;
+        }
+        salidaDatos.writeInt(numTramos);
+        tramos.writeTo(salidaDatos);
+    }
+
+    private void escribirTramos(ListaExtensiones tramos) throws IOException {
+        salidaDatos.writeInt(tramos.numExtensiones());
+        for (int k = 0; k < tramos.numExtensiones(); k++) {
+            salidaDatos.writeInt(tramos.inicio(k));
+            salidaDatos.writeInt(tramos.longitud(k));
+        }
+    }
+
+    private static ListaExtensiones leerTramos(DataInputStream entrada) throws IOException {
+        ListaExtensiones tramos = new ListaExtensiones();
+        int numExtensiones = entrada.readInt();
+        for (int k = 0; k < numExtensiones; k++) {
+            tramos.agregar(entrada.readInt(), entrada.readInt());
+        }
+        return tramos;
+    }
+
+    // Agrega a 'destino' el registro con los datos en construcción, con la siguiente secuencia
+    private void enmarcar(byte tipo, ByteArrayOutputStream destino) throws IOException {
+        salidaDatos.flush();
+        byte[] contenido = datos.toByteArray();
+        datos.reset();
+        ByteBuffer registro = ByteBuffer.allocate(CABECERA_REGISTRO + 9 + contenido.length);
+        registro.putInt(9 + contenido.length).putInt(0).putLong(++secuencia).put(tipo).put(contenido);
+        crc.reset();
+        crc.update(registro.array(), CABECERA_REGISTRO, 9 + contenido.length);
+        registro.putInt(4, (int) crc.getValue());
+        destino.write(registro.array());
+    }
+
+    public synchronized MetricasDiario obtenerMetricas() {
+        return new MetricasDiario(operaciones, confirmaciones, puntosControl, bytesEscritos, registrosReproducidos, nanosReproduccion);
+    }
+
+    // Confirma lo pendiente y cierra el diario
+    @Override
+    public synchronized void close() throws IOException {
+        if (simulador != null) {
+            confirmar();
+        }
+        canal.close();
+    }
+}
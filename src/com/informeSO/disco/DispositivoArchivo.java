@@ -0,0 +1,141 @@
+package com.informeSO.disco;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Dispositivo de bloques respaldado por una imagen de disco en un archivo, mapeada en memoria.
+// Los datos viven en la caché de páginas del sistema operativo y no en el heap, así que se pueden
+// simular discos de varios GB; la imagen se puede volver a abrir más tarde con abrir().
+//
+// Formato: una cabecera de CABECERA bytes (mágico, tamaño de bloque, número de bloques) seguida
+// de los bloques. Un MappedByteBuffer no pasa de 2 GB, así que la imagen se mapea en segmentos
+// de hasta 1 GB que contienen bloques enteros. El archivo se crea disperso: los bloques no
+// escritos no ocupan espacio real y se leen como ceros.
+public class DispositivoArchivo implements DispositivoBloques {
+    private static final int MAGICO = 0x44534B31; // "DSK1"
+    private static final int CABECERA = 4096;
+    private static final long MAXIMO_SEGMENTO = 1L << 30;
+
+    private final FileChannel canal;
+    private final int numBloques;
+    private final int tamanoBloque;
+    private final int bloquesPorSegmento;
+    private final MappedByteBuffer[] segmentos;
+    // Relleno para el resto de un bloque escrito parcialmente
+    private final byte[] ceros;
+
+    private DispositivoArchivo(FileChannel canal, int numBloques, int tamanoBloque) throws IOException {
+        this.canal = canal;
+        this.numBloques = numBloques;
+        this.tamanoBloque = tamanoBloque;
+        this.ceros = new byte[tamanoBloque];
+        this.bloquesPorSegmento = (int) Math.max(1, MAXIMO_SEGMENTO / tamanoBloque);
+        int numSegmentos = (int) (((long) numBloques + bloquesPorSegmento - 1) / bloquesPorSegmento);
+        this.segmentos = new MappedByteBuffer[numSegmentos];
+        for (int s = 0; s < numSegmentos; s++) {
+            long primerBloque = (long) s * bloquesPorSegmento;
+            long bloquesEnSegmento = Math.min(bloquesPorSegmento, numBloques - primerBloque);
+            segmentos[s] = canal.map(FileChannel.MapMode.READ_WRITE,
+                    CABECERA + primerBloque * tamanoBloque, bloquesEnSegmento * tamanoBloque);
+        }
+    }
+
+    /**
+     * Crea (o reemplaza) una imagen de disco vacía.
+     * @param ruta Archivo de la imagen.
+     * @param numBloques Número de bloques.
+     * @param tamanoBloque Tamaño de cada bloque en bytes.
+     */
+    public static DispositivoArchivo crear(Path ruta, int numBloques, int tamanoBloque) throws IOException {
+        if (numBloques <= 0 || tamanoBloque <= 0 || tamanoBloque > MAXIMO_SEGMENTO) {
+            throw new IllegalArgumentException("Tamaño de disco inválido: " + numBloques + " bloques de " + tamanoBloque + " bytes");
+        }
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(12);
+            cabecera.putInt(MAGICO).putInt(tamanoBloque).putInt(numBloques).flip();
+            canal.write(cabecera, 0);
+            return new DispositivoArchivo(canal, numBloques, tamanoBloque);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Abre una imagen creada antes con crear(); el tamaño se lee de la cabecera.
+     * @param ruta Archivo de la imagen.
+     */
+    public static DispositivoArchivo abrir(Path ruta) throws IOException {
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(12);
+            while (cabecera.hasRemaining()) {
+                if (canal.read(cabecera, cabecera.position()) < 0) {
+                    break; // Archivo más corto que la cabecera
+                }
+            }
+            cabecera.flip();
+            if (cabecera.remaining() < 12 || cabecera.getInt() != MAGICO) {
+                throw new IOException("El archivo " + ruta + " no es una imagen de disco");
+            }
+            int tamanoBloque = cabecera.getInt();
+            int numBloques = cabecera.getInt();
+            return new DispositivoArchivo(canal, numBloques, tamanoBloque);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int obtenerNumBloques() {
+        return numBloques;
+    }
+
+    @Override
+    public int obtenerTamanoBloque() {
+        return tamanoBloque;
+    }
+
+    // Lecturas y escrituras absolutas: no mueven la posición del buffer, así que bloques
+    // distintos se pueden usar desde varios hilos
+    @Override
+    public void leer(int bloque, byte[] destino) {
+        comprobar(bloque);
+        segmentos[bloque / bloquesPorSegmento].get((bloque % bloquesPorSegmento) * tamanoBloque, destino, 0, tamanoBloque);
+    }
+
+    @Override
+    public void escribir(int bloque, byte[] origen, int longitud) {
+        comprobar(bloque);
+        MappedByteBuffer segmento = segmentos[bloque / bloquesPorSegmento];
+        int desplazamiento = (bloque % bloquesPorSegmento) * tamanoBloque;
+        segmento.put(desplazamiento, origen, 0, longitud);
+        segmento.put(desplazamiento + longitud, ceros, 0, tamanoBloque - longitud);
+    }
+
+    @Override
+    public void sincronizar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar();
+        canal.close();
+    }
+
+    private void comprobar(int bloque) {
+        if (bloque < 0 || bloque >= numBloques) {
+            throw new IndexOutOfBoundsException("Bloque " + bloque + " fuera del disco (" + numBloques + " bloques)");
+        }
+    }
+}
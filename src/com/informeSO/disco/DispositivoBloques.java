@@ -0,0 +1,24 @@
+package com.informeSO.disco;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Dispositivo de bloques de tamaño fijo sobre el que trabaja el SimuladorDisco.
+// Un bloque nunca escrito se lee como ceros.
+public interface DispositivoBloques extends Closeable {
+    int obtenerNumBloques();
+
+    int obtenerTamanoBloque();
+
+    // Copia el bloque completo en destino (destino.length >= tamaño de bloque)
+    void leer(int bloque, byte[] destino);
+
+    // Escribe 'longitud' bytes de origen al inicio del bloque y rellena el resto con ceros
+    void escribir(int bloque, byte[] origen, int longitud);
+
+    // Lleva a almacenamiento persistente lo escrito hasta ahora (no hace nada en memoria)
+    default void sincronizar() throws IOException { }
+
+    @Override
+    default void close() throws IOException { }
+}
@@ -0,0 +1,51 @@
+package com.informeSO.disco;
+
+import java.util.Arrays;
+
+// Dispositivo de bloques en el heap. Cada bloque se reserva la primera vez que se escribe,
+// así que un disco grande casi vacío ocupa poca memoria.
+public class DispositivoMemoria implements DispositivoBloques {
+    private final int tamanoBloque;
+    private final byte[][] bloques;
+
+    public DispositivoMemoria(int numBloques, int tamanoBloque) {
+        if (numBloques < 0 || tamanoBloque <= 0) {
+            throw new IllegalArgumentException("Tamaño de disco inválido: " + numBloques + " bloques de " + tamanoBloque + " bytes");
+        }
+        this.tamanoBloque = tamanoBloque;
+        this.bloques = new byte[numBloques][];
+    }
+
+    @Override
+    public int obtenerNumBloques() {
+        return bloques.length;
+    }
+
+    @Override
+    public int obtenerTamanoBloque() {
+        return tamanoBloque;
+    }
+
+    @Override
+    public void leer(int bloque, byte[] destino) {
+        byte[] datos = bloques[bloque];
+        if (datos == null) {
+            Arrays.fill(destino, 0, tamanoBloque, (byte) 0);
+        } else {
+            System.arraycopy(datos, 0, destino, 0, tamanoBloque);
+        }
+    }
+
+    @Override
+    public void escribir(int bloque, byte[] origen, int longitud) {
+        byte[] datos = bloques[bloque];
+        if (datos == null) {
+            if (longitud == 0) {
+                return; // Sigue siendo un bloque de ceros
+            }
+            datos = bloques[bloque] = new byte[tamanoBloque];
+        }
+        System.arraycopy(origen, 0, datos, 0, longitud);
+        Arrays.fill(datos, longitud, tamanoBloque, (byte) 0);
+    }
+}
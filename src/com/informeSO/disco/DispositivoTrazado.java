@@ -0,0 +1,52 @@
+package com.informeSO.disco;
+
+import java.io.IOException;
+
+// Envoltura de un dispositivo que anota en una TrazaES cada bloque leído o escrito.
+// Así se capturan los accesos de crearArchivo, recuperarArchivo y el escaneo de carving
+// sin cambiar el simulador: basta con construirlo sobre este dispositivo.
+public class DispositivoTrazado implements DispositivoBloques {
+    private final DispositivoBloques dispositivo;
+    private final TrazaES traza;
+
+    public DispositivoTrazado(DispositivoBloques dispositivo) {
+        this.dispositivo = dispositivo;
+        this.traza = new TrazaES(dispositivo.obtenerNumBloques());
+    }
+
+    public TrazaES obtenerTraza() {
+        return traza;
+    }
+
+    @Override
+    public int obtenerNumBloques() {
+        return dispositivo.obtenerNumBloques();
+    }
+
+    @Override
+    public int obtenerTamanoBloque() {
+        return dispositivo.obtenerTamanoBloque();
+    }
+
+    @Override
+    public void leer(int bloque, byte[] destino) {
+        traza.registrar(bloque, false);
+        dispositivo.leer(bloque, destino);
+    }
+
+    @Override
+    public void escribir(int bloque, byte[] origen, int longitud) {
+        traza.registrar(bloque, true);
+        dispositivo.escribir(bloque, origen, longitud);
+    }
+
+    @Override
+    public void sincronizar() throws IOException {
+        dispositivo.sincronizar();
+    }
+
+    @Override
+    public void close() throws IOException {
+        dispositivo.close();
+    }
+}
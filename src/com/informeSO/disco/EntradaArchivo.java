@@ -0,0 +1,57 @@
+package com.informeSO.disco;
+
+import java.util.List;
+
+// Clase que representa un archivo en la simulacion del disco
+class EntradaArchivo {
+    private String nombre;
+    private int tamanoEnBloques;
+    private ListaExtensiones extensiones; // Bloques que ocupa en el disco, en orden lógico
+    private ListaExtensiones bloquesIndice; // Bloques índice del inodo (solo en asignación indexada)
+    private ModoAsignacion modo; // Cómo se guardó la ubicación de sus bloques
+    private volatile boolean estaBorrado; // true si está lógicamente borrado
+    private String firma; // Firma simple (ej. "JPG", "TXT")
+    private String contenidoOriginal; // Contenido original del archivo
+    private long generacion; // Generación con la que se escribieron sus bloques (ver RegistroEscrituras)
+
+    public EntradaArchivo(String nombre, int tamanoEnBloques, ListaExtensiones extensiones, ListaExtensiones bloquesIndice,
+                          ModoAsignacion modo, String firma, String contenido, long generacion) {
+        this.nombre = nombre;
+        this.tamanoEnBloques = tamanoEnBloques;
+        this.extensiones = extensiones;
+        this.bloquesIndice = bloquesIndice;
+        this.modo = modo;
+        this.estaBorrado = false;
+        this.firma = firma;
+        this.contenidoOriginal = contenido;
+        this.generacion = generacion;
+    }
+
+    // Getters y Setters
+    public String obtenerNombre() { return nombre; }
+    public int obtenerTamanoEnBloques() { return tamanoEnBloques; }
+    public List<Integer> obtenerBloquesAsignados() { return extensiones.aLista(); }
+    ListaExtensiones obtenerExtensiones() { return extensiones; }
+    ListaExtensiones obtenerBloquesIndice() { return bloquesIndice; }
+    public ModoAsignacion obtenerModo() { return modo; }
+    public boolean estaBorrado() { return estaBorrado; }
+    public void establecerBorrado(boolean borrado) { estaBorrado = borrado; }
+    public String obtenerFirma() { return firma; }
+    public String obtenerContenidoOriginal() { return contenidoOriginal; }
+    long obtenerGeneracion() { return generacion; }
+
+    // Tras una recuperación parcial el archivo se queda solo con los bloques intactos
+    void recortar(ListaExtensiones extensiones, ListaExtensiones bloquesIndice) {
+        this.extensiones = extensiones;
+        this.bloquesIndice = bloquesIndice;
+        this.tamanoEnBloques = extensiones.numBloques();
+    }
+
+    @Override
+    public String toString() {
+        return "Archivo[Nombre='" + nombre + "', Tamaño=" + tamanoEnBloques + " bloques, Bloques=" + extensiones.aLista() +
+               (modo != ModoAsignacion.CONTIGUA ? ", Modo=" + modo + ", Extensiones=" + extensiones.numExtensiones() : "") +
+               (bloquesIndice.numBloques() > 0 ? ", Índice=" + bloquesIndice.aLista() : "") +
+               ", Borrado=" + estaBorrado + ", Firma='" + firma + "']";
+    }
+}
@@ -0,0 +1,70 @@
+package com.informeSO.disco;
+
+import java.util.Arrays;
+
+// Resultado de simular una traza con una política: latencia de cada solicitud (desde que llega
+// a la cola hasta que termina su transferencia), throughput y recorrido del brazo.
+public class EstadisticasPlanificacion {
+    private final PoliticaPlanificacion politica;
+    private final int numSolicitudes;
+    private final double tiempoTotalMs;
+    private final long cilindrosRecorridos;
+    private final int fusionadas;
+    private final double latenciaMedia;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+    private final double latenciaMaxima;
+
+    EstadisticasPlanificacion(PoliticaPlanificacion politica, double[] latencias, double tiempoTotalMs, long cilindrosRecorridos,
+                              int fusionadas) {
+        this.politica = politica;
+        this.numSolicitudes = latencias.length;
+        this.tiempoTotalMs = tiempoTotalMs;
+        this.cilindrosRecorridos = cilindrosRecorridos;
+        this.fusionadas = fusionadas;
+        double[] ordenadas = latencias.clone();
+        Arrays.sort(ordenadas);
+        double suma = 0;
+        for (double l : ordenadas) {
+            suma += l;
+        }
+        this.latenciaMedia = numSolicitudes == 0 ? 0 : suma / numSolicitudes;
+        this.p50 = percentil(ordenadas, 0.50);
+        this.p95 = percentil(ordenadas, 0.95);
+        this.p99 = percentil(ordenadas, 0.99);
+        this.latenciaMaxima = numSolicitudes == 0 ? 0 : ordenadas[numSolicitudes - 1];
+    }
+
+    // Percentil por rango más cercano sobre las latencias ordenadas
+    private static double percentil(double[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rango = (int) Math.ceil(p * ordenadas.length);
+        return ordenadas[Math.max(0, rango - 1)];
+    }
+
+    public PoliticaPlanificacion obtenerPolitica() { return politica; }
+    public int obtenerNumSolicitudes() { return numSolicitudes; }
+    public double obtenerTiempoTotalMs() { return tiempoTotalMs; }
+    public long obtenerCilindrosRecorridos() { return cilindrosRecorridos; }
+    // Solicitudes atendidas junto con otra pendiente del mismo bloque, sin acceso propio al disco
+    public int obtenerFusionadas() { return fusionadas; }
+    public double obtenerLatenciaMedia() { return latenciaMedia; }
+    public double obtenerP50() { return p50; }
+    public double obtenerP95() { return p95; }
+    public double obtenerP99() { return p99; }
+    public double obtenerLatenciaMaxima() { return latenciaMaxima; }
+
+    // Solicitudes atendidas por segundo de tiempo simulado
+    public double obtenerThroughput() {
+        return tiempoTotalMs == 0 ? 0 : numSolicitudes * 1000.0 / tiempoTotalMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-6s | %,9.0f sol/s | latencia ms: media %9.2f  p50 %9.2f  p95 %9.2f  p99 %9.2f  máx %9.2f | %,d cilindros | %,d fusionadas",
+                politica, obtenerThroughput(), latenciaMedia, p50, p95, p99, latenciaMaxima, cilindrosRecorridos, fusionadas);
+    }
+}
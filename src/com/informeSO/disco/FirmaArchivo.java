@@ -0,0 +1,56 @@
+package com.informeSO.disco;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Firma de un tipo de archivo para el tallado (carving): bytes de cabecera y, si el formato lo
+// tiene, bytes de pie. Sin pie, el archivo se reconstruye hasta la siguiente cabecera o hasta
+// 'maxBloques'.
+public class FirmaArchivo {
+    public static final FirmaArchivo JPG = new FirmaArchivo("JPG",
+            new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF }, new byte[] { (byte) 0xFF, (byte) 0xD9 }, 4096);
+    public static final FirmaArchivo PNG = new FirmaArchivo("PNG",
+            new byte[] { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A },
+            new byte[] { 'I', 'E', 'N', 'D', (byte) 0xAE, 0x42, 0x60, (byte) 0x82 }, 4096);
+    public static final FirmaArchivo GIF = new FirmaArchivo("GIF",
+            "GIF8".getBytes(StandardCharsets.US_ASCII), new byte[] { 0x00, 0x3B }, 1024);
+    public static final FirmaArchivo PDF = new FirmaArchivo("PDF",
+            "%PDF".getBytes(StandardCharsets.US_ASCII), "%%EOF".getBytes(StandardCharsets.US_ASCII), 8192);
+    public static final FirmaArchivo ZIP = new FirmaArchivo("ZIP",
+            new byte[] { 'P', 'K', 0x03, 0x04 }, new byte[] { 'P', 'K', 0x05, 0x06 }, 8192);
+
+    // Firmas conocidas para un escaneo general
+    public static final List<FirmaArchivo> COMUNES = List.of(JPG, PNG, GIF, PDF, ZIP);
+
+    private final String tipo;
+    private final byte[] cabecera;
+    private final byte[] pie;
+    private final int maxBloques;
+
+    public FirmaArchivo(String tipo, byte[] cabecera, byte[] pie, int maxBloques) {
+        if (cabecera == null || cabecera.length == 0 || (pie != null && pie.length == 0) || maxBloques <= 0) {
+            throw new IllegalArgumentException("Firma inválida para " + tipo);
+        }
+        this.tipo = tipo;
+        this.cabecera = cabecera.clone();
+        this.pie = pie != null ? pie.clone() : null;
+        this.maxBloques = maxBloques;
+    }
+
+    // Firma de texto (UTF-8); pie puede ser null
+    public static FirmaArchivo deTexto(String tipo, String cabecera, String pie, int maxBloques) {
+        return new FirmaArchivo(tipo, cabecera.getBytes(StandardCharsets.UTF_8),
+                pie != null ? pie.getBytes(StandardCharsets.UTF_8) : null, maxBloques);
+    }
+
+    public String obtenerTipo() { return tipo; }
+    byte[] obtenerCabecera() { return cabecera; }
+    byte[] obtenerPie() { return pie; }
+    public boolean tienePie() { return pie != null; }
+    public int obtenerMaxBloques() { return maxBloques; }
+
+    @Override
+    public String toString() {
+        return "Firma[" + tipo + "]";
+    }
+}
@@ -0,0 +1,267 @@
+package com.informeSO.disco;
+
+import java.util.TreeSet;
+
+// Gestor de espacio libre del disco: mapa de bits más dos índices de extensiones libres
+// (tramos contiguos de bloques libres, siempre fusionados con sus vecinos):
+//   - Un árbol de segmentos sobre la dirección de inicio que guarda en cada hoja la longitud de la
+//     extensión que empieza ahí y en cada nodo el máximo de su subárbol. Permite encontrar la
+//     primera extensión donde cabe un archivo (desde cualquier posición) en O(log n).
+//   - Un TreeSet ordenado por (longitud, inicio) para el mejor ajuste en O(log n).
+// El mapa de bits (1 = libre) responde "¿está libre?" en O(1) y encuentra el inicio de la
+// extensión que contiene un bloque para fusionar al liberar.
+class GestorEspacioLibre {
+    private final int totalBloques;
+    private final long[] bitmap;
+    // Árbol de segmentos: hojas en [hojas, 2*hojas)
+    private final int hojas;
+    private final int[] arbol;
+    // Extensiones por tamaño: (longitud << 32) | inicio
+    private final TreeSet<Long> porTamano = new TreeSet<>();
+    private int bloquesLibres;
+    // Posición desde la que continúa el siguiente ajuste
+    private int cursor;
+
+    GestorEspacioLibre(int totalBloques) {
+        this.totalBloques = totalBloques;
+        this.bitmap = new long[(totalBloques + 63) >>> 6];
+        int h = 1;
+        while (h < Math.max(1, totalBloques)) {
+            h <<= 1;
+        }
+        this.hojas = h;
+        this.arbol = new int[2 * h];
+        if (totalBloques > 0) {
+            marcar(0, totalBloques, true);
+            agregar(0, totalBloques);
+            bloquesLibres = totalBloques;
+        }
+    }
+
+    /**
+     * Busca y ocupa 'tamano' bloques contiguos según la política.
+     * @return El primer bloque asignado, o -1 si no hay una extensión libre suficiente.
+     */
+    int asignar(int tamano, PoliticaAsignacion politica) {
+        if (tamano <= 0 || arbol[1] < tamano) {
+            return -1;
+        }
+        int inicio;
+        switch (politica) {
+            case MEJOR_AJUSTE:
+                Long clave = porTamano.ceiling((long) tamano << 32);
+                inicio = (int) (long) clave;
+                break;
+            case SIGUIENTE_AJUSTE:
+                inicio = buscarPrimera(1, 0, hojas, cursor, tamano);
+                if (inicio < 0) {
+                    inicio = buscarPrimera(1, 0, hojas, 0, tamano); // Volver al principio
+                }
+                break;
+            default:
+                inicio = buscarPrimera(1, 0, hojas, 0, tamano);
+                break;
+        }
+        tomar(inicio, tamano);
+        cursor = inicio + tamano;
+        return inicio;
+    }
+
+    /**
+     * Ocupa 'tamano' bloques aunque no sean contiguos. Si hay una extensión suficiente se usa la
+     * política; si no, se toman las extensiones más grandes primero para dejar el archivo en
+     * el menor número de fragmentos posible.
+     * @return false si no quedan bloques libres suficientes (no se ocupa nada).
+     */
+    boolean asignarExtensiones(int tamano, PoliticaAsignacion politica, ListaExtensiones destino) {
+        if (tamano <= 0 || tamano > bloquesLibres) {
+            return false;
+        }
+        int inicio = asignar(tamano, politica);
+        if (inicio >= 0) {
+            destino.agregar(inicio, tamano);
+            return true;
+        }
+        int restante = tamano;
+        while (restante > 0) {
+            long mayor = porTamano.last();
+            int inicioMayor = (int) mayor;
+            int cantidad = Math.min(restante, (int) (mayor >>> 32));
+            tomar(inicioMayor, cantidad);
+            destino.agregar(inicioMayor, cantidad);
+            restante -= cantidad;
+        }
+        return true;
+    }
+
+    // Ocupa los primeros 'cantidad' bloques de la extensión libre que empieza en 'inicio'
+    private void tomar(int inicio, int cantidad) {
+        int longitud = arbol[hojas + inicio];
+        quitar(inicio, longitud);
+        if (longitud > cantidad) {
+            agregar(inicio + cantidad, longitud - cantidad);
+        }
+        marcar(inicio, cantidad, false);
+        bloquesLibres -= cantidad;
+    }
+
+    /**
+     * Ocupa un tramo concreto (p. ej. al recuperar un archivo borrado en su lugar original).
+     * @return false si algún bloque del tramo no está libre; en ese caso no se cambia nada.
+     */
+    boolean reservar(int inicio, int longitud) {
+        if (inicio < 0 || longitud <= 0 || inicio + longitud > totalBloques || !todosLibres(inicio, longitud)) {
+            return false;
+        }
+        int inicioExtension = inicioExtension(inicio);
+        int longitudExtension = arbol[hojas + inicioExtension];
+        quitar(inicioExtension, longitudExtension);
+        if (inicio > inicioExtension) {
+            agregar(inicioExtension, inicio - inicioExtension);
+        }
+        int finExtension = inicioExtension + longitudExtension;
+        if (inicio + longitud < finExtension) {
+            agregar(inicio + longitud, finExtension - inicio - longitud);
+        }
+        marcar(inicio, longitud, false);
+        bloquesLibres -= longitud;
+        return true;
+    }
+
+    // Devuelve un tramo ocupado al espacio libre, fusionándolo con las extensiones vecinas
+    void liberar(int inicio, int longitud) {
+        if (inicio < 0 || longitud <= 0 || inicio + longitud > totalBloques || !ningunoLibre(inicio, longitud)) {
+            throw new IllegalArgumentException("Tramo [" + inicio + ", " + (inicio + longitud) + ") no está ocupado");
+        }
+        int nuevoInicio = inicio;
+        int nuevaLongitud = longitud;
+        if (inicio > 0 && estaLibre(inicio - 1)) {
+            int izquierda = inicioExtension(inicio - 1);
+            int longitudIzquierda = arbol[hojas + izquierda];
+            quitar(izquierda, longitudIzquierda);
+            nuevoInicio = izquierda;
+            nuevaLongitud += longitudIzquierda;
+        }
+        int fin = inicio + longitud;
+        if (fin < totalBloques && estaLibre(fin)) {
+            int longitudDerecha = arbol[hojas + fin];
+            quitar(fin, longitudDerecha);
+            nuevaLongitud += longitudDerecha;
+        }
+        agregar(nuevoInicio, nuevaLongitud);
+        marcar(inicio, longitud, true);
+        bloquesLibres += longitud;
+    }
+
+    boolean estaLibre(int bloque) {
+        return (bitmap[bloque >>> 6] & (1L << bloque)) != 0;
+    }
+
+    int obtenerBloquesLibres() {
+        return bloquesLibres;
+    }
+
+    int obtenerMayorExtension() {
+        return arbol[1];
+    }
+
+    // Longitud de la extensión libre que empieza en el bloque 0 (0 si está ocupado)
+    int libresAlPrincipio() {
+        return totalBloques > 0 && estaLibre(0) ? arbol[hojas] : 0;
+    }
+
+    // Longitud de la extensión libre que termina en el último bloque (0 si está ocupado)
+    int libresAlFinal() {
+        return totalBloques > 0 && estaLibre(totalBloques - 1) ? totalBloques - inicioExtension(totalBloques - 1) : 0;
+    }
+
+    int obtenerNumExtensiones() {
+        return porTamano.size();
+    }
+
+    // Primera hoja en [desde, ∞) con longitud >= tamano dentro del nodo que cubre [lo, hi)
+    private int buscarPrimera(int nodo, int lo, int hi, int desde, int tamano) {
+        if (hi <= desde || arbol[nodo] < tamano) {
+            return -1;
+        }
+        if (hi - lo == 1) {
+            return lo;
+        }
+        int medio = (lo + hi) >>> 1;
+        int izquierda = buscarPrimera(2 * nodo, lo, medio, desde, tamano);
+        return izquierda >= 0 ? izquierda : buscarPrimera(2 * nodo + 1, medio, hi, desde, tamano);
+    }
+
+    private void agregar(int inicio, int longitud) {
+        actualizarHoja(inicio, longitud);
+        porTamano.add(((long) longitud << 32) | inicio);
+    }
+
+    private void quitar(int inicio, int longitud) {
+        actualizarHoja(inicio, 0);
+        porTamano.remove(((long) longitud << 32) | inicio);
+    }
+
+    private void actualizarHoja(int posicion, int valor) {
+        int nodo = hojas + posicion;
+        arbol[nodo] = valor;
+        for (nodo >>>= 1; nodo > 0; nodo >>>= 1) {
+            arbol[nodo] = Math.max(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        }
+    }
+
+    // Inicio de la extensión libre que contiene 'bloque': primer bloque ocupado hacia atrás + 1
+    private int inicioExtension(int bloque) {
+        int w = bloque >>> 6;
+        long ocupados = ~bitmap[w] & (-1L >>> (63 - (bloque & 63)));
+        while (ocupados == 0) {
+            if (--w < 0) {
+                return 0;
+            }
+            ocupados = ~bitmap[w];
+        }
+        return (w << 6) + 64 - Long.numberOfLeadingZeros(ocupados);
+    }
+
+    // Pone los bits de [inicio, inicio + longitud) a 1 (libre) o 0 (ocupado), palabra a palabra
+    private void marcar(int inicio, int longitud, boolean libre) {
+        int fin = inicio + longitud;
+        for (int w = inicio >>> 6; w <= (fin - 1) >>> 6; w++) {
+            long mascara = mascara(w, inicio, fin);
+            if (libre) {
+                bitmap[w] |= mascara;
+            } else {
+                bitmap[w] &= ~mascara;
+            }
+        }
+    }
+
+    private boolean todosLibres(int inicio, int longitud) {
+        int fin = inicio + longitud;
+        for (int w = inicio >>> 6; w <= (fin - 1) >>> 6; w++) {
+            long mascara = mascara(w, inicio, fin);
+            if ((bitmap[w] & mascara) != mascara) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean ningunoLibre(int inicio, int longitud) {
+        int fin = inicio + longitud;
+        for (int w = inicio >>> 6; w <= (fin - 1) >>> 6; w++) {
+            if ((bitmap[w] & mascara(w, inicio, fin)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Bits de la palabra w que caen en [inicio, fin)
+    private static long mascara(int w, int inicio, int fin) {
+        int desde = Math.max(inicio, w << 6) & 63;
+        int hasta = Math.min(fin, (w + 1) << 6) - (w << 6); // 1..64
+        long alto = hasta == 64 ? -1L : (1L << hasta) - 1;
+        return alto & (-1L << desde);
+    }
+}
@@ -0,0 +1,312 @@
+package com.informeSO.disco;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Espacio libre repartido en grupos de bloques, como los block groups de ext4: cada grupo tiene
+// su propio GestorEspacioLibre y su propio cerrojo, así que hilos que asignan o liberan en grupos
+// distintos no se esperan entre sí. Cada hilo empieza a buscar en su grupo "de casa" (el primer
+// hilo que asigna tiene el grupo 0, el siguiente el 1, ...) y sigue por los demás en orden circular;
+// con un solo hilo la búsqueda recorre los grupos desde el 0, como un solo gestor.
+// La política de asignación se aplica dentro de cada grupo; solo si ningún grupo tiene una extensión
+// suficiente se busca una que cruce el límite entre grupos (la cola libre de uno seguida de las
+// cabezas libres de los siguientes). Quien necesite varios grupos a la vez los toma en orden
+// creciente (bloquear), y las asignaciones toman de a uno o todos, así que no hay interbloqueos.
+class GruposBloques {
+    static final int BLOQUES_POR_GRUPO = 32_768;
+
+    private final int totalBloques;
+    private final GestorEspacioLibre[] grupos;
+    private final ReentrantLock[] cerrojos;
+    private final AtomicInteger siguienteCasa = new AtomicInteger();
+    private final ThreadLocal<Integer> grupoCasa;
+
+    GruposBloques(int totalBloques) {
+        this.totalBloques = totalBloques;
+        int numGrupos = Math.max(1, (totalBloques + BLOQUES_POR_GRUPO - 1) / BLOQUES_POR_GRUPO);
+        this.grupos = new GestorEspacioLibre[numGrupos];
+        this.cerrojos = new ReentrantLock[numGrupos];
+        for (int g = 0; g < numGrupos; g++) {
+            grupos[g] = new GestorEspacioLibre(Math.min(BLOQUES_POR_GRUPO, totalBloques - g * BLOQUES_POR_GRUPO));
+            cerrojos[g] = new ReentrantLock();
+        }
+        this.grupoCasa = ThreadLocal.withInitial(() -> siguienteCasa.getAndIncrement() % numGrupos);
+    }
+
+    int numGrupos() {
+        return grupos.length;
+    }
+
+    /**
+     * Busca y ocupa 'tamano' bloques contiguos dentro de un grupo, empezando por el del hilo; si
+     * ninguno tiene una extensión suficiente, en una que cruce el límite entre grupos.
+     * @return El primer bloque asignado, o -1 si no hay una extensión libre suficiente.
+     */
+    int asignar(int tamano, PoliticaAsignacion politica) {
+        if (tamano <= 0) {
+            return -1;
+        }
+        int casa = grupoCasa.get();
+        for (int i = 0; i < grupos.length; i++) {
+            int g = (casa + i) % grupos.length;
+            cerrojos[g].lock();
+            try {
+                int inicio = grupos[g].asignar(tamano, politica);
+                if (inicio >= 0) {
+                    return g * BLOQUES_POR_GRUPO + inicio;
+                }
+            } finally {
+                cerrojos[g].unlock();
+            }
+        }
+        if (grupos.length == 1) {
+            return -1;
+        }
+        // Caso raro (archivo más grande que un grupo o disco fragmentado): como en asignarExtensiones,
+        // se toman todos los grupos para buscar sin carreras
+        int[] todos = todosLosGrupos();
+        bloquear(todos);
+        try {
+            for (int g = 0; g < grupos.length; g++) {
+                int inicio = grupos[g].asignar(tamano, politica); // Pudo liberarse algo mientras tanto
+                if (inicio >= 0) {
+                    return g * BLOQUES_POR_GRUPO + inicio;
+                }
+            }
+            int inicio = buscarEntreGrupos(tamano, politica);
+            if (inicio >= 0) {
+                ocupar(inicio, tamano);
+            }
+            return inicio;
+        } finally {
+            desbloquear(todos);
+        }
+    }
+
+    // Inicio de la extensión libre que cruza grupos donde cabe 'tamano' bloques: la primera por
+    // dirección o, con MEJOR_AJUSTE, la más chica (el siguiente ajuste se trata como el primero,
+    // porque su cursor es de cada grupo). -1 si no hay ninguna. Con todos los cerrojos tomados
+    private int buscarEntreGrupos(int tamano, PoliticaAsignacion politica) {
+        int mejorInicio = -1;
+        long mejorLongitud = Long.MAX_VALUE;
+        for (int g = 0; g < grupos.length - 1; ) {
+            int cola = grupos[g].libresAlFinal();
+            int h = g + 1;
+            long longitud = cola;
+            if (cola > 0) {
+                // Se suman los grupos siguientes enteros libres y la cabeza libre del primero que no lo está
+                while (h < grupos.length) {
+                    int cabeza = grupos[h].libresAlPrincipio();
+                    longitud += cabeza;
+                    if (cabeza < bloquesDelGrupo(h)) {
+                        break;
+                    }
+                    h++;
+                }
+            }
+            if (longitud > cola && longitud >= tamano && longitud < mejorLongitud) {
+                mejorInicio = g * BLOQUES_POR_GRUPO + bloquesDelGrupo(g) - cola;
+                mejorLongitud = longitud;
+                if (politica != PoliticaAsignacion.MEJOR_AJUSTE) {
+                    break;
+                }
+            }
+            g = h; // La extensión termina en el grupo h: su cola es la siguiente candidata
+        }
+        return mejorInicio;
+    }
+
+    // Ocupa un tramo que ya se sabe libre, partido por grupos, sin tomar cerrojos (ya están tomados)
+    private void ocupar(int inicio, int longitud) {
+        int fin = inicio + longitud;
+        while (inicio < fin) {
+            int g = inicio / BLOQUES_POR_GRUPO;
+            int finGrupo = Math.min(fin, (g + 1) * BLOQUES_POR_GRUPO);
+            grupos[g].reservar(inicio - g * BLOQUES_POR_GRUPO, finGrupo - inicio);
+            inicio = finGrupo;
+        }
+    }
+
+    private int bloquesDelGrupo(int g) {
+        return Math.min(BLOQUES_POR_GRUPO, totalBloques - g * BLOQUES_POR_GRUPO);
+    }
+
+    private int[] todosLosGrupos() {
+        int[] todos = new int[grupos.length];
+        for (int g = 0; g < todos.length; g++) {
+            todos[g] = g;
+        }
+        return todos;
+    }
+
+    /**
+     * Ocupa 'tamano' bloques aunque no sean contiguos: en el primer grupo (desde el del hilo) que
+     * tenga bloques libres suficientes o, si ninguno los tiene solo, repartidos entre todos.
+     * @return false si no quedan bloques libres suficientes (no se ocupa nada).
+     */
+    boolean asignarExtensiones(int tamano, PoliticaAsignacion politica, ListaExtensiones destino) {
+        if (tamano <= 0) {
+            return false;
+        }
+        int casa = grupoCasa.get();
+        for (int i = 0; i < grupos.length; i++) {
+            int g = (casa + i) % grupos.length;
+            cerrojos[g].lock();
+            try {
+                if (grupos[g].obtenerBloquesLibres() >= tamano) {
+                    agregarDesplazadas(grupos[g], g, tamano, politica, destino);
+                    return true;
+                }
+            } finally {
+                cerrojos[g].unlock();
+            }
+        }
+        // Caso raro (disco casi lleno): se toman todos los grupos para repartir sin carreras
+        int[] todos = todosLosGrupos();
+        bloquear(todos);
+        try {
+            long libres = 0;
+            for (GestorEspacioLibre grupo : grupos) {
+                libres += grupo.obtenerBloquesLibres();
+            }
+            if (libres < tamano) {
+                return false;
+            }
+            int restante = tamano;
+            for (int g = 0; g < grupos.length && restante > 0; g++) {
+                int cantidad = Math.min(restante, grupos[g].obtenerBloquesLibres());
+                if (cantidad > 0) {
+                    agregarDesplazadas(grupos[g], g, cantidad, politica, destino);
+                    restante -= cantidad;
+                }
+            }
+            return true;
+        } finally {
+            desbloquear(todos);
+        }
+    }
+
+    // Asigna en el grupo y agrega las extensiones a 'destino' con números de bloque del disco
+    private static void agregarDesplazadas(GestorEspacioLibre grupo, int g, int cantidad, PoliticaAsignacion politica,
+                                           ListaExtensiones destino) {
+        ListaExtensiones locales = new ListaExtensiones();
+        grupo.asignarExtensiones(cantidad, politica, locales);
+        for (int k = 0; k < locales.numExtensiones(); k++) {
+            destino.agregar(g * BLOQUES_POR_GRUPO + locales.inicio(k), locales.longitud(k));
+        }
+    }
+
+    // Ocupa (liberar = false) o devuelve al espacio libre cada extensión, partida por grupos
+    void actualizar(ListaExtensiones tramos, boolean liberar) {
+        for (int k = 0; k < tramos.numExtensiones(); k++) {
+            int inicio = tramos.inicio(k);
+            int fin = inicio + tramos.longitud(k);
+            while (inicio < fin) {
+                int g = inicio / BLOQUES_POR_GRUPO;
+                int finGrupo = Math.min(fin, (g + 1) * BLOQUES_POR_GRUPO);
+                cerrojos[g].lock();
+                try {
+                    if (liberar) {
+                        grupos[g].liberar(inicio - g * BLOQUES_POR_GRUPO, finGrupo - inicio);
+                    } else {
+                        grupos[g].reservar(inicio - g * BLOQUES_POR_GRUPO, finGrupo - inicio); // Ya se comprobó que están libres
+                    }
+                } finally {
+                    cerrojos[g].unlock();
+                }
+                inicio = finGrupo;
+            }
+        }
+    }
+
+    boolean estaLibre(int bloque) {
+        int g = bloque / BLOQUES_POR_GRUPO;
+        cerrojos[g].lock();
+        try {
+            return grupos[g].estaLibre(bloque - g * BLOQUES_POR_GRUPO);
+        } finally {
+            cerrojos[g].unlock();
+        }
+    }
+
+    int obtenerBloquesLibres() {
+        int libres = 0;
+        for (int g = 0; g < grupos.length; g++) {
+            cerrojos[g].lock();
+            try {
+                libres += grupos[g].obtenerBloquesLibres();
+            } finally {
+                cerrojos[g].unlock();
+            }
+        }
+        return libres;
+    }
+
+    // Mayor extensión libre del disco, también las que cruzan el límite entre grupos
+    int obtenerMayorExtension() {
+        int[] todos = todosLosGrupos();
+        bloquear(todos);
+        try {
+            int mayor = 0;
+            int corrido = 0; // Extensión que viene de los grupos anteriores y sigue abierta
+            for (int g = 0; g < grupos.length; g++) {
+                mayor = Math.max(mayor, grupos[g].obtenerMayorExtension());
+                int cabeza = grupos[g].libresAlPrincipio();
+                if (cabeza == bloquesDelGrupo(g)) {
+                    corrido += cabeza;
+                } else {
+                    mayor = Math.max(mayor, corrido + cabeza);
+                    corrido = grupos[g].libresAlFinal();
+                }
+                mayor = Math.max(mayor, corrido);
+            }
+            return mayor;
+        } finally {
+            desbloquear(todos);
+        }
+    }
+
+    // Grupos que tocan las extensiones, sin repetir y en orden creciente (el orden de bloquear)
+    int[] gruposDe(ListaExtensiones... listas) {
+        boolean[] marcados = new boolean[grupos.length];
+        int n = 0;
+        for (ListaExtensiones tramos : listas) {
+            for (int k = 0; k < tramos.numExtensiones(); k++) {
+                int ultimo = (tramos.inicio(k) + tramos.longitud(k) - 1) / BLOQUES_POR_GRUPO;
+                for (int g = tramos.inicio(k) / BLOQUES_POR_GRUPO; g <= ultimo; g++) {
+                    if (!marcados[g]) {
+                        marcados[g] = true;
+                        n++;
+                    }
+                }
+            }
+        }
+        int[] resultado = new int[n];
+        for (int g = 0, i = 0; g < marcados.length; g++) {
+            if (marcados[g]) {
+                resultado[i++] = g;
+            }
+        }
+        return resultado;
+    }
+
+    int grupoDe(int bloque) {
+        if (bloque < 0 || bloque >= totalBloques) {
+            throw new IndexOutOfBoundsException("Bloque " + bloque + " fuera del disco (" + totalBloques + " bloques)");
+        }
+        return bloque / BLOQUES_POR_GRUPO;
+    }
+
+    // Toma los cerrojos de los grupos, que deben venir en orden creciente
+    void bloquear(int[] gruposOrdenados) {
+        for (int g : gruposOrdenados) {
+            cerrojos[g].lock();
+        }
+    }
+
+    void desbloquear(int[] gruposOrdenados) {
+        for (int i = gruposOrdenados.length - 1; i >= 0; i--) {
+            cerrojos[gruposOrdenados[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.informeSO.disco;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Índice por nombre de las entradas del sistema de archivos, con dos vistas:
+//   - vivos: a lo sumo un archivo activo por nombre
+//   - borrados: todas las generaciones borradas de cada nombre, de la más reciente a la más antigua
+// Un nombre puede volver a usarse después de borrar el archivo; la generación anterior sigue
+// disponible para recuperarla mientras sus bloques no se sobrescriban; cuando ya no queda ninguno,
+// el punto de control del diario la descarta.
+// Las dos vistas son mapas concurrentes, así que operaciones sobre nombres distintos no se
+// esperan entre sí. Las que comprueban y después cambian un nombre (crear si no existe, borrar,
+// recuperar) toman antes su cerrojo con cerrojo(nombre): CERROJOS cerrojos repartidos por hash,
+// de modo que la cola de generaciones borradas de un nombre solo la toca un hilo a la vez.
+class IndiceArchivos {
+    private static final int CERROJOS = 64;
+
+    private final Map<String, EntradaArchivo> vivos = new ConcurrentHashMap<>();
+    private final Map<String, Deque<EntradaArchivo>> borrados = new ConcurrentHashMap<>();
+    private final AtomicInteger numBorrados = new AtomicInteger();
+    private final ReentrantLock[] cerrojos = new ReentrantLock[CERROJOS];
+
+    IndiceArchivos() {
+        for (int i = 0; i < CERROJOS; i++) {
+            cerrojos[i] = new ReentrantLock();
+        }
+    }
+
+    ReentrantLock cerrojo(String nombre) {
+        int h = nombre.hashCode();
+        return cerrojos[(h ^ (h >>> 16)) & (CERROJOS - 1)];
+    }
+
+    // Toma los cerrojos de todos los nombres, en orden (para operaciones sobre todo el sistema de archivos)
+    void bloquearTodos() {
+        for (ReentrantLock cerrojo : cerrojos) {
+            cerrojo.lock();
+        }
+    }
+
+    void desbloquearTodos() {
+        for (int i = CERROJOS - 1; i >= 0; i--) {
+            cerrojos[i].unlock();
+        }
+    }
+
+    EntradaArchivo buscarVivo(String nombre) {
+        return vivos.get(nombre);
+    }
+
+    boolean existeVivo(String nombre) {
+        return vivos.containsKey(nombre);
+    }
+
+    void agregar(EntradaArchivo entrada) {
+        vivos.put(entrada.obtenerNombre(), entrada);
+    }
+
+    // Pasa la entrada viva a la vista de borrados como la generación más reciente
+    void marcarBorrado(EntradaArchivo entrada) {
+        vivos.remove(entrada.obtenerNombre());
+        borrados.computeIfAbsent(entrada.obtenerNombre(), k -> new ArrayDeque<>()).addFirst(entrada);
+        numBorrados.incrementAndGet();
+    }
+
+    // Quita una generación de los borrados y la vuelve a activar
+    void marcarRecuperado(EntradaArchivo entrada) {
+        Deque<EntradaArchivo> generaciones = borrados.get(entrada.obtenerNombre());
+        generaciones.remove(entrada); // Normalmente es la primera
+        if (generaciones.isEmpty()) {
+            borrados.remove(entrada.obtenerNombre());
+        }
+        numBorrados.decrementAndGet();
+        vivos.put(entrada.obtenerNombre(), entrada);
+    }
+
+    // Olvida una generación borrada que ya no se puede recuperar
+    void descartarBorrado(EntradaArchivo entrada) {
+        Deque<EntradaArchivo> generaciones = borrados.get(entrada.obtenerNombre());
+        if (generaciones != null && generaciones.remove(entrada)) {
+            if (generaciones.isEmpty()) {
+                borrados.remove(entrada.obtenerNombre());
+            }
+            numBorrados.decrementAndGet();
+        }
+    }
+
+    // Generaciones borradas del nombre, de la más reciente a la más antigua
+    Iterable<EntradaArchivo> generacionesBorradas(String nombre) {
+        Deque<EntradaArchivo> generaciones = borrados.get(nombre);
+        return generaciones != null ? generaciones : Collections.emptyList();
+    }
+
+    int numGeneracionesBorradas(String nombre) {
+        Deque<EntradaArchivo> generaciones = borrados.get(nombre);
+        return generaciones != null ? generaciones.size() : 0;
+    }
+
+    Collection<EntradaArchivo> vivos() {
+        return Collections.unmodifiableCollection(vivos.values());
+    }
+
+    int numVivos() {
+        return vivos.size();
+    }
+
+    int numBorrados() {
+        return numBorrados.get();
+    }
+}
@@ -0,0 +1,55 @@
+package com.informeSO.disco;
+
+// Cálculos de la asignación indexada estilo inodo: DIRECTOS punteros en el propio inodo y,
+// después, bloques índice con (tamaño de bloque / 4) punteros cada uno para la indirección
+// simple, doble y triple.
+final class Inodo {
+    static final int DIRECTOS = 12;
+
+    private Inodo() { }
+
+    // Bloques de datos que puede direccionar un inodo
+    static long capacidad(int punteros) {
+        long p = punteros;
+        return DIRECTOS + p + p * p + p * p * p;
+    }
+
+    // Bloques índice necesarios para un archivo de numBloques bloques
+    static int bloquesIndice(int numBloques, int punteros) {
+        long resto = numBloques - DIRECTOS;
+        int indice = 0;
+        long p = punteros;
+        if (resto > 0) { // Indirecto simple
+            indice += 1;
+            resto -= p;
+        }
+        if (resto > 0) { // Indirecto doble: raíz + un bloque por cada p punteros
+            long cubiertos = Math.min(resto, p * p);
+            indice += 1 + (int) ((cubiertos + p - 1) / p);
+            resto -= cubiertos;
+        }
+        if (resto > 0) { // Indirecto triple: raíz + bloques de segundo y tercer nivel
+            long tercerNivel = (resto + p - 1) / p;
+            indice += 1 + (int) ((tercerNivel + p - 1) / p) + (int) tercerNivel;
+        }
+        return indice;
+    }
+
+    // Bloques índice que hay que leer para llegar a cada bloque lógico (0 directos, 1 simple, 2 doble,
+    // 3 triple), sumados sobre todo el archivo
+    static long sumaNiveles(int numBloques, int punteros) {
+        long p = punteros;
+        long resto = numBloques - DIRECTOS;
+        long suma = 0;
+        int nivel = 1;
+        long tramo = p;
+        while (resto > 0) {
+            long enNivel = Math.min(resto, tramo);
+            suma += enNivel * nivel;
+            resto -= enNivel;
+            nivel++;
+            tramo *= p;
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,204 @@
+package com.informeSO.disco;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+// Formato binario compacto de una instantánea del SimuladorDisco, que se escribe y se lee como flujo
+// (nunca tiene el disco entero en memoria):
+//   - cabecera: mágico, número y tamaño de bloques, modo y política de asignación
+//   - entradas: nombre, modo, firma, contenido, generación, si está borrada y sus extensiones
+//   - bloques en tramos: [estado][longitud][generación], seguidos, si la generación no es 0, de la suma
+//     de cada bloque y, si el tramo tiene datos, de los bytes de cada bloque sin los ceros del final.
+// Los bloques consecutivos con el mismo estado (LIBRE, LIBRE_LOGICO u ocupado), la misma generación
+// y sin datos forman un solo tramo sin importar su longitud: un rango libre cuesta unos pocos bytes.
+// Los tramos con datos se cortan cada MAXIMO_TRAMO bloques para no acumularlos en memoria.
+// Los enteros van en varint (7 bits por byte), así que los valores pequeños ocupan un byte.
+final class InstantaneaDisco {
+    private static final int MAGICO = 0x534E5031; // "SNP1"
+    private static final int MAXIMO_TRAMO = 256;
+
+    private static final int LIBRE = 1;
+    private static final int DE_ARCHIVO = 2;
+    private static final int CON_DATOS = 4;
+
+    private InstantaneaDisco() { }
+
+    static void guardar(SimuladorDisco simulador, OutputStream destino) throws IOException {
+        DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(destino, 1 << 16));
+        DispositivoBloques dispositivo = simulador.obtenerDispositivo();
+        RegistroEscrituras escrituras = simulador.obtenerRegistroEscrituras();
+        int numBloques = dispositivo.obtenerNumBloques();
+        salida.writeInt(MAGICO);
+        salida.writeInt(numBloques);
+        salida.writeInt(dispositivo.obtenerTamanoBloque());
+        salida.writeByte(simulador.obtenerModoAsignacion().ordinal());
+        salida.writeByte(simulador.obtenerPoliticaAsignacion().ordinal());
+
+        List<EntradaArchivo> entradas = simulador.entradasEnOrdenDeReconstruccion();
+        escribirVarint(salida, entradas.size());
+        for (EntradaArchivo archivo : entradas) {
+            salida.writeUTF(archivo.obtenerNombre());
+            salida.writeByte(archivo.obtenerModo().ordinal());
+            salida.writeUTF(archivo.obtenerFirma());
+            salida.writeUTF(archivo.obtenerContenidoOriginal());
+            escribirVarint(salida, archivo.obtenerGeneracion());
+            salida.writeBoolean(archivo.estaBorrado());
+            escribirTramos(salida, archivo.obtenerExtensiones());
+            escribirTramos(salida, archivo.obtenerBloquesIndice());
+        }
+
+        // Cada bloque se lee una vez; el tramo en curso guarda solo sus sumas y sus datos
+        byte[] bloque = new byte[dispositivo.obtenerTamanoBloque()];
+        ByteArrayOutputStream datosTramo = new ByteArrayOutputStream();
+        DataOutputStream salidaTramo = new DataOutputStream(datosTramo);
+        int estadoTramo = -1;
+        long generacionTramo = 0;
+        int longitudTramo = 0;
+        for (int b = 0; b < numBloques; b++) {
+            dispositivo.leer(b, bloque);
+            int longitud = bloque.length;
+            while (longitud > 0 && bloque[longitud - 1] == 0) {
+                longitud--;
+            }
+            long generacion = escrituras.generacion(b);
+            int estado = (simulador.bloqueLibre(b) ? LIBRE : 0) | (escrituras.esDeArchivo(b) ? DE_ARCHIVO : 0) | (longitud > 0 ? CON_DATOS : 0);
+            if (estado != estadoTramo || generacion != generacionTramo
+                    || ((estado & CON_DATOS) != 0 && longitudTramo == MAXIMO_TRAMO)) {
+                cerrarTramo(salida, estadoTramo, longitudTramo, generacionTramo, datosTramo);
+                estadoTramo = estado;
+                generacionTramo = generacion;
+                longitudTramo = 0;
+            }
+            longitudTramo++;
+            if (generacion != 0) {
+                salidaTramo.writeInt(escrituras.suma(b));
+            }
+            if (longitud > 0) {
+                escribirVarint(salidaTramo, longitud);
+                salidaTramo.write(bloque, 0, longitud);
+            }
+        }
+        cerrarTramo(salida, estadoTramo, longitudTramo, generacionTramo, datosTramo);
+        salida.flush();
+    }
+
+    private static void cerrarTramo(DataOutputStream salida, int estado, int longitud, long generacion,
+                                    ByteArrayOutputStream datosTramo) throws IOException {
+        if (longitud == 0) {
+            return;
+        }
+        salida.writeByte(estado);
+        escribirVarint(salida, longitud);
+        escribirVarint(salida, generacion);
+        datosTramo.writeTo(salida);
+        datosTramo.reset();
+    }
+
+    // El dispositivo debe tener el tamaño de la instantánea y estar vacío: solo se escriben los bloques con datos
+    static SimuladorDisco restaurar(InputStream origen, DispositivoBloques dispositivo, OyenteDisco oyente) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(origen, 1 << 16));
+        if (entrada.readInt() != MAGICO) {
+            throw new IOException("No es una instantánea de disco");
+        }
+        int numBloques = entrada.readInt();
+        int tamanoBloque = entrada.readInt();
+        if (numBloques != dispositivo.obtenerNumBloques() || tamanoBloque != dispositivo.obtenerTamanoBloque()) {
+            throw new IOException("La instantánea es de un disco de " + numBloques + " bloques de " + tamanoBloque
+                    + " bytes y el dispositivo tiene " + dispositivo.obtenerNumBloques() + " de " + dispositivo.obtenerTamanoBloque());
+        }
+        SimuladorDisco simulador = new SimuladorDisco(dispositivo, oyente);
+        simulador.establecerModoAsignacion(ModoAsignacion.values()[entrada.readByte()]);
+        simulador.establecerPoliticaAsignacion(PoliticaAsignacion.values()[entrada.readByte()]);
+
+        long numEntradas = leerVarint(entrada);
+        for (long e = 0; e < numEntradas; e++) {
+            String nombre = entrada.readUTF();
+            ModoAsignacion modo = ModoAsignacion.values()[entrada.readByte()];
+            String firma = entrada.readUTF();
+            String contenido = entrada.readUTF();
+            long generacion = leerVarint(entrada);
+            boolean borrado = entrada.readBoolean();
+            ListaExtensiones extensiones = leerTramos(entrada);
+            ListaExtensiones bloquesIndice = leerTramos(entrada);
+            // Las generaciones de los bloques llegan con los tramos
+            EntradaArchivo archivo = simulador.aplicarCreacion(nombre, modo, firma, contenido, generacion, extensiones, bloquesIndice, null);
+            if (borrado) {
+                simulador.aplicarEliminacion(archivo);
+            }
+        }
+
+        RegistroEscrituras escrituras = simulador.obtenerRegistroEscrituras();
+        byte[] bloque = new byte[tamanoBloque];
+        int b = 0;
+        while (b < numBloques) {
+            int estado = entrada.readUnsignedByte();
+            long longitudTramo = leerVarint(entrada);
+            long generacion = leerVarint(entrada);
+            if (longitudTramo <= 0 || longitudTramo > numBloques - b) {
+                throw new IOException("Tramo fuera del disco en el bloque " + b);
+            }
+            for (int fin = b + (int) longitudTramo; b < fin; b++) {
+                if (simulador.bloqueLibre(b) != ((estado & LIBRE) != 0)) {
+                    throw new IOException("Instantánea inconsistente: el bloque " + b + " no coincide con las entradas");
+                }
+                if (generacion != 0) {
+                    escrituras.restaurar(b, generacion, entrada.readInt(), (estado & DE_ARCHIVO) != 0);
+                }
+                if ((estado & CON_DATOS) != 0) {
+                    int longitud = (int) leerVarint(entrada);
+                    if (longitud > tamanoBloque) {
+                        throw new IOException("Bloque " + b + " más grande que el tamaño de bloque");
+                    }
+                    entrada.readFully(bloque, 0, longitud);
+                    dispositivo.escribir(b, bloque, longitud);
+                }
+            }
+        }
+        return simulador;
+    }
+
+    private static void escribirTramos(DataOutputStream salida, ListaExtensiones tramos) throws IOException {
+        escribirVarint(salida, tramos.numExtensiones());
+        for (int k = 0; k < tramos.numExtensiones(); k++) {
+            escribirVarint(salida, tramos.inicio(k));
+            escribirVarint(salida, tramos.longitud(k));
+        }
+    }
+
+    private static ListaExtensiones leerTramos(DataInputStream entrada) throws IOException {
+        ListaExtensiones tramos = new ListaExtensiones();
+        long numExtensiones = leerVarint(entrada);
+        for (long k = 0; k < numExtensiones; k++) {
+            tramos.agregar((int) leerVarint(entrada), (int) leerVarint(entrada));
+        }
+        return tramos;
+    }
+
+    // Entero no negativo en grupos de 7 bits, de menor a mayor; el bit alto indica que sigue otro byte
+    private static void escribirVarint(DataOutputStream salida, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            salida.writeByte((int) (valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.writeByte((int) valor);
+    }
+
+    private static long leerVarint(DataInputStream entrada) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = entrada.readUnsignedByte();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+}
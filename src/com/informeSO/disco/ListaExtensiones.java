@@ -0,0 +1,66 @@
+package com.informeSO.disco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Bloques de un archivo como lista de extensiones (inicio, longitud) en orden lógico.
+// Un archivo contiguo ocupa una sola extensión sin importar su tamaño, en lugar de un
+// Integer por bloque. Las extensiones contiguas que se agregan seguidas se fusionan.
+class ListaExtensiones {
+    private int[] inicios = new int[1];
+    private int[] longitudes = new int[1];
+    private int numExtensiones;
+    private int numBloques;
+
+    static ListaExtensiones de(int inicio, int longitud) {
+        ListaExtensiones lista = new ListaExtensiones();
+        lista.agregar(inicio, longitud);
+        return lista;
+    }
+
+    void agregar(int inicio, int longitud) {
+        if (longitud <= 0) {
+            return;
+        }
+        numBloques += longitud;
+        if (numExtensiones > 0 && inicios[numExtensiones - 1] + longitudes[numExtensiones - 1] == inicio) {
+            longitudes[numExtensiones - 1] += longitud;
+            return;
+        }
+        if (numExtensiones == inicios.length) {
+            inicios = Arrays.copyOf(inicios, numExtensiones * 2);
+            longitudes = Arrays.copyOf(longitudes, numExtensiones * 2);
+        }
+        inicios[numExtensiones] = inicio;
+        longitudes[numExtensiones] = longitud;
+        numExtensiones++;
+    }
+
+    int numExtensiones() {
+        return numExtensiones;
+    }
+
+    int numBloques() {
+        return numBloques;
+    }
+
+    int inicio(int k) {
+        return inicios[k];
+    }
+
+    int longitud(int k) {
+        return longitudes[k];
+    }
+
+    // Bloques uno por uno (solo para mostrar o informar)
+    List<Integer> aLista() {
+        List<Integer> bloques = new ArrayList<>(numBloques);
+        for (int k = 0; k < numExtensiones; k++) {
+            for (int b = inicios[k]; b < inicios[k] + longitudes[k]; b++) {
+                bloques.add(b);
+            }
+        }
+        return bloques;
+    }
+}
@@ -0,0 +1,62 @@
+package com.informeSO.disco;
+
+// Fragmentación, espacio de metadatos y amplificación de lectura de los archivos activos.
+//   - Amplificación secuencial: bloques leídos (datos + FAT/índices) por bloque de datos al leer
+//     cada archivo completo de principio a fin.
+//   - Amplificación aleatoria: bloques leídos por cada acceso directo a un bloque lógico cualquiera
+//     (en FAT hay que recorrer la cadena hasta él; en un inodo, leer sus niveles de índice).
+public class MetricasAsignacion {
+    private final int numArchivos;
+    private final long bloquesDatos;
+    private final long bloquesMetadatos;
+    private final long extensiones;
+    private final int archivosFragmentados;
+    private final int bloquesLibres;
+    private final int mayorExtensionLibre;
+    private final long lecturasSecuenciales;
+    private final long lecturasAleatorias;
+
+    MetricasAsignacion(int numArchivos, long bloquesDatos, long bloquesMetadatos, long extensiones, int archivosFragmentados,
+                       int bloquesLibres, int mayorExtensionLibre, long lecturasSecuenciales, long lecturasAleatorias) {
+        this.numArchivos = numArchivos;
+        this.bloquesDatos = bloquesDatos;
+        this.bloquesMetadatos = bloquesMetadatos;
+        this.extensiones = extensiones;
+        this.archivosFragmentados = archivosFragmentados;
+        this.bloquesLibres = bloquesLibres;
+        this.mayorExtensionLibre = mayorExtensionLibre;
+        this.lecturasSecuenciales = lecturasSecuenciales;
+        this.lecturasAleatorias = lecturasAleatorias;
+    }
+
+    public int obtenerNumArchivos() { return numArchivos; }
+    public long obtenerBloquesDatos() { return bloquesDatos; }
+    // Bloques índice de los inodos más los que ocupa la FAT (si se usa)
+    public long obtenerBloquesMetadatos() { return bloquesMetadatos; }
+    public int obtenerArchivosFragmentados() { return archivosFragmentados; }
+
+    public double obtenerExtensionesPorArchivo() {
+        return numArchivos == 0 ? 0 : (double) extensiones / numArchivos;
+    }
+
+    // 0 si todo el espacio libre es una sola extensión; cerca de 1 si está muy repartido
+    public double obtenerFragmentacionLibre() {
+        return bloquesLibres == 0 ? 0 : 1.0 - (double) mayorExtensionLibre / bloquesLibres;
+    }
+
+    public double obtenerAmplificacionSecuencial() {
+        return bloquesDatos == 0 ? 1 : (double) (bloquesDatos + lecturasSecuenciales) / bloquesDatos;
+    }
+
+    public double obtenerAmplificacionAleatoria() {
+        return bloquesDatos == 0 ? 1 : (double) (bloquesDatos + lecturasAleatorias) / bloquesDatos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Archivos: %d (fragmentados: %d, %.2f extensiones/archivo) | datos: %d bloques, metadatos: %d | "
+                        + "fragmentación libre: %.2f | amplificación de lectura: secuencial x%.3f, aleatoria x%.2f",
+                numArchivos, archivosFragmentados, obtenerExtensionesPorArchivo(), bloquesDatos, bloquesMetadatos,
+                obtenerFragmentacionLibre(), obtenerAmplificacionSecuencial(), obtenerAmplificacionAleatoria());
+    }
+}
@@ -0,0 +1,54 @@
+package com.informeSO.disco;
+
+// Contadores de una CacheBloques: aciertos, expulsiones, bloques devueltos al dispositivo
+// (write-back) y efectividad de la lectura anticipada.
+public class MetricasCache {
+    private final long aciertos;
+    private final long fallos;
+    private final long expulsiones;
+    private final long expulsionesSucias;
+    private final long volcados;
+    private final long anticipados;
+    private final long anticipadosUsados;
+    private final long lecturasDispositivo;
+    private final long escriturasDispositivo;
+
+    MetricasCache(long aciertos, long fallos, long expulsiones, long expulsionesSucias, long volcados,
+                  long anticipados, long anticipadosUsados, long lecturasDispositivo, long escriturasDispositivo) {
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.expulsiones = expulsiones;
+        this.expulsionesSucias = expulsionesSucias;
+        this.volcados = volcados;
+        this.anticipados = anticipados;
+        this.anticipadosUsados = anticipadosUsados;
+        this.lecturasDispositivo = lecturasDispositivo;
+        this.escriturasDispositivo = escriturasDispositivo;
+    }
+
+    // Accesos (lecturas y escrituras) atendidos con un bloque que ya estaba en la cache
+    public long obtenerAciertos() { return aciertos; }
+    public long obtenerFallos() { return fallos; }
+    public long obtenerExpulsiones() { return expulsiones; }
+    // Expulsiones que tuvieron que escribir el bloque antes de soltarlo
+    public long obtenerExpulsionesSucias() { return expulsionesSucias; }
+    // Bloques sucios escritos en el dispositivo (por expulsión o por sincronizar)
+    public long obtenerVolcados() { return volcados; }
+    public long obtenerAnticipados() { return anticipados; }
+    public long obtenerAnticipadosUsados() { return anticipadosUsados; }
+    public long obtenerLecturasDispositivo() { return lecturasDispositivo; }
+    public long obtenerEscriturasDispositivo() { return escriturasDispositivo; }
+
+    public double obtenerTasaAciertos() {
+        long accesos = aciertos + fallos;
+        return accesos == 0 ? 0 : (double) aciertos / accesos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("aciertos: %.1f %% (%,d/%,d) | expulsiones: %,d (sucias: %,d) | volcados: %,d | "
+                        + "lectura anticipada: %,d (usados: %,d) | E/S al dispositivo: %,d lecturas, %,d escrituras",
+                obtenerTasaAciertos() * 100, aciertos, aciertos + fallos, expulsiones, expulsionesSucias, volcados,
+                anticipados, anticipadosUsados, lecturasDispositivo, escriturasDispositivo);
+    }
+}
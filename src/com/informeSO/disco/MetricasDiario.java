@@ -0,0 +1,43 @@
+package com.informeSO.disco;
+
+// Contadores de un DiarioMetadatos: operaciones registradas, confirmaciones (cada una es un
+// fsync del diario), puntos de control y lo que costó la última reproducción.
+public class MetricasDiario {
+    private final long operaciones;
+    private final long confirmaciones;
+    private final long puntosControl;
+    private final long bytesEscritos;
+    private final long registrosReproducidos;
+    private final long nanosReproduccion;
+
+    MetricasDiario(long operaciones, long confirmaciones, long puntosControl, long bytesEscritos,
+                   long registrosReproducidos, long nanosReproduccion) {
+        this.operaciones = operaciones;
+        this.confirmaciones = confirmaciones;
+        this.puntosControl = puntosControl;
+        this.bytesEscritos = bytesEscritos;
+        this.registrosReproducidos = registrosReproducidos;
+        this.nanosReproduccion = nanosReproduccion;
+    }
+
+    public long obtenerOperaciones() { return operaciones; }
+    public long obtenerConfirmaciones() { return confirmaciones; }
+    public long obtenerPuntosControl() { return puntosControl; }
+    // Bytes escritos en el diario y en los puntos de control
+    public long obtenerBytesEscritos() { return bytesEscritos; }
+    // Registros aplicados al abrir (los del punto de control y los del diario posteriores a él)
+    public long obtenerRegistrosReproducidos() { return registrosReproducidos; }
+    public double obtenerMilisReproduccion() { return nanosReproduccion / 1e6; }
+
+    public double obtenerOperacionesPorConfirmacion() {
+        return confirmaciones == 0 ? 0 : (double) operaciones / confirmaciones;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("operaciones: %,d | confirmaciones (fsync): %,d (%.1f op/fsync) | puntos de control: %,d | "
+                        + "escrito: %,d KB | reproducidos al abrir: %,d registros en %.1f ms",
+                operaciones, confirmaciones, obtenerOperacionesPorConfirmacion(), puntosControl, bytesEscritos / 1024,
+                registrosReproducidos, obtenerMilisReproduccion());
+    }
+}
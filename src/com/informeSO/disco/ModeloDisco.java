@@ -0,0 +1,65 @@
+package com.informeSO.disco;
+
+// Modelo de costo de un disco magnético para el PlanificadorES.
+// Geometría: 'sectoresPorPista' bloques por pista y 'cabezas' pistas por cilindro; los bloques
+// se numeran cilindro a cilindro, así que cilindro = bloque / (sectoresPorPista * cabezas).
+// Costo de atender un bloque = búsqueda + espera rotacional + transferencia de un sector:
+//   - búsqueda(d) = asentamiento + factorRaiz * sqrt(d) + factorLineal * d, con d en cilindros (0 si d = 0).
+//     La raíz domina en saltos cortos (aceleración del brazo) y el término lineal en los largos.
+//     Una escritura tras una búsqueda espera además 'extraEscritura' (la cabeza debe asentarse mejor).
+//   - espera rotacional: hasta que el sector del bloque pasa bajo la cabeza; la posición angular
+//     depende del reloj, así que atender bloques consecutivos no espera una vuelta completa.
+public class ModeloDisco {
+    // 7200 rpm con una geometría pequeña (64 sectores x 2 cabezas), a escala de los discos del
+    // simulador: 262144 bloques son 2048 cilindros y la búsqueda completa cuesta ~14 ms
+    public static final ModeloDisco HDD_7200 = new ModeloDisco(7200, 64, 2, 1.0, 0.2, 0.002, 0.5);
+
+    private final double msPorRotacion;
+    private final int sectoresPorPista;
+    private final int bloquesPorCilindro;
+    private final double asentamientoMs;
+    private final double factorRaizMs;
+    private final double factorLinealMs;
+    private final double extraEscrituraMs;
+
+    public ModeloDisco(int rpm, int sectoresPorPista, int cabezas, double asentamientoMs, double factorRaizMs,
+                       double factorLinealMs, double extraEscrituraMs) {
+        if (rpm <= 0 || sectoresPorPista <= 0 || cabezas <= 0) {
+            throw new IllegalArgumentException("rpm, sectores por pista y cabezas deben ser positivos");
+        }
+        this.msPorRotacion = 60_000.0 / rpm;
+        this.sectoresPorPista = sectoresPorPista;
+        this.bloquesPorCilindro = sectoresPorPista * cabezas;
+        this.asentamientoMs = asentamientoMs;
+        this.factorRaizMs = factorRaizMs;
+        this.factorLinealMs = factorLinealMs;
+        this.extraEscrituraMs = extraEscrituraMs;
+    }
+
+    public int cilindro(int bloque) {
+        return bloque / bloquesPorCilindro;
+    }
+
+    public double tiempoBusqueda(int distanciaCilindros, boolean escritura) {
+        return distanciaCilindros == 0 ? 0
+                : asentamientoMs + (escritura ? extraEscrituraMs : 0)
+                  + factorRaizMs * Math.sqrt(distanciaCilindros) + factorLinealMs * distanciaCilindros;
+    }
+
+    // Espera hasta que el inicio del sector del bloque llega a la cabeza, en el instante 'relojMs'
+    public double esperaRotacional(int bloque, double relojMs) {
+        double posicion = (relojMs % msPorRotacion) / msPorRotacion * sectoresPorPista; // Sector bajo la cabeza
+        double faltan = (bloque % sectoresPorPista) - posicion;
+        if (faltan < -1e-6) {
+            faltan += sectoresPorPista;
+        } else if (faltan < 0) {
+            faltan = 0; // Redondeo: el sector empieza justo ahora (p. ej. el siguiente de una lectura secuencial)
+        }
+        return faltan / sectoresPorPista * msPorRotacion;
+    }
+
+    // Tiempo en que pasa un sector completo bajo la cabeza
+    public double tiempoTransferencia() {
+        return msPorRotacion / sectoresPorPista;
+    }
+}
@@ -0,0 +1,8 @@
+package com.informeSO.disco;
+
+// Cómo guarda el sistema de archivos la ubicación de los bloques de un archivo
+public enum ModoAsignacion {
+    CONTIGUA,  // Una sola extensión: basta con inicio y longitud (falla si no hay un hueco suficiente)
+    ENLAZADA,  // Estilo FAT: cada bloque apunta al siguiente en la tabla de asignación
+    INDEXADA   // Estilo inodo: punteros directos y bloques índice indirectos (simple, doble y triple)
+}
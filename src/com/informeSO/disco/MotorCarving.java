@@ -0,0 +1,295 @@
+package com.informeSO.disco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+// Motor de tallado (file carving) sobre un DispositivoBloques.
+//
+// Todas las cabeceras y pies de todas las firmas se buscan a la vez con un autómata de
+// Aho-Corasick, en una sola pasada sobre los bytes del dispositivo. La pasada se divide en
+// tramos de bloques que se escanean en paralelo con fork-join; cada tramo sigue leyendo
+// (longitud del patrón más largo - 1) bytes del tramo siguiente para no perder firmas que
+// cruzan el borde, y solo se queda con las que empiezan dentro de su tramo.
+// Las coincidencias se entregan al oyente en cuanto aparecen. Después, cada cabecera se une
+// con el primer pie de su tipo que la sigue para reconstruir los archivos candidatos.
+public class MotorCarving {
+    // Bytes mínimos por tarea hoja
+    private static final int BYTES_POR_TAREA = 1 << 20;
+
+    // Aparición de una cabecera o un pie en el dispositivo
+    public static class Coincidencia {
+        private final FirmaArchivo firma;
+        private final boolean esCabecera;
+        private final long desplazamiento;
+        private final int bloque;
+
+        Coincidencia(FirmaArchivo firma, boolean esCabecera, long desplazamiento, int bloque) {
+            this.firma = firma;
+            this.esCabecera = esCabecera;
+            this.desplazamiento = desplazamiento;
+            this.bloque = bloque;
+        }
+
+        public FirmaArchivo obtenerFirma() { return firma; }
+        public boolean esCabecera() { return esCabecera; }
+        // Posición del primer byte de la firma en el dispositivo
+        public long obtenerDesplazamiento() { return desplazamiento; }
+        public int obtenerBloque() { return bloque; }
+
+        @Override
+        public String toString() {
+            return (esCabecera ? "Cabecera " : "Pie ") + firma.obtenerTipo() + " en byte " + desplazamiento + " (bloque " + bloque + ")";
+        }
+    }
+
+    // Archivo candidato reconstruido: bytes [inicio, fin) del dispositivo
+    public static class ArchivoTallado {
+        private final String tipo;
+        private final long inicio;
+        private final long fin;
+        private final int primerBloque;
+        private final int numBloques;
+        private final boolean completo;
+
+        ArchivoTallado(String tipo, long inicio, long fin, int tamanoBloque, boolean completo) {
+            this.tipo = tipo;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.primerBloque = (int) (inicio / tamanoBloque);
+            this.numBloques = (int) ((fin - 1) / tamanoBloque) - primerBloque + 1;
+            this.completo = completo;
+        }
+
+        public String obtenerTipo() { return tipo; }
+        public long obtenerInicio() { return inicio; }
+        public long obtenerFin() { return fin; }
+        public long obtenerTamano() { return fin - inicio; }
+        public int obtenerPrimerBloque() { return primerBloque; }
+        public int obtenerNumBloques() { return numBloques; }
+        // true si termina en el pie de su firma; false si se cortó en la siguiente cabecera o en el máximo
+        public boolean estaCompleto() { return completo; }
+
+        @Override
+        public String toString() {
+            return "Tallado[" + tipo + ", bloques " + primerBloque + ".." + (primerBloque + numBloques - 1) +
+                   ", " + (fin - inicio) + " bytes" + (completo ? "" : ", incompleto") + "]";
+        }
+    }
+
+    private final DispositivoBloques dispositivo;
+    private final ForkJoinPool pool;
+    private final List<FirmaArchivo> firmas;
+    private final AutomataFirmas automata;
+    // Patrón p del autómata: firma a la que pertenece y si es su cabecera o su pie
+    private final FirmaArchivo[] firmaDePatron;
+    private final boolean[] patronEsCabecera;
+    private final int[] longitudPatron;
+    private final int bloquesPorTarea;
+    // Receptor de resultados; por defecto no hace nada
+    private OyenteCarving oyente = OyenteCarving.SILENCIOSO;
+
+    public MotorCarving(DispositivoBloques dispositivo, List<FirmaArchivo> firmas) {
+        this(dispositivo, firmas, ForkJoinPool.commonPool());
+    }
+
+    public MotorCarving(DispositivoBloques dispositivo, List<FirmaArchivo> firmas, ForkJoinPool pool) {
+        this.dispositivo = dispositivo;
+        this.pool = pool;
+        this.firmas = List.copyOf(firmas);
+        List<byte[]> patrones = new ArrayList<>();
+        List<FirmaArchivo> duenos = new ArrayList<>();
+        List<Boolean> cabeceras = new ArrayList<>();
+        for (FirmaArchivo firma : this.firmas) {
+            patrones.add(firma.obtenerCabecera());
+            duenos.add(firma);
+            cabeceras.add(true);
+            if (firma.tienePie()) {
+                patrones.add(firma.obtenerPie());
+                duenos.add(firma);
+                cabeceras.add(false);
+            }
+        }
+        this.automata = new AutomataFirmas(patrones.toArray(new byte[0][]));
+        this.firmaDePatron = duenos.toArray(new FirmaArchivo[0]);
+        this.patronEsCabecera = new boolean[patrones.size()];
+        this.longitudPatron = new int[patrones.size()];
+        for (int p = 0; p < patrones.size(); p++) {
+            patronEsCabecera[p] = cabeceras.get(p);
+            longitudPatron[p] = patrones.get(p).length;
+        }
+        this.bloquesPorTarea = Math.max(1, BYTES_POR_TAREA / dispositivo.obtenerTamanoBloque());
+    }
+
+    // Cambia el receptor de resultados (null vuelve al modo silencioso)
+    public void establecerOyente(OyenteCarving oyente) {
+        this.oyente = oyente != null ? oyente : OyenteCarving.SILENCIOSO;
+    }
+
+    /**
+     * Busca todas las firmas en una sola pasada paralela sobre el dispositivo.
+     * @return Las coincidencias ordenadas por desplazamiento.
+     */
+    public List<Coincidencia> escanear() {
+        long inicio = System.nanoTime();
+        ConcurrentLinkedQueue<Coincidencia> encontradas = new ConcurrentLinkedQueue<>();
+        LongAdder bytesLeidos = new LongAdder();
+        pool.invoke(new Tramo(0, dispositivo.obtenerNumBloques(), encontradas, bytesLeidos));
+        List<Coincidencia> coincidencias = new ArrayList<>(encontradas);
+        coincidencias.sort((a, b) -> Long.compare(a.desplazamiento, b.desplazamiento));
+        oyente.escaneoTerminado(bytesLeidos.sum(), System.nanoTime() - inicio);
+        return coincidencias;
+    }
+
+    /**
+     * Escanea el dispositivo y reconstruye los archivos candidatos: cada cabecera llega hasta el
+     * primer pie de su tipo que la sigue (si cabe en maxBloques). Si no hay pie, el archivo se
+     * corta en la siguiente cabecera de cualquier tipo o en maxBloques y queda como incompleto.
+     * @return Los archivos candidatos ordenados por posición.
+     */
+    public List<ArchivoTallado> tallar() {
+        List<Coincidencia> coincidencias = escanear();
+        int tamanoBloque = dispositivo.obtenerTamanoBloque();
+        long tamanoDisco = (long) dispositivo.obtenerNumBloques() * tamanoBloque;
+
+        // Posiciones de todas las cabeceras y de los pies de cada firma (ya ordenadas)
+        long[] todasCabeceras = new long[coincidencias.size()];
+        int numCabeceras = 0;
+        long[][] pies = new long[firmas.size()][];
+        int[] numPies = new int[firmas.size()];
+        for (int f = 0; f < firmas.size(); f++) {
+            pies[f] = new long[4];
+        }
+        for (Coincidencia c : coincidencias) {
+            if (c.esCabecera) {
+                todasCabeceras[numCabeceras++] = c.desplazamiento;
+            } else {
+                int f = firmas.indexOf(c.firma);
+                if (numPies[f] == pies[f].length) {
+                    pies[f] = Arrays.copyOf(pies[f], numPies[f] * 2);
+                }
+                pies[f][numPies[f]++] = c.desplazamiento;
+            }
+        }
+
+        List<ArchivoTallado> archivos = new ArrayList<>();
+        for (Coincidencia c : coincidencias) {
+            if (!c.esCabecera) {
+                continue;
+            }
+            FirmaArchivo firma = c.firma;
+            long limite = Math.min(tamanoDisco, c.desplazamiento + (long) firma.obtenerMaxBloques() * tamanoBloque);
+            long fin = -1;
+            if (firma.tienePie()) {
+                int f = firmas.indexOf(firma);
+                int k = primeroNoMenor(pies[f], numPies[f], c.desplazamiento + firma.obtenerCabecera().length);
+                if (k < numPies[f] && pies[f][k] + firma.obtenerPie().length <= limite) {
+                    fin = pies[f][k] + firma.obtenerPie().length;
+                }
+            }
+            boolean completo = fin >= 0;
+            if (!completo) {
+                int k = primeroNoMenor(todasCabeceras, numCabeceras, c.desplazamiento + 1);
+                fin = k < numCabeceras ? Math.min(limite, todasCabeceras[k]) : limite;
+            }
+            ArchivoTallado archivo = new ArchivoTallado(firma.obtenerTipo(), c.desplazamiento, fin, tamanoBloque, completo);
+            archivos.add(archivo);
+            oyente.archivoTallado(archivo);
+        }
+        return archivos;
+    }
+
+    // Copia los bytes de un archivo tallado desde el dispositivo
+    public byte[] extraer(ArchivoTallado archivo) {
+        if (archivo.obtenerTamano() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Archivo tallado demasiado grande para un arreglo: " + archivo);
+        }
+        int tamanoBloque = dispositivo.obtenerTamanoBloque();
+        byte[] datos = new byte[(int) archivo.obtenerTamano()];
+        byte[] buffer = new byte[tamanoBloque];
+        int escritos = 0;
+        for (int b = archivo.primerBloque; b < archivo.primerBloque + archivo.numBloques; b++) {
+            dispositivo.leer(b, buffer);
+            long inicioBloque = (long) b * tamanoBloque;
+            int desde = (int) Math.max(0, archivo.inicio - inicioBloque);
+            int hasta = (int) Math.min(tamanoBloque, archivo.fin - inicioBloque);
+            System.arraycopy(buffer, desde, datos, escritos, hasta - desde);
+            escritos += hasta - desde;
+        }
+        return datos;
+    }
+
+    // Primera posición de valores[0, n) con valor >= clave
+    private static int primeroNoMenor(long[] valores, int n, long clave) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int medio = (lo + hi) >>> 1;
+            if (valores[medio] < clave) {
+                lo = medio + 1;
+            } else {
+                hi = medio;
+            }
+        }
+        return lo;
+    }
+
+    // Escaneo de los bloques [desde, hasta)
+    @SuppressWarnings("serial") // Las tareas fork-join nunca se serializan
+    private class Tramo extends RecursiveAction {
+        private final int desde;
+        private final int hasta;
+        private final ConcurrentLinkedQueue<Coincidencia> encontradas;
+        private final LongAdder bytesLeidos;
+
+        Tramo(int desde, int hasta, ConcurrentLinkedQueue<Coincidencia> encontradas, LongAdder bytesLeidos) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.encontradas = encontradas;
+            this.bytesLeidos = bytesLeidos;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > bloquesPorTarea) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new Tramo(desde, medio, encontradas, bytesLeidos),
+                          new Tramo(medio, hasta, encontradas, bytesLeidos));
+                return;
+            }
+            int tamanoBloque = dispositivo.obtenerTamanoBloque();
+            long limite = (long) hasta * tamanoBloque; // Solo firmas que empiezan antes de aquí
+            byte[] buffer = new byte[tamanoBloque];
+            AutomataFirmas.Receptor receptor = (patron, fin) -> {
+                long inicio = fin - longitudPatron[patron] + 1;
+                if (inicio < limite) {
+                    Coincidencia c = new Coincidencia(firmaDePatron[patron], patronEsCabecera[patron],
+                            inicio, (int) (inicio / tamanoBloque));
+                    encontradas.add(c);
+                    oyente.firmaEncontrada(c);
+                }
+            };
+            int estado = 0;
+            long leidos = 0;
+            for (int b = desde; b < hasta; b++) {
+                dispositivo.leer(b, buffer);
+                estado = automata.procesar(estado, buffer, tamanoBloque, (long) b * tamanoBloque, receptor);
+                leidos += tamanoBloque;
+            }
+            // Solapamiento con el tramo siguiente para las firmas que cruzan el borde
+            int restante = automata.longitudMaxima() - 1;
+            for (int b = hasta; restante > 0 && b < dispositivo.obtenerNumBloques(); b++) {
+                dispositivo.leer(b, buffer);
+                int longitud = Math.min(restante, tamanoBloque);
+                estado = automata.procesar(estado, buffer, longitud, (long) b * tamanoBloque, receptor);
+                leidos += longitud;
+                restante -= longitud;
+            }
+            bytesLeidos.add(leidos);
+        }
+    }
+}
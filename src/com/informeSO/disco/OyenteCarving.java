@@ -0,0 +1,13 @@
+package com.informeSO.disco;
+
+// Resultados del MotorCarving a medida que aparecen.
+// firmaEncontrada se llama desde los hilos del escaneo (en paralelo y sin orden): las
+// implementaciones deben ser seguras para hilos. archivoTallado se llama en orden de bloque.
+public interface OyenteCarving {
+    // Oyente por defecto: no hace nada
+    OyenteCarving SILENCIOSO = new OyenteCarving() { };
+
+    default void firmaEncontrada(MotorCarving.Coincidencia coincidencia) { }
+    default void archivoTallado(MotorCarving.ArchivoTallado archivo) { }
+    default void escaneoTerminado(long bytesLeidos, long nanos) { }
+}
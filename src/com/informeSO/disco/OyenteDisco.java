@@ -0,0 +1,33 @@
+package com.informeSO.disco;
+
+import java.util.List;
+
+// Eventos del simulador de disco.
+// Implementaciones vacías por defecto: con el oyente SILENCIOSO las operaciones no imprimen
+// ni construyen cadenas de diagnóstico.
+public interface OyenteDisco {
+    // Oyente por defecto: no hace nada
+    OyenteDisco SILENCIOSO = new OyenteDisco() { };
+
+    default void discoInicializado(int totalBloques) { }
+
+    default void tamanoInvalido() { }
+    default void archivoDuplicado(String nombre) { }
+    default void sinEspacio(String nombre) { }
+    default void archivoCreado(String nombre, List<Integer> bloques) { }
+
+    default void archivoEliminado(String nombre) { }
+    default void archivoNoEliminable(String nombre) { }
+
+    default void archivoRecuperado(String nombre) { }
+    default void archivoSobrescrito(String nombre) { }
+    default void archivoNoRecuperable(String nombre) { }
+    default void bloquesDanados(String nombre, List<Integer> bloques) { }
+    default void archivoRecuperadoParcialmente(String nombre, int bloquesRecuperados, int bloquesDanados) { }
+
+    default void bloqueSobrescrito(int idBloque, String nuevoContenido) { }
+    default void bloqueInvalido(int idBloque) { }
+
+    default void escaneoFirmas(String firma, List<Integer> bloquesEncontrados) { }
+    default void archivoTallado(String tipo, int primerBloque, int numBloques, boolean completo) { }
+}
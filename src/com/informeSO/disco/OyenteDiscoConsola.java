@@ -0,0 +1,94 @@
+package com.informeSO.disco;
+
+import java.util.List;
+
+// Oyente que reproduce por consola la traza del simulador de disco
+public class OyenteDiscoConsola implements OyenteDisco {
+    @Override
+    public void discoInicializado(int totalBloques) {
+        System.out.println("Simulador de disco inicializado con " + totalBloques + " bloques.");
+    }
+
+    @Override
+    public void tamanoInvalido() {
+        System.out.println("Error: El tamaño del archivo debe ser mayor a 0.");
+    }
+
+    @Override
+    public void archivoDuplicado(String nombre) {
+        System.out.println("Error: Ya existe un archivo con el nombre '" + nombre + "'.");
+    }
+
+    @Override
+    public void sinEspacio(String nombre) {
+        System.out.println("No hay suficiente espacio libre en el disco para crear '" + nombre + "'.");
+    }
+
+    @Override
+    public void archivoCreado(String nombre, List<Integer> bloques) {
+        System.out.println("Archivo '" + nombre + "' creado exitosamente. Ocupa bloques: " + bloques);
+    }
+
+    @Override
+    public void archivoEliminado(String nombre) {
+        System.out.println("Archivo '" + nombre + "' marcado como borrado lógicamente. Sus bloques están ahora marcados como LIBRE_LOGICO.");
+    }
+
+    @Override
+    public void archivoNoEliminable(String nombre) {
+        System.out.println("Archivo '" + nombre + "' no encontrado o ya está borrado lógicamente.");
+    }
+
+    @Override
+    public void archivoRecuperado(String nombre) {
+        System.out.println("Archivo '" + nombre + "' recuperado exitosamente.");
+    }
+
+    @Override
+    public void archivoSobrescrito(String nombre) {
+        System.out.println("Error: El archivo '" + nombre + "' no se puede recuperar, sus bloques han sido sobrescritos.");
+    }
+
+    @Override
+    public void archivoNoRecuperable(String nombre) {
+        System.out.println("Archivo '" + nombre + "' no encontrado o no está en estado de borrado lógico.");
+    }
+
+    @Override
+    public void bloquesDanados(String nombre, List<Integer> bloques) {
+        System.out.println("Bloques dañados de '" + nombre + "' (sobrescritos o reasignados): " + bloques);
+    }
+
+    @Override
+    public void archivoRecuperadoParcialmente(String nombre, int bloquesRecuperados, int bloquesDanados) {
+        System.out.println("Archivo '" + nombre + "' recuperado parcialmente: " + bloquesRecuperados +
+                " bloques intactos, " + bloquesDanados + " perdidos.");
+    }
+
+    @Override
+    public void bloqueSobrescrito(int idBloque, String nuevoContenido) {
+        System.out.println("Bloque " + idBloque + " sobrescrito con nuevo contenido: " + nuevoContenido);
+    }
+
+    @Override
+    public void bloqueInvalido(int idBloque) {
+        System.out.println("Error: ID de bloque inválido.");
+    }
+
+    @Override
+    public void escaneoFirmas(String firma, List<Integer> bloquesEncontrados) {
+        System.out.println("\n--- Escaneo de firmas para '" + firma + "' ---");
+        if (bloquesEncontrados.isEmpty()) {
+            System.out.println("No se encontraron bloques con la firma '" + firma + "'.");
+        } else {
+            System.out.println("Firma '" + firma + "' encontrada en bloques: " + bloquesEncontrados);
+        }
+        System.out.println("----------------------------------------\n");
+    }
+
+    @Override
+    public void archivoTallado(String tipo, int primerBloque, int numBloques, boolean completo) {
+        System.out.println("Archivo " + tipo + " tallado en bloques " + primerBloque + ".." + (primerBloque + numBloques - 1) +
+                (completo ? "" : " (sin pie, puede estar incompleto)"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.informeSO.disco;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Planificador de E/S de disco: reproduce una TrazaES como una cola de solicitudes y la atiende
+// con una PoliticaPlanificacion sobre un ModeloDisco, en tiempo simulado.
+// La solicitud i llega en i * intervaloLlegadaMs: con intervalo 0 todas están en la cola desde
+// el principio (el planificador puede reordenar todo); con intervalos mayores la cola es más corta.
+// Las pendientes se guardan por bloque en un TreeMap, así que elegir la siguiente cuesta O(log n)
+// en todas las políticas (las del mismo bloque se atienden en orden de llegada).
+// Como en la capa de bloques de un sistema operativo, una solicitud se fusiona con la última
+// pendiente del mismo bloque si esta es una escritura (la nueva lectura sale de sus datos y la
+// nueva escritura la reemplaza) o si ambas son lecturas; un mismo acceso al disco atiende al grupo.
+public class PlanificadorES {
+    private final ModeloDisco modelo;
+    private final double intervaloLlegadaMs;
+
+    public PlanificadorES(ModeloDisco modelo, double intervaloLlegadaMs) {
+        this.modelo = modelo;
+        this.intervaloLlegadaMs = intervaloLlegadaMs;
+    }
+
+    /**
+     * Simula la traza con una política. La cabeza empieza en el bloque 0 subiendo.
+     * @param traza Accesos a bloques en orden de llegada.
+     * @param politica Orden en que se atiende la cola.
+     * @return Latencias, throughput y recorrido del brazo.
+     */
+    public EstadisticasPlanificacion simular(TrazaES traza, PoliticaPlanificacion politica) {
+        return new Simulacion(traza, politica).ejecutar();
+    }
+
+    // Simula la misma traza con todas las políticas
+    public List<EstadisticasPlanificacion> compararPoliticas(TrazaES traza) {
+        List<EstadisticasPlanificacion> resultados = new ArrayList<>();
+        for (PoliticaPlanificacion politica : PoliticaPlanificacion.values()) {
+            resultados.add(simular(traza, politica));
+        }
+        return resultados;
+    }
+
+    /**
+     * Tiempo de disco de la traza si cada solicitud se pide cuando termina la anterior (cola de
+     * profundidad 1: sin reordenar ni fusionar), como hace el simulador, que es síncrono.
+     * No depende de la política ni del intervalo de llegada.
+     */
+    public double tiempoSecuencialMs(TrazaES traza) {
+        int[] bloques = traza.copiarBloques();
+        BitSet escrituras = traza.copiarEscrituras();
+        double reloj = 0;
+        int cabeza = 0;
+        for (int i = 0; i < bloques.length; i++) {
+            reloj += modelo.tiempoBusqueda(Math.abs(modelo.cilindro(bloques[i]) - modelo.cilindro(cabeza)), escrituras.get(i));
+            reloj += modelo.esperaRotacional(bloques[i], reloj) + modelo.tiempoTransferencia();
+            cabeza = bloques[i];
+        }
+        return reloj;
+    }
+
+    // Estado de una simulación (el planificador se puede reutilizar y compartir)
+    private final class Simulacion {
+        private final PoliticaPlanificacion politica;
+        private final int[] bloques;
+        private final BitSet escrituras;
+        private final int ultimoBloque;
+        private final ArrayDeque<Integer> fifo = new ArrayDeque<>(); // Solo FCFS
+        private final TreeMap<Integer, ArrayDeque<Integer>> porBloque = new TreeMap<>();
+        // Grupos de solicitudes fusionadas: lista enlazada que empieza en la solicitud de la cola
+        private final int[] siguienteEnGrupo;
+        private final int[] ultimoEnGrupo;
+        private final boolean[] grupoConEscritura;
+        private final Map<Integer, Integer> ultimoPendiente = new HashMap<>(); // Bloque -> grupo abierto más reciente
+        private int fusionadas;
+        private int numPendientes;
+        private double reloj;
+        private int cabeza;
+        private boolean subiendo = true;
+        private long cilindrosRecorridos;
+
+        Simulacion(TrazaES traza, PoliticaPlanificacion politica) {
+            this.politica = politica;
+            this.bloques = traza.copiarBloques();
+            this.escrituras = traza.copiarEscrituras();
+            this.ultimoBloque = traza.obtenerNumBloques() - 1;
+            this.siguienteEnGrupo = new int[bloques.length];
+            this.ultimoEnGrupo = new int[bloques.length];
+            this.grupoConEscritura = new boolean[bloques.length];
+            Arrays.fill(siguienteEnGrupo, -1);
+        }
+
+        EstadisticasPlanificacion ejecutar() {
+            int n = bloques.length;
+            double[] latencias = new double[n];
+            int siguiente = 0; // Próxima solicitud por llegar
+            int atendidas = 0;
+            while (atendidas < n) {
+                while (siguiente < n && siguiente * intervaloLlegadaMs <= reloj) {
+                    encolar(siguiente++);
+                }
+                if (numPendientes == 0) {
+                    reloj = siguiente * intervaloLlegadaMs; // Disco ocioso hasta la próxima llegada
+                    continue;
+                }
+                int grupo = elegir();
+                int bloque = bloques[grupo];
+                if (ultimoPendiente.get(bloque) == grupo) {
+                    ultimoPendiente.remove(bloque); // Las siguientes solicitudes a este bloque abren otro grupo
+                }
+                mover(bloque, grupoConEscritura[grupo]);
+                reloj += modelo.esperaRotacional(bloque, reloj) + modelo.tiempoTransferencia();
+                for (int solicitud = grupo; solicitud >= 0; solicitud = siguienteEnGrupo[solicitud]) {
+                    latencias[solicitud] = reloj - solicitud * intervaloLlegadaMs;
+                    atendidas++;
+                    numPendientes--;
+                }
+            }
+            return new EstadisticasPlanificacion(politica, latencias, reloj, cilindrosRecorridos, fusionadas);
+        }
+
+        private void encolar(int solicitud) {
+            numPendientes++;
+            int bloque = bloques[solicitud];
+            boolean escritura = escrituras.get(solicitud);
+            Integer abierto = ultimoPendiente.get(bloque);
+            if (abierto != null && (grupoConEscritura[abierto] || !escritura)) {
+                siguienteEnGrupo[ultimoEnGrupo[abierto]] = solicitud;
+                ultimoEnGrupo[abierto] = solicitud;
+                fusionadas++;
+                return;
+            }
+            ultimoPendiente.put(bloque, solicitud);
+            ultimoEnGrupo[solicitud] = solicitud;
+            grupoConEscritura[solicitud] = escritura;
+            if (politica == PoliticaPlanificacion.FCFS) {
+                fifo.addLast(solicitud);
+            } else {
+                porBloque.computeIfAbsent(bloque, b -> new ArrayDeque<>()).addLast(solicitud);
+            }
+        }
+
+        // Quita de la cola el siguiente grupo según la política (puede mover el brazo al extremo)
+        private int elegir() {
+            if (politica == PoliticaPlanificacion.FCFS) {
+                return fifo.pollFirst();
+            }
+            Map.Entry<Integer, ArrayDeque<Integer>> entrada;
+            switch (politica) {
+                case SSTF:
+                    Map.Entry<Integer, ArrayDeque<Integer>> abajo = porBloque.floorEntry(cabeza);
+                    Map.Entry<Integer, ArrayDeque<Integer>> arriba = porBloque.ceilingEntry(cabeza);
+                    entrada = abajo == null || (arriba != null && distancia(arriba.getKey()) <= distancia(abajo.getKey())) ? arriba : abajo;
+                    break;
+                case SCAN:
+                case LOOK:
+                    entrada = subiendo ? porBloque.ceilingEntry(cabeza) : porBloque.floorEntry(cabeza);
+                    if (entrada == null) {
+                        if (politica == PoliticaPlanificacion.SCAN) {
+                            mover(subiendo ? ultimoBloque : 0, false); // SCAN llega hasta el extremo antes de dar la vuelta
+                        }
+                        subiendo = !subiendo;
+                        entrada = subiendo ? porBloque.ceilingEntry(cabeza) : porBloque.floorEntry(cabeza);
+                    }
+                    break;
+                default: // C_SCAN y C_LOOK: solo se atiende subiendo
+                    entrada = porBloque.ceilingEntry(cabeza);
+                    if (entrada == null) {
+                        if (politica == PoliticaPlanificacion.C_SCAN) {
+                            mover(ultimoBloque, false);
+                            mover(0, false); // El regreso también recorre todo el disco
+                        }
+                        entrada = porBloque.firstEntry();
+                    }
+                    break;
+            }
+            ArrayDeque<Integer> cola = entrada.getValue();
+            int solicitud = cola.pollFirst();
+            if (cola.isEmpty()) {
+                porBloque.remove(entrada.getKey());
+            }
+            return solicitud;
+        }
+
+        private int distancia(int bloque) {
+            return Math.abs(modelo.cilindro(bloque) - modelo.cilindro(cabeza));
+        }
+
+        private void mover(int bloque, boolean escritura) {
+            int d = distancia(bloque);
+            reloj += modelo.tiempoBusqueda(d, escritura);
+            cilindrosRecorridos += d;
+            cabeza = bloque;
+        }
+    }
+}
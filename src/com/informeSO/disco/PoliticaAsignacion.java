@@ -0,0 +1,8 @@
+package com.informeSO.disco;
+
+// Cómo elige el gestor de espacio libre la extensión donde se ubica un archivo contiguo
+public enum PoliticaAsignacion {
+    PRIMER_AJUSTE,    // La extensión libre de menor dirección donde cabe (first-fit)
+    SIGUIENTE_AJUSTE, // Como el primer ajuste, pero continúa desde la última asignación (next-fit)
+    MEJOR_AJUSTE      // La extensión libre más pequeña donde cabe (best-fit)
+}
@@ -0,0 +1,8 @@
+package com.informeSO.disco;
+
+// Qué bloque expulsa la CacheBloques cuando está llena
+public enum PoliticaCache {
+    LRU, // El usado hace más tiempo
+    ARC  // Adaptive Replacement Cache: reparte la capacidad entre bloques vistos una vez y los
+         // reutilizados según los fallos fantasma de cada lado (resiste escaneos secuenciales)
+}
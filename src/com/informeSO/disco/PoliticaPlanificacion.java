@@ -0,0 +1,11 @@
+package com.informeSO.disco;
+
+// Orden en que el PlanificadorES atiende las solicitudes pendientes de la cola
+public enum PoliticaPlanificacion {
+    FCFS,   // En orden de llegada
+    SSTF,   // La más cercana a la cabeza (menor búsqueda primero); puede dejar esperando a las lejanas
+    SCAN,   // Barre en un sentido hasta el extremo del disco y luego vuelve (ascensor)
+    C_SCAN, // Barre hacia arriba hasta el extremo y regresa al cilindro 0 sin atender en la vuelta
+    LOOK,   // Como SCAN, pero da la vuelta en la última solicitud pendiente, no en el extremo
+    C_LOOK  // Como C-SCAN, pero salta directo a la solicitud pendiente más baja
+}
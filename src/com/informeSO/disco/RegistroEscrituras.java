@@ -0,0 +1,83 @@
+package com.informeSO.disco;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+// Registro de la última escritura de cada bloque: generación y CRC32C del bloque completo.
+// Cada operación de escritura (crear un archivo, sobrescribir un bloque) recibe una generación
+// nueva; un archivo guarda la generación con la que escribió sus bloques, así que un bloque
+// sigue intacto si su generación no cambió (O(1), sin leer el disco) y su contenido actual
+// tiene la misma suma que se registró al escribirlo (detecta cambios hechos por fuera del simulador).
+// Ocupa 13 bytes por bloque: generación, suma y si la última escritura fue de un archivo (un byte
+// y no un bit, para que hilos que escriben bloques vecinos no pisen la misma palabra).
+// Un bloque se escribe y se registra solo con el cerrojo de su grupo tomado (crear y sobrescribir
+// en SimuladorDisco), con todos los cerrojos (reproducción del diario) o antes de que otro hilo vea
+// el simulador (restauración de una instantánea): así la generación, la suma y los bytes del
+// dispositivo salen de la misma escritura.
+class RegistroEscrituras {
+    private final long[] generaciones;
+    private final int[] sumas;
+    private final boolean[] deArchivo;
+    private final byte[] ceros;
+    private final AtomicLong ultimaGeneracion = new AtomicLong();
+
+    RegistroEscrituras(int numBloques, int tamanoBloque) {
+        this.generaciones = new long[numBloques];
+        this.sumas = new int[numBloques];
+        this.deArchivo = new boolean[numBloques];
+        this.ceros = new byte[tamanoBloque];
+    }
+
+    // Generación para una operación de escritura nueva (la 0 es "nunca escrito por el simulador")
+    long nuevaGeneracion() {
+        return ultimaGeneracion.incrementAndGet();
+    }
+
+    // Registra que se escribieron 'longitud' bytes de 'datos' en el bloque (el resto quedó en ceros)
+    void registrar(int bloque, long generacion, byte[] datos, int longitud, boolean esArchivo) {
+        generaciones[bloque] = generacion;
+        sumas[bloque] = suma(datos, longitud);
+        deArchivo[bloque] = esArchivo;
+    }
+
+    // Reproducción del diario: vuelve a fijar lo que se registró al escribir el bloque
+    void restaurar(int bloque, long generacion, int suma, boolean esArchivo) {
+        generaciones[bloque] = generacion;
+        sumas[bloque] = suma;
+        deArchivo[bloque] = esArchivo;
+        ultimaGeneracion.accumulateAndGet(generacion, Math::max);
+    }
+
+    // Suma registrada en la última escritura (para guardarla en el diario)
+    int suma(int bloque) {
+        return sumas[bloque];
+    }
+
+    int numBloques() {
+        return generaciones.length;
+    }
+
+    long generacion(int bloque) {
+        return generaciones[bloque];
+    }
+
+    // true si la última escritura del bloque la hizo un archivo (creado o índice de un inodo)
+    boolean esDeArchivo(int bloque) {
+        return deArchivo[bloque];
+    }
+
+    // true si el contenido leído del bloque completo coincide con el que se registró
+    boolean contenidoIntacto(int bloque, byte[] bloqueLeido) {
+        return suma(bloqueLeido, bloqueLeido.length) == sumas[bloque];
+    }
+
+    // CRC32C del bloque completo: los bytes escritos seguidos de ceros hasta el tamaño de bloque
+    private int suma(byte[] datos, int longitud) {
+        CRC32C crc = new CRC32C(); // Uno por llamada: lo usan varios hilos
+        crc.update(datos, 0, longitud);
+        if (longitud < ceros.length) {
+            crc.update(ceros, 0, ceros.length - longitud);
+        }
+        return (int) crc.getValue();
+    }
+}
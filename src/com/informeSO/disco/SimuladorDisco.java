@@ -1,56 +1,137 @@
 package com.informeSO.disco;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors; //quitar
 
-// Clase que representa un archivo en la simulacion del disco
-class EntradaArchivo {
-    private String nombre;
-    private int tamanoEnBloques;
-    private List<Integer> bloquesAsignados; // Bloques que ocupa en el disco
-    private boolean estaBorrado; // true si está lógicamente borrado
-    private String firma; // Firma simple (ej. "JPG", "TXT")
-    private String contenidoOriginal; // Contenido original del archivo
-
-    public EntradaArchivo(String nombre, int tamanoEnBloques, List<Integer> bloquesAsignados, String firma, String contenido) {
-        this.nombre = nombre;
-        this.tamanoEnBloques = tamanoEnBloques;
-        this.bloquesAsignados = new ArrayList<>(bloquesAsignados); // Copia para evitar referencias
-        this.estaBorrado = false;
-        this.firma = firma;
-        this.contenidoOriginal = contenido;
-    }
-
-    // Getters y Setters
-    public String obtenerNombre() { return nombre; }
-    public int obtenerTamanoEnBloques() { return tamanoEnBloques; }
-    public List<Integer> obtenerBloquesAsignados() { return bloquesAsignados; }
-    public boolean estaBorrado() { return estaBorrado; }
-    public void establecerBorrado(boolean borrado) { estaBorrado = borrado; }
-    public String obtenerFirma() { return firma; }
-    public String obtenerContenidoOriginal() { return contenidoOriginal; }
-
-    @Override
-    public String toString() {
-        return "Archivo[Nombre='" + nombre + "', Tamaño=" + tamanoEnBloques + " bloques, Bloques=" + bloquesAsignados +
-               ", Borrado=" + estaBorrado + ", Firma='" + firma + "']";
-    }
-}
-
-// Clase que simula el disco y las operaciones de archivos
+// Clase que simula el disco y las operaciones de archivos.
+// Se puede usar desde varios hilos sin un cerrojo global:
+//   - crear, eliminar y recuperar toman el cerrojo del nombre en el IndiceArchivos, así que dos
+//     operaciones sobre el mismo nombre no se mezclan y sobre nombres distintos corren en paralelo;
+//   - el espacio libre está repartido en GruposBloques, cada uno con su cerrojo: asignar toma un
+//     grupo a la vez, y crear, eliminar, recuperar y sobrescribir toman los grupos de sus bloques (en
+//     orden creciente) mientras escriben, verifican y ocupan o liberan, para que nadie reasigne ni
+//     escriba un bloque a mitad;
+//   - lo que necesita una vista quieta de todo el disco (instantánea, punto de control del diario,
+//     volcados, métricas) toma todos los cerrojos de nombres y después todos los de grupos.
 public class SimuladorDisco {
+    public static final int TAMANO_BLOQUE_POR_DEFECTO = 512;
+
     private int totalBloques;
-    private String[] bloquesDisco; // Representa el contenido de cada bloque (ej. "LIBRE", "ARCHIVO_A_BLK1", "SOBRESCRITO")
-    private List<EntradaArchivo> entradasSistemaArchivos; // Simula la tabla de asignación de archivos/directorio
+    // Contenido de cada bloque como texto UTF-8 (ej. "ARCHIVO_A_BLK1 (...)", "SOBRESCRITO_CON_..."); un bloque de ceros es "LIBRE"
+    private DispositivoBloques dispositivo;
+    private int tamanoBloque;
+    private ThreadLocal<byte[]> bufferBloque; // Un búfer de bloque por hilo
+    private Collection<EntradaArchivo> entradasSistemaArchivos; // Simula la tabla de asignación de archivos/directorio
+    private IndiceArchivos indice; // Búsqueda por nombre en O(1): vivos y generaciones borradas
+    private OyenteDisco oyente; // Receptor de eventos; por defecto no imprime nada
+    private GruposBloques espacioLibre; // Mapas de bits y extensiones libres por grupo (incluye los bloques LIBRE_LOGICO)
+    private volatile PoliticaAsignacion politica = PoliticaAsignacion.PRIMER_AJUSTE;
+    private volatile ModoAsignacion modo = ModoAsignacion.CONTIGUA;
+    private volatile TablaFAT fat; // Se crea la primera vez que se usa la asignación enlazada
+    private RegistroEscrituras escrituras; // Generación y CRC32C de la última escritura de cada bloque
+    private volatile DiarioMetadatos diario; // Diario de metadatos (null: las operaciones solo cambian la memoria)
 
     public SimuladorDisco(int totalBloques) {
-        this.totalBloques = totalBloques;
-        this.bloquesDisco = new String[totalBloques];
-        Arrays.fill(bloquesDisco, "LIBRE"); // Todos los bloques inicializados como libres
-        this.entradasSistemaArchivos = new ArrayList<>();
-        System.out.println("Simulador de disco inicializado con " + totalBloques + " bloques.");
+        this(totalBloques, OyenteDisco.SILENCIOSO);
+    }
+
+    public SimuladorDisco(int totalBloques, OyenteDisco oyente) {
+        this(new DispositivoMemoria(totalBloques, TAMANO_BLOQUE_POR_DEFECTO), oyente);
+    }
+
+    /**
+     * Crea el simulador sobre un dispositivo de bloques (p. ej. una imagen de DispositivoArchivo).
+     * La tabla de archivos empieza vacía y todos los bloques se consideran libres; si el dispositivo
+     * ya tenía datos, siguen ahí y se pueden encontrar con escanearPorFirmas.
+     * @param dispositivo Dispositivo donde se guardan los bloques (lo sigue cerrando quien lo creó).
+     * @param oyente Receptor de eventos (null para el modo silencioso).
+     */
+    public SimuladorDisco(DispositivoBloques dispositivo, OyenteDisco oyente) {
+        this.oyente = oyente != null ? oyente : OyenteDisco.SILENCIOSO;
+        this.dispositivo = dispositivo;
+        this.totalBloques = dispositivo.obtenerNumBloques();
+        this.tamanoBloque = dispositivo.obtenerTamanoBloque();
+        this.bufferBloque = ThreadLocal.withInitial(() -> new byte[tamanoBloque]);
+        this.entradasSistemaArchivos = new ConcurrentLinkedQueue<>();
+        this.indice = new IndiceArchivos();
+        this.espacioLibre = new GruposBloques(totalBloques);
+        this.escrituras = new RegistroEscrituras(totalBloques, tamanoBloque);
+        this.oyente.discoInicializado(totalBloques);
+    }
+
+    // Lee el bloque como texto; un bloque de ceros es "LIBRE"
+    private String leerBloque(int idBloque) {
+        byte[] buffer = bufferBloque.get();
+        dispositivo.leer(idBloque, buffer);
+        int longitud = 0;
+        while (longitud < buffer.length && buffer[longitud] != 0) {
+            longitud++;
+        }
+        return longitud == 0 ? "LIBRE" : new String(buffer, 0, longitud, StandardCharsets.UTF_8);
+    }
+
+    // Escribe el texto en el bloque (se trunca si no cabe) y registra su generación y suma
+    private void escribirBloque(int idBloque, String contenido, long generacion, boolean esArchivo) {
+        byte[] bytes = contenido.getBytes(StandardCharsets.UTF_8);
+        int longitud = Math.min(bytes.length, tamanoBloque);
+        dispositivo.escribir(idBloque, bytes, longitud);
+        escrituras.registrar(idBloque, generacion, bytes, longitud, esArchivo);
+    }
+
+    /**
+     * Conecta un diario de metadatos: primero reproduce lo que ya tenía confirmado (el estado tras
+     * el último punto de control más las operaciones posteriores) y desde entonces registra en él
+     * cada creación, eliminación, recuperación y sobrescritura.
+     * @param diario Diario abierto con DiarioMetadatos.abrir.
+     * @throws IllegalStateException Si el simulador ya tiene archivos o ya tiene un diario.
+     */
+    public void establecerDiario(DiarioMetadatos diario) throws IOException {
+        bloquearTodo();
+        try {
+            if (this.diario != null || !entradasSistemaArchivos.isEmpty()) {
+                throw new IllegalStateException("El diario se conecta a un simulador sin archivos y sin otro diario");
+            }
+            diario.reproducir(this);
+            this.diario = diario;
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    // Cambia el receptor de eventos (null vuelve al modo silencioso)
+    public void establecerOyente(OyenteDisco oyente) {
+        this.oyente = oyente != null ? oyente : OyenteDisco.SILENCIOSO;
+    }
+
+    // Política con la que crearArchivo elige la extensión libre (por defecto, primer ajuste)
+    public void establecerPoliticaAsignacion(PoliticaAsignacion politica) {
+        this.politica = politica;
+    }
+
+    // Modo de asignación de los archivos que se creen a partir de ahora (por defecto, contigua)
+    public void establecerModoAsignacion(ModoAsignacion modo) {
+        this.modo = modo;
+    }
+
+    public int obtenerBloquesLibres() {
+        return espacioLibre.obtenerBloquesLibres();
     }
 
     /**
@@ -62,48 +143,122 @@ public class SimuladorDisco {
      * @return true si se creó, false si no hay espacio.
      */
     public boolean crearArchivo(String nombre, int tamanoEnBloques, String firma, String contenido) {
+        return conCerrojoDeNombre(nombre, () -> crear(nombre, tamanoEnBloques, firma, contenido));
+    }
+
+    private boolean crear(String nombre, int tamanoEnBloques, String firma, String contenido) {
         if (tamanoEnBloques <= 0) {
-            System.out.println("Error: El tamaño del archivo debe ser mayor a 0.");
+            oyente.tamanoInvalido();
             return false;
         }
-        // Verificar si el archivo ya existe (sin importar si está borrado lógicamente)
-        if (entradasSistemaArchivos.stream().anyMatch(f -> f.obtenerNombre().equals(nombre))) {
-            System.out.println("Error: Ya existe un archivo con el nombre '" + nombre + "'.");
+        // Verificar si ya existe un archivo activo con ese nombre (los borrados se conservan como generaciones anteriores)
+        if (indice.existeVivo(nombre)) {
+            oyente.archivoDuplicado(nombre);
             return false;
         }
 
-        List<Integer> bloquesLibres = new ArrayList<>();
-        for (int i = 0; i < totalBloques; i++) {
-            if (bloquesDisco[i].equals("LIBRE")) {
-                bloquesLibres.add(i);
-                if (bloquesLibres.size() == tamanoEnBloques) {
-                    break; // Encontró suficientes bloques contiguos (simplificación)
+        // El modo y la política se leen una sola vez: si otro hilo los cambia a mitad, la entrada
+        // igual registra el modo con el que se asignaron sus bloques
+        ModoAsignacion modoArchivo = modo;
+        PoliticaAsignacion politicaArchivo = politica;
+
+        // Los bloques LIBRE_LOGICO de archivos borrados también se reutilizan
+        ListaExtensiones extensiones = new ListaExtensiones();
+        ListaExtensiones bloquesIndice = new ListaExtensiones();
+        if (!asignarBloques(tamanoEnBloques, modoArchivo, politicaArchivo, extensiones, bloquesIndice)) {
+            oyente.sinEspacio(nombre);
+            return false;
+        }
+
+        // Escribir contenido simulado en los bloques, en orden lógico; todos con la misma generación.
+        // Los bloques ya son de este archivo, pero sobrescribirBloque puede apuntar a cualquiera: se
+        // escriben y se registran en el diario con los cerrojos de sus grupos, como una sobrescritura
+        int[] grupos = espacioLibre.gruposDe(extensiones, bloquesIndice);
+        espacioLibre.bloquear(grupos);
+        try {
+            long generacion = escrituras.nuevaGeneracion();
+            int i = 0;
+            for (int k = 0; k < extensiones.numExtensiones(); k++) {
+                for (int idBloque = extensiones.inicio(k); idBloque < extensiones.inicio(k) + extensiones.longitud(k); idBloque++, i++) {
+                    // Dividir el contenido simulado para cada bloque
+                    int inicioContenido = i * (contenido.length() / tamanoEnBloques);
+                    int finContenido = (i + 1) * (contenido.length() / tamanoEnBloques);
+                    String fragmentoContenido = contenido.substring(Math.min(inicioContenido, contenido.length()), Math.min(finContenido, contenido.length()));
+
+                    escribirBloque(idBloque, "ARCHIVO_" + nombre + "_BLK" + (i + 1) + " (" + fragmentoContenido + ")", generacion, true);
                 }
-            } else {
-                bloquesLibres.clear(); // Reiniciar si no son contiguos para este ejemplo
             }
+            escribirIndice(nombre, bloquesIndice, generacion);
+
+            EntradaArchivo nuevoArchivo = new EntradaArchivo(nombre, tamanoEnBloques, extensiones, bloquesIndice, modoArchivo, firma, contenido, generacion);
+            entradasSistemaArchivos.add(nuevoArchivo);
+            indice.agregar(nuevoArchivo);
+            if (diario != null) {
+                diario.registrarCreacion(nuevoArchivo);
+            }
+        } finally {
+            espacioLibre.desbloquear(grupos);
         }
+        oyente.archivoCreado(nombre, extensiones.aLista());
+        return true;
+    }
 
-        if (bloquesLibres.size() < tamanoEnBloques) {
-            System.out.println("No hay suficiente espacio libre en el disco para crear '" + nombre + "'.");
-            return false;
+    // Reserva los bloques de datos (y los índice del inodo) según el modo de asignación
+    private boolean asignarBloques(int tamanoEnBloques, ModoAsignacion modo, PoliticaAsignacion politica,
+                                   ListaExtensiones extensiones, ListaExtensiones bloquesIndice) {
+        switch (modo) {
+            case CONTIGUA:
+                // Bloques contiguos (simplificación): falla si no hay un hueco suficiente
+                int primerBloque = espacioLibre.asignar(tamanoEnBloques, politica);
+                if (primerBloque < 0) {
+                    return false;
+                }
+                extensiones.agregar(primerBloque, tamanoEnBloques);
+                return true;
+            case ENLAZADA:
+                if (!espacioLibre.asignarExtensiones(tamanoEnBloques, politica, extensiones)) {
+                    return false;
+                }
+                tablaFAT().enlazar(extensiones);
+                return true;
+            default:
+                int punteros = tamanoBloque / 4;
+                if (tamanoEnBloques > Inodo.capacidad(punteros)) {
+                    return false;
+                }
+                int numIndice = Inodo.bloquesIndice(tamanoEnBloques, punteros);
+                if ((long) tamanoEnBloques + numIndice > espacioLibre.obtenerBloquesLibres()
+                        || !espacioLibre.asignarExtensiones(tamanoEnBloques, politica, extensiones)) {
+                    return false;
+                }
+                if (numIndice > 0 && !espacioLibre.asignarExtensiones(numIndice, politica, bloquesIndice)) {
+                    espacioLibre.actualizar(extensiones, true); // Otro hilo ocupó los que faltaban
+                    return false;
+                }
+                return true;
         }
+    }
 
-        // Asignar bloques y escribir contenido simulado
-        for (int i = 0; i < tamanoEnBloques; i++) {
-            int idBloque = bloquesLibres.get(i);
-            // Dividir el contenido simulado para cada bloque
-            int inicioContenido = i * (contenido.length() / tamanoEnBloques);
-            int finContenido = (i + 1) * (contenido.length() / tamanoEnBloques);
-            String fragmentoContenido = contenido.substring(Math.min(inicioContenido, contenido.length()), Math.min(finContenido, contenido.length()));
-            
-            bloquesDisco[idBloque] = "ARCHIVO_" + nombre + "_BLK" + (i + 1) + " (" + fragmentoContenido + ")";
+    private TablaFAT tablaFAT() {
+        TablaFAT tabla = fat;
+        if (tabla == null) {
+            synchronized (this) {
+                if (fat == null) {
+                    fat = new TablaFAT(totalBloques, tamanoBloque);
+                }
+                tabla = fat;
+            }
         }
+        return tabla;
+    }
 
-        EntradaArchivo nuevoArchivo = new EntradaArchivo(nombre, tamanoEnBloques, bloquesLibres, firma, contenido);
-        entradasSistemaArchivos.add(nuevoArchivo);
-        System.out.println("Archivo '" + nombre + "' creado exitosamente. Ocupa bloques: " + bloquesLibres);
-        return true;
+    private void escribirIndice(String nombre, ListaExtensiones bloquesIndice, long generacion) {
+        int n = 0;
+        for (int k = 0; k < bloquesIndice.numExtensiones(); k++) {
+            for (int idBloque = bloquesIndice.inicio(k); idBloque < bloquesIndice.inicio(k) + bloquesIndice.longitud(k); idBloque++) {
+                escribirBloque(idBloque, "INDICE_" + nombre + "_" + (++n), generacion, true);
+            }
+        }
     }
 
     /**
@@ -113,69 +268,430 @@ public class SimuladorDisco {
      * @return true si se eliminó lógicamente, false si no se encontró o ya estaba borrado.
      */
     public boolean eliminarArchivo(String nombre) {
-        EntradaArchivo archivoAEliminar = entradasSistemaArchivos.stream()
-                .filter(f -> f.obtenerNombre().equals(nombre) && !f.estaBorrado())
-                .findFirst()
-                .orElse(null);
+        return conCerrojoDeNombre(nombre, () -> borrar(nombre));
+    }
+
+    private boolean borrar(String nombre) {
+        EntradaArchivo archivoAEliminar = indice.buscarVivo(nombre);
 
         if (archivoAEliminar != null) {
-            archivoAEliminar.establecerBorrado(true);
-            for (int idBloque : archivoAEliminar.obtenerBloquesAsignados()) {
-                // Marcar el bloque como lógicamente libre, pero el contenido aún puede estar allí.
-                // En una implementación real, aquí solo se actualiza la FAT/Inode, no el contenido del bloque.
-                bloquesDisco[idBloque] = "LIBRE_LOGICO"; // Indica que el espacio está disponible para nueva escritura
+            int[] grupos = espacioLibre.gruposDe(archivoAEliminar.obtenerExtensiones(), archivoAEliminar.obtenerBloquesIndice());
+            espacioLibre.bloquear(grupos);
+            try {
+                eliminar(archivoAEliminar);
+                // Se registra antes de soltar los grupos: en el diario va antes que quien reutilice los bloques
+                if (diario != null) {
+                    diario.registrarEliminacion(archivoAEliminar);
+                }
+            } finally {
+                espacioLibre.desbloquear(grupos);
             }
-            System.out.println("Archivo '" + nombre + "' marcado como borrado lógicamente. Sus bloques están ahora marcados como LIBRE_LOGICO.");
+            oyente.archivoEliminado(nombre);
             return true;
         } else {
-            System.out.println("Archivo '" + nombre + "' no encontrado o ya está borrado lógicamente.");
+            oyente.archivoNoEliminable(nombre);
             return false;
         }
     }
 
+    // Solo se actualizan la FAT/inodo y el mapa de bits: el contenido sigue en los bloques (LIBRE_LOGICO)
+    private void eliminar(EntradaArchivo archivo) {
+        archivo.establecerBorrado(true);
+        indice.marcarBorrado(archivo);
+        if (archivo.obtenerModo() == ModoAsignacion.ENLAZADA) {
+            tablaFAT().desenlazar(archivo.obtenerExtensiones());
+        }
+        actualizarTramos(archivo.obtenerExtensiones(), true);
+        actualizarTramos(archivo.obtenerBloquesIndice(), true);
+    }
+
     /**
      * Simula la recuperación de un archivo lógicamente borrado.
-     * Intenta encontrar una EntradaArchivo borrada y verifica si sus bloques no han sido sobrescritos.
+     * Revisa las generaciones borradas con ese nombre, de la más reciente a la más antigua,
+     * y recupera la primera cuyos bloques siguen intactos. Si ninguna lo está, reporta los
+     * bloques dañados de la más reciente (se puede intentar recuperarArchivoParcial).
      * @param nombre Nombre del archivo a recuperar.
      * @return true si se recuperó, false si no se pudo o no se encontró.
      */
     public boolean recuperarArchivo(String nombre) {
-        EntradaArchivo archivoARecuperar = entradasSistemaArchivos.stream()
-                .filter(f -> f.obtenerNombre().equals(nombre) && f.estaBorrado())
-                .findFirst()
-                .orElse(null);
-
-        if (archivoARecuperar != null) {
-            boolean estaSobrescrito = false;
-            for (int idBloque : archivoARecuperar.obtenerBloquesAsignados()) {
-                // Simulación de comprobación de sobrescritura: si el bloque ya no tiene el patrón original
-                // o si ha sido marcado como "SOBRESCRITO", se considera irrecuperable.
-                // En un escenario real, esto implicaría escanear el contenido del bloque para ver si coincide con la firma o partes del archivo.
-                if (!bloquesDisco[idBloque].startsWith("LIBRE_LOGICO") && !bloquesDisco[idBloque].contains(archivoARecuperar.obtenerContenidoOriginal().substring(0, Math.min(archivoARecuperar.obtenerContenidoOriginal().length(), 5)))) {
-                     // Heurística simple: si ya no es "LIBRE_LOGICO" y no contiene las primeras 5 letras del contenido original
-                    estaSobrescrito = true;
-                    break;
+        return conCerrojoDeNombre(nombre, () -> recuperar(nombre));
+    }
+
+    private boolean recuperar(String nombre) {
+        if (indice.existeVivo(nombre)) {
+            oyente.archivoDuplicado(nombre); // Otro archivo activo ya usa el nombre
+            return false;
+        }
+        if (indice.numGeneracionesBorradas(nombre) == 0) {
+            oyente.archivoNoRecuperable(nombre);
+            return false;
+        }
+
+        List<Integer> danadosMasReciente = null;
+        for (EntradaArchivo generacion : indice.generacionesBorradas(nombre)) {
+            List<Integer> danados = new ArrayList<>();
+            // Con los grupos tomados nadie asigna sus bloques entre la verificación y la reserva
+            int[] grupos = espacioLibre.gruposDe(generacion.obtenerExtensiones(), generacion.obtenerBloquesIndice());
+            espacioLibre.bloquear(grupos);
+            try {
+                agregarDanados(generacion.obtenerBloquesIndice(), generacion.obtenerGeneracion(), danados);
+                agregarDanados(generacion.obtenerExtensiones(), generacion.obtenerGeneracion(), danados);
+                if (danados.isEmpty()) {
+                    reactivar(generacion);
                 }
+            } finally {
+                espacioLibre.desbloquear(grupos);
             }
+            if (danados.isEmpty()) {
+                oyente.archivoRecuperado(nombre);
+                return true;
+            }
+            if (danadosMasReciente == null) {
+                danadosMasReciente = danados;
+            }
+        }
+        oyente.bloquesDanados(nombre, danadosMasReciente);
+        oyente.archivoSobrescrito(nombre);
+        return false;
+    }
+
+    /**
+     * Recupera la generación borrada más reciente que conserve algún bloque intacto, solo con
+     * esos bloques: los dañados se quitan del archivo, que queda más corto y con huecos en su
+     * contenido. En la asignación indexada, si se perdió un bloque índice solo se alcanzan
+     * los bloques directos del inodo.
+     * @param nombre Nombre del archivo a recuperar.
+     * @return Número de bloques de datos recuperados (0 si no se recuperó nada).
+     */
+    public int recuperarArchivoParcial(String nombre) {
+        return conCerrojoDeNombre(nombre, () -> recuperarParcial(nombre));
+    }
+
+    private int recuperarParcial(String nombre) {
+        if (indice.existeVivo(nombre)) {
+            oyente.archivoDuplicado(nombre);
+            return 0;
+        }
+        if (indice.numGeneracionesBorradas(nombre) == 0) {
+            oyente.archivoNoRecuperable(nombre);
+            return 0;
+        }
 
-            if (!estaSobrescrito) {
-                archivoARecuperar.establecerBorrado(false); // Marcar como no borrado
-                for (int idBloque : archivoARecuperar.obtenerBloquesAsignados()) {
-                    // Restaurar la apariencia del bloque como si estuviera en uso por el archivo
-                    bloquesDisco[idBloque] = "ARCHIVO_" + nombre + "_BLK" + (archivoARecuperar.obtenerBloquesAsignados().indexOf(idBloque) + 1) + " (RECUPERADO)";
+        List<Integer> danadosMasReciente = null;
+        for (EntradaArchivo generacion : indice.generacionesBorradas(nombre)) {
+            int[] grupos = espacioLibre.gruposDe(generacion.obtenerExtensiones(), generacion.obtenerBloquesIndice());
+            espacioLibre.bloquear(grupos);
+            try {
+                List<Integer> danados = new ArrayList<>();
+                agregarDanados(generacion.obtenerBloquesIndice(), generacion.obtenerGeneracion(), danados);
+                boolean indicePerdido = !danados.isEmpty();
+                int alcanzables = indicePerdido ? Inodo.DIRECTOS : Integer.MAX_VALUE;
+
+                ListaExtensiones extensiones = generacion.obtenerExtensiones();
+                ListaExtensiones intactos = new ListaExtensiones();
+                int i = 0;
+                for (int k = 0; k < extensiones.numExtensiones(); k++) {
+                    for (int idBloque = extensiones.inicio(k); idBloque < extensiones.inicio(k) + extensiones.longitud(k); idBloque++, i++) {
+                        if (!bloqueIntacto(idBloque, generacion.obtenerGeneracion())) {
+                            danados.add(idBloque);
+                        } else if (i < alcanzables) {
+                            intactos.agregar(idBloque, 1); // Los contiguos se unen en una extensión
+                        }
+                    }
                 }
-                System.out.println("Archivo '" + nombre + "' recuperado exitosamente.");
-                return true;
-            } else {
-                System.out.println("Error: El archivo '" + nombre + "' no se puede recuperar, sus bloques han sido sobrescritos.");
-                return false;
+                if (danados.isEmpty()) {
+                    reactivar(generacion);
+                    oyente.archivoRecuperado(nombre);
+                    return intactos.numBloques();
+                }
+                if (danadosMasReciente == null) {
+                    danadosMasReciente = danados;
+                }
+                if (intactos.numBloques() > 0) {
+                    generacion.recortar(intactos, indicePerdido ? new ListaExtensiones() : generacion.obtenerBloquesIndice());
+                    reactivar(generacion);
+                    oyente.bloquesDanados(nombre, danados);
+                    oyente.archivoRecuperadoParcialmente(nombre, intactos.numBloques(), danados.size());
+                    return intactos.numBloques();
+                }
+            } finally {
+                espacioLibre.desbloquear(grupos);
             }
-        } else {
-            System.out.println("Archivo '" + nombre + "' no encontrado o no está en estado de borrado lógico.");
+        }
+        oyente.bloquesDanados(nombre, danadosMasReciente);
+        oyente.archivoSobrescrito(nombre);
+        return 0;
+    }
+
+    // Vuelve a activar la entrada: ocupa sus bloques otra vez sin reescribirlos (su contenido está intacto)
+    private void reactivar(EntradaArchivo archivo) {
+        archivo.establecerBorrado(false); // Marcar como no borrado
+        indice.marcarRecuperado(archivo);
+        actualizarTramos(archivo.obtenerExtensiones(), false);
+        actualizarTramos(archivo.obtenerBloquesIndice(), false);
+        if (archivo.obtenerModo() == ModoAsignacion.ENLAZADA) {
+            tablaFAT().enlazar(archivo.obtenerExtensiones());
+        }
+        if (diario != null) {
+            diario.registrarRecuperacion(archivo);
+        }
+    }
+
+    // Agrega a 'danados' los bloques de las extensiones que ya no tienen lo que escribió esa generación
+    private void agregarDanados(ListaExtensiones tramos, long generacion, List<Integer> danados) {
+        for (int k = 0; k < tramos.numExtensiones(); k++) {
+            for (int idBloque = tramos.inicio(k); idBloque < tramos.inicio(k) + tramos.longitud(k); idBloque++) {
+                if (!bloqueIntacto(idBloque, generacion)) {
+                    danados.add(idBloque);
+                }
+            }
+        }
+    }
+
+    // Un bloque está intacto si nadie lo volvió a asignar ni escribir (misma generación) y su
+    // contenido conserva la suma registrada. Cuesta O(1) más la lectura de un bloque.
+    private boolean bloqueIntacto(int idBloque, long generacion) {
+        if (!espacioLibre.estaLibre(idBloque) || escrituras.generacion(idBloque) != generacion) {
             return false;
         }
+        byte[] buffer = bufferBloque.get();
+        dispositivo.leer(idBloque, buffer);
+        return escrituras.contenidoIntacto(idBloque, buffer);
+    }
+
+    // Archivos activos y generaciones borradas que siguen en la tabla
+    public int obtenerNumArchivos() {
+        return indice.numVivos();
+    }
+
+    public int obtenerNumArchivosBorrados() {
+        return indice.numBorrados();
+    }
+
+    /**
+     * Calcula la fragmentación y el costo de lectura de los archivos activos según el modo con
+     * el que se guardó cada uno. Recorre todos sus bloques: es una operación de diagnóstico.
+     */
+    public MetricasAsignacion obtenerMetricas() {
+        bloquearTodo();
+        try {
+            return calcularMetricas();
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    private MetricasAsignacion calcularMetricas() {
+        int punteros = tamanoBloque / 4;
+        int numArchivos = 0;
+        int fragmentados = 0;
+        long bloquesDatos = 0;
+        long bloquesMetadatos = fat != null ? fat.bloquesTabla() : 0;
+        long extensiones = 0;
+        long lecturasSecuenciales = 0;
+        long lecturasAleatorias = 0;
+        for (EntradaArchivo archivo : indice.vivos()) {
+            ListaExtensiones tramos = archivo.obtenerExtensiones();
+            numArchivos++;
+            bloquesDatos += tramos.numBloques();
+            extensiones += tramos.numExtensiones();
+            if (tramos.numExtensiones() > 1) {
+                fragmentados++;
+            }
+            switch (archivo.obtenerModo()) {
+                case ENLAZADA:
+                    long[] lecturas = fat.contarLecturas(tramos.inicio(0));
+                    lecturasSecuenciales += lecturas[0];
+                    lecturasAleatorias += lecturas[1];
+                    break;
+                case INDEXADA:
+                    bloquesMetadatos += archivo.obtenerBloquesIndice().numBloques();
+                    lecturasSecuenciales += archivo.obtenerBloquesIndice().numBloques();
+                    lecturasAleatorias += Inodo.sumaNiveles(tramos.numBloques(), punteros);
+                    break;
+                default:
+                    break; // Inicio y longitud están en la propia entrada
+            }
+        }
+        return new MetricasAsignacion(numArchivos, bloquesDatos, bloquesMetadatos, extensiones, fragmentados,
+                espacioLibre.obtenerBloquesLibres(), espacioLibre.obtenerMayorExtension(), lecturasSecuenciales, lecturasAleatorias);
+    }
+
+    // Reproducción del diario: aplican el resultado ya registrado de cada operación, sin volver a
+    // elegir bloques, sin escribir en el dispositivo y sin eventos.
+
+    // Las sumas de los bloques vienen del diario: un bloque que se escribió después de la última
+    // confirmación no debe parecer intacto. Con sumas null las generaciones se restauran aparte.
+    EntradaArchivo aplicarCreacion(String nombre, ModoAsignacion modo, String firma, String contenido, long generacion,
+                                   ListaExtensiones extensiones, ListaExtensiones bloquesIndice, int[] sumas) {
+        actualizarTramos(extensiones, false);
+        actualizarTramos(bloquesIndice, false);
+        if (modo == ModoAsignacion.ENLAZADA) {
+            tablaFAT().enlazar(extensiones);
+        }
+        if (sumas != null) {
+            int i = 0;
+            for (ListaExtensiones tramos : new ListaExtensiones[] { extensiones, bloquesIndice }) {
+                for (int k = 0; k < tramos.numExtensiones(); k++) {
+                    for (int idBloque = tramos.inicio(k); idBloque < tramos.inicio(k) + tramos.longitud(k); idBloque++) {
+                        escrituras.restaurar(idBloque, generacion, sumas[i++], true);
+                    }
+                }
+            }
+        }
+        EntradaArchivo archivo = new EntradaArchivo(nombre, extensiones.numBloques(), extensiones, bloquesIndice, modo, firma, contenido, generacion);
+        entradasSistemaArchivos.add(archivo);
+        indice.agregar(archivo);
+        return archivo;
+    }
+
+    void aplicarEliminacion(EntradaArchivo archivo) {
+        eliminar(archivo);
+    }
+
+    // La recuperación registra los bloques con que quedó el archivo (menos si fue parcial)
+    void aplicarRecuperacion(EntradaArchivo archivo, ListaExtensiones extensiones, ListaExtensiones bloquesIndice) {
+        archivo.recortar(extensiones, bloquesIndice);
+        reactivar(archivo);
+    }
+
+    void aplicarSobrescritura(int idBloque, long generacion, int suma) {
+        escrituras.restaurar(idBloque, generacion, suma, false);
+    }
+
+    Collection<EntradaArchivo> obtenerEntradas() {
+        return entradasSistemaArchivos;
+    }
+
+    // Orden en que hay que volver a crear las entradas para reconstruir la tabla (diario, instantánea):
+    // primero los borrados, de la generación más antigua a la más reciente de cada nombre (cada uno
+    // ocupa y libera sus bloques al aplicarse, así que pueden compartirlos), y después los vivos.
+    // Las generaciones borradas que ya no se pueden recuperar no se incluyen
+    List<EntradaArchivo> entradasEnOrdenDeReconstruccion() {
+        List<EntradaArchivo> orden = new ArrayList<>(entradasSistemaArchivos.size());
+        Set<String> nombresConBorrados = new LinkedHashSet<>();
+        for (EntradaArchivo archivo : entradasSistemaArchivos) {
+            if (archivo.estaBorrado()) {
+                nombresConBorrados.add(archivo.obtenerNombre());
+            }
+        }
+        for (String nombre : nombresConBorrados) {
+            int primero = orden.size();
+            for (EntradaArchivo generacion : indice.generacionesBorradas(nombre)) {
+                if (recuperable(generacion)) {
+                    orden.add(primero, generacion);
+                }
+            }
+        }
+        for (EntradaArchivo archivo : entradasSistemaArchivos) {
+            if (!archivo.estaBorrado()) {
+                orden.add(archivo);
+            }
+        }
+        return orden;
+    }
+
+    // Una generación borrada sigue siendo recuperable (entera o en parte) mientras algún bloque de datos
+    // esté libre y conserve su generación; uno reasignado o sobrescrito ya tiene otra, y las generaciones
+    // nunca se repiten, así que una vez perdidos todos no vuelve a serlo
+    private boolean recuperable(EntradaArchivo archivo) {
+        ListaExtensiones extensiones = archivo.obtenerExtensiones();
+        for (int k = 0; k < extensiones.numExtensiones(); k++) {
+            for (int idBloque = extensiones.inicio(k); idBloque < extensiones.inicio(k) + extensiones.longitud(k); idBloque++) {
+                if (escrituras.generacion(idBloque) == archivo.obtenerGeneracion() && espacioLibre.estaLibre(idBloque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Quita de la tabla y del índice las generaciones borradas que ya no se pueden recuperar, para que
+    // la tabla crezca con lo recuperable y no con todos los archivos creados alguna vez. La llama el
+    // punto de control del diario con todos los cerrojos tomados
+    int descartarIrrecuperables() {
+        int descartadas = 0;
+        for (Iterator<EntradaArchivo> it = entradasSistemaArchivos.iterator(); it.hasNext(); ) {
+            EntradaArchivo archivo = it.next();
+            if (archivo.estaBorrado() && !recuperable(archivo)) {
+                it.remove();
+                indice.descartarBorrado(archivo);
+                descartadas++;
+            }
+        }
+        return descartadas;
+    }
+
+    ModoAsignacion obtenerModoAsignacion() {
+        return modo;
+    }
+
+    PoliticaAsignacion obtenerPoliticaAsignacion() {
+        return politica;
+    }
+
+    boolean bloqueLibre(int idBloque) {
+        return espacioLibre.estaLibre(idBloque);
+    }
+
+    RegistroEscrituras obtenerRegistroEscrituras() {
+        return escrituras;
+    }
+
+    DispositivoBloques obtenerDispositivo() {
+        return dispositivo;
+    }
+
+    // Ejecuta una operación sobre un nombre con su cerrojo tomado. Al terminar, ya sin cerrojos, hace
+    // el punto de control del diario si le toca (necesita tomarlos todos)
+    private <T> T conCerrojoDeNombre(String nombre, Supplier<T> operacion) {
+        ReentrantLock cerrojo = indice.cerrojo(nombre);
+        T resultado;
+        cerrojo.lock();
+        try {
+            resultado = operacion.get();
+        } finally {
+            cerrojo.unlock();
+        }
+        terminarOperacion();
+        return resultado;
+    }
+
+    private void terminarOperacion() {
+        DiarioMetadatos d = diario;
+        if (d != null) {
+            try {
+                d.puntoDeControlSiToca();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
-    
+
+    // Deja el simulador quieto: todos los cerrojos de nombres y después todos los de grupos
+    void bloquearTodo() {
+        indice.bloquearTodos();
+        espacioLibre.bloquear(todosLosGrupos());
+    }
+
+    void desbloquearTodo() {
+        espacioLibre.desbloquear(todosLosGrupos());
+        indice.desbloquearTodos();
+    }
+
+    private int[] todosLosGrupos() {
+        int[] grupos = new int[espacioLibre.numGrupos()];
+        for (int g = 0; g < grupos.length; g++) {
+            grupos[g] = g;
+        }
+        return grupos;
+    }
+
+    // Libera u ocupa en el gestor cada extensión de la lista
+    private void actualizarTramos(ListaExtensiones tramos, boolean liberar) {
+        espacioLibre.actualizar(tramos, liberar);
+    }
+
     /**
      * Simula la sobrescritura de un bloque de disco.
      * Esto ocurre cuando un nuevo archivo se escribe en espacio "libre" (incluido el lógico).
@@ -184,19 +700,45 @@ public class SimuladorDisco {
      */
     public void sobrescribirBloque(int idBloque, String nuevoContenido) {
         if (idBloque >= 0 && idBloque < totalBloques) {
-            bloquesDisco[idBloque] = "SOBRESCRITO_CON_" + nuevoContenido;
-            System.out.println("Bloque " + idBloque + " sobrescrito con nuevo contenido: " + nuevoContenido);
+            int[] grupo = { espacioLibre.grupoDe(idBloque) }; // Excluye a quien esté verificando el bloque para recuperarlo
+            espacioLibre.bloquear(grupo);
+            try {
+                long generacion = escrituras.nuevaGeneracion();
+                escribirBloque(idBloque, "SOBRESCRITO_CON_" + nuevoContenido, generacion, false);
+                if (diario != null) {
+                    diario.registrarSobrescritura(idBloque, generacion);
+                }
+            } finally {
+                espacioLibre.desbloquear(grupo);
+            }
+            terminarOperacion();
+            oyente.bloqueSobrescrito(idBloque, nuevoContenido);
         } else {
-            System.out.println("Error: ID de bloque inválido.");
+            oyente.bloqueInvalido(idBloque);
         }
     }
 
     /**
      * Muestra una representación del disco (estado de los bloques) y las entradas del sistema de archivos.
+     * Los bloques se imprimen de a uno, sin armar la lista completa en memoria; para discos grandes
+     * conviene mostrar por rangos con mostrarEstadoDisco(primerBloque, numBloques).
      */
     public void mostrarEstadoDisco() {
+        bloquearTodo();
+        try {
+            imprimirEstadoDisco();
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    private void imprimirEstadoDisco() {
         System.out.println("\n--- Estado del Disco ---");
-        System.out.println("Bloques del Disco: " + Arrays.toString(bloquesDisco));
+        System.out.print("Bloques del Disco: [");
+        for (int i = 0; i < totalBloques; i++) {
+            System.out.print(i == 0 ? estadoBloque(i) : ", " + estadoBloque(i));
+        }
+        System.out.println("]");
         
         System.out.println("\n--- Entradas del Sistema de Archivos ---");
         if (entradasSistemaArchivos.isEmpty()) {
@@ -207,30 +749,178 @@ public class SimuladorDisco {
         System.out.println("----------------------------------------\n");
     }
 
+    /**
+     * Muestra una página del estado: los bloques del rango y las entradas que tienen bloques en él.
+     * @param primerBloque Primer bloque de la página.
+     * @param numBloques Bloques de la página (se recorta al final del disco).
+     */
+    public void mostrarEstadoDisco(int primerBloque, int numBloques) {
+        int fin = (int) Math.min(totalBloques, (long) primerBloque + numBloques);
+        comprobarRango(primerBloque, fin);
+        // Un solo bloquearTodo para los bloques y las entradas, así la página es coherente
+        bloquearTodo();
+        try {
+            System.out.println("\n--- Estado del Disco (bloques " + primerBloque + ".." + (fin - 1) + " de " + totalBloques + ") ---");
+            escribirTramosDeEstado(System.out, primerBloque, fin);
+            System.out.println("\n--- Entradas con bloques en el rango ---");
+            escribirEntradasEnRango(System.out, primerBloque, fin);
+            System.out.println("----------------------------------------\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // System.out no lanza IOException
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    /**
+     * Escribe el estado de los bloques [desde, hasta), una línea por bloque. Los bloques seguidos
+     * con el mismo estado LIBRE o LIBRE_LOGICO se escriben en una sola línea ("10-99: LIBRE (90 bloques)").
+     * Solo guarda en memoria el bloque actual, así que sirve para paginar un disco de cualquier tamaño.
+     * Las operaciones de otros hilos esperan mientras se escribe el rango.
+     * @param salida Destino del volcado (por ejemplo System.out o un Writer).
+     * @param desde Primer bloque (incluido).
+     * @param hasta Último bloque (excluido).
+     */
+    public void volcarBloques(Appendable salida, int desde, int hasta) throws IOException {
+        comprobarRango(desde, hasta);
+        bloquearTodo();
+        try {
+            escribirTramosDeEstado(salida, desde, hasta);
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    private void escribirTramosDeEstado(Appendable salida, int desde, int hasta) throws IOException {
+        int inicioTramo = desde;
+        String estadoTramo = null;
+        for (int i = desde; i <= hasta; i++) {
+            String estado = i < hasta ? estadoBloque(i) : null;
+            if (estadoTramo != null && (!estadoTramo.equals(estado) || !esLibre(estado))) {
+                salida.append(Integer.toString(inicioTramo));
+                if (i - inicioTramo > 1) {
+                    salida.append('-').append(Integer.toString(i - 1));
+                }
+                salida.append(": ").append(estadoTramo);
+                if (i - inicioTramo > 1) {
+                    salida.append(" (").append(Integer.toString(i - inicioTramo)).append(" bloques)");
+                }
+                salida.append('\n');
+                inicioTramo = i;
+            } else if (estadoTramo == null) {
+                inicioTramo = i;
+            }
+            estadoTramo = estado;
+        }
+    }
+
+    /**
+     * Escribe, una por línea, las entradas (vivas y borradas) con algún bloque de datos o índice en [desde, hasta).
+     * @param salida Destino del volcado.
+     * @param desde Primer bloque del rango (incluido).
+     * @param hasta Último bloque del rango (excluido).
+     */
+    public void volcarEntradas(Appendable salida, int desde, int hasta) throws IOException {
+        comprobarRango(desde, hasta);
+        bloquearTodo();
+        try {
+            escribirEntradasEnRango(salida, desde, hasta);
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    private void escribirEntradasEnRango(Appendable salida, int desde, int hasta) throws IOException {
+        for (EntradaArchivo archivo : entradasSistemaArchivos) {
+            if (tocaRango(archivo.obtenerExtensiones(), desde, hasta) || tocaRango(archivo.obtenerBloquesIndice(), desde, hasta)) {
+                salida.append(archivo.toString()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Guarda una instantánea binaria compacta del disco (bloques, generaciones y entradas) en el flujo,
+     * sin armarla en memoria. Los rangos libres ocupan unos pocos bytes. No cierra el flujo.
+     * Las generaciones borradas que ya no se pueden recuperar no se guardan.
+     * Las operaciones de otros hilos esperan hasta que termina.
+     */
+    public void guardarInstantanea(OutputStream salida) throws IOException {
+        bloquearTodo();
+        try {
+            InstantaneaDisco.guardar(this, salida);
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    /**
+     * Reconstruye un simulador desde una instantánea de guardarInstantanea.
+     * @param entrada Flujo con la instantánea (no se cierra).
+     * @param dispositivo Dispositivo vacío del mismo número y tamaño de bloques que el disco guardado.
+     * @param oyente Receptor de eventos (null para el modo silencioso).
+     * @throws IOException Si el flujo no es una instantánea válida o el dispositivo no coincide.
+     */
+    public static SimuladorDisco restaurarInstantanea(InputStream entrada, DispositivoBloques dispositivo, OyenteDisco oyente) throws IOException {
+        return InstantaneaDisco.restaurar(entrada, dispositivo, oyente);
+    }
+
+    // Libre en el mapa de bits pero con datos de un archivo borrado: espacio lógicamente libre
+    private String estadoBloque(int idBloque) {
+        return espacioLibre.estaLibre(idBloque) && escrituras.esDeArchivo(idBloque) ? "LIBRE_LOGICO" : leerBloque(idBloque);
+    }
+
+    private static boolean esLibre(String estado) {
+        return "LIBRE".equals(estado) || "LIBRE_LOGICO".equals(estado);
+    }
+
+    private static boolean tocaRango(ListaExtensiones tramos, int desde, int hasta) {
+        for (int k = 0; k < tramos.numExtensiones(); k++) {
+            if (tramos.inicio(k) < hasta && tramos.inicio(k) + tramos.longitud(k) > desde) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void comprobarRango(int desde, int hasta) {
+        if (desde < 0 || hasta > totalBloques || desde > hasta) {
+            throw new IndexOutOfBoundsException("Rango de bloques inválido: [" + desde + ", " + hasta + ") en un disco de " + totalBloques);
+        }
+    }
+
     /**
      * Simula el escaneo de firmas de archivos (file carving) en el disco.
-     * En esta simulación, solo busca bloques que contengan la firma en su contenido simulado.
+     * Busca la firma en los bytes de los bloques con el MotorCarving (una pasada paralela).
      * @param firma La firma a buscar (ej. "JPG", "PDF").
      */
     public void escanearPorFirmas(String firma) {
-        System.out.println("\n--- Escaneo de firmas para '" + firma + "' ---");
+        MotorCarving motor = new MotorCarving(dispositivo, List.of(FirmaArchivo.deTexto(firma, firma, null, 1)));
         List<Integer> bloquesEncontrados = new ArrayList<>();
-        for (int i = 0; i < totalBloques; i++) {
-            if (bloquesDisco[i].contains(firma)) { // Búsqueda simple de la firma en el contenido del bloque
-                bloquesEncontrados.add(i);
+        for (MotorCarving.Coincidencia c : motor.escanear()) {
+            int bloque = c.obtenerBloque();
+            if (bloquesEncontrados.isEmpty() || bloquesEncontrados.get(bloquesEncontrados.size() - 1) != bloque) {
+                bloquesEncontrados.add(bloque); // Coincidencias ordenadas: basta comparar con el último
             }
         }
-        if (bloquesEncontrados.isEmpty()) {
-            System.out.println("No se encontraron bloques con la firma '" + firma + "'.");
-        } else {
-            System.out.println("Firma '" + firma + "' encontrada en bloques: " + bloquesEncontrados);
-            // En un software real, aquí se intentarían reconstruir los archivos a partir de estos bloques.
+        oyente.escaneoFirmas(firma, bloquesEncontrados);
+    }
+
+    /**
+     * Busca varias firmas a la vez y reconstruye los archivos candidatos desde cada cabecera
+     * hasta su pie, sin usar la tabla de archivos (sirve para imágenes sin metadatos).
+     * @param firmas Firmas de cabecera/pie a buscar (ej. FirmaArchivo.COMUNES).
+     * @return Los archivos candidatos ordenados por posición.
+     */
+    public List<MotorCarving.ArchivoTallado> tallarArchivos(List<FirmaArchivo> firmas) {
+        List<MotorCarving.ArchivoTallado> archivos = new MotorCarving(dispositivo, firmas).tallar();
+        for (MotorCarving.ArchivoTallado archivo : archivos) {
+            oyente.archivoTallado(archivo.obtenerTipo(), archivo.obtenerPrimerBloque(), archivo.obtenerNumBloques(), archivo.estaCompleto());
         }
-        System.out.println("----------------------------------------\n");
+        return archivos;
     }
 
-    public static void main(String[] args) {
-    SimuladorDisco simulador = new SimuladorDisco(5); // Disco pequeño de 5 bloques
+    public static void main(String[] args) throws IOException {
+    SimuladorDisco simulador = new SimuladorDisco(5, new OyenteDiscoConsola()); // Disco pequeño de 5 bloques
 
     // Crear un archivo
     System.out.println("\n--- Creando archivo 'foto.jpg' ---");
@@ -257,5 +947,31 @@ public class SimuladorDisco {
     System.out.println("--- Intentando recuperar 'foto.jpg' (debería fallar) ---");
     simulador.recuperarArchivo("foto.jpg");
     simulador.mostrarEstadoDisco();
+
+    // Instantánea binaria: guardar el disco y reconstruirlo en otro dispositivo
+    System.out.println("--- Instantánea del disco ---");
+    ByteArrayOutputStream instantanea = new ByteArrayOutputStream();
+    simulador.guardarInstantanea(instantanea);
+    System.out.println("Instantánea de " + instantanea.size() + " bytes");
+    SimuladorDisco restaurado = restaurarInstantanea(new ByteArrayInputStream(instantanea.toByteArray()),
+            new DispositivoMemoria(5, TAMANO_BLOQUE_POR_DEFECTO), new OyenteDiscoConsola());
+    restaurado.mostrarEstadoDisco(0, 3);
+
+    // Disco respaldado por una imagen en archivo: los bloques siguen ahí al volver a abrirla
+    System.out.println("--- Imagen de disco en archivo (16384 bloques de 4 KB) ---");
+    Path imagen = Files.createTempFile("disco", ".img");
+    try {
+        try (DispositivoArchivo dispositivo = DispositivoArchivo.crear(imagen, 16384, 4096)) {
+            SimuladorDisco enArchivo = new SimuladorDisco(dispositivo, new OyenteDiscoConsola());
+            enArchivo.crearArchivo("informe.pdf", 3, "PDF", "%PDF-1.7 DOCUMENTO FINAL %%EOF");
+        }
+        try (DispositivoArchivo dispositivo = DispositivoArchivo.abrir(imagen)) {
+            SimuladorDisco reabierto = new SimuladorDisco(dispositivo, new OyenteDiscoConsola());
+            reabierto.escanearPorFirmas("informe.pdf");
+            reabierto.tallarArchivos(FirmaArchivo.COMUNES);
+        }
+    } finally {
+        Files.deleteIfExists(imagen);
+    }
     }
 }
\ No newline at end of file
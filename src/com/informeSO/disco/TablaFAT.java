@@ -0,0 +1,79 @@
+package com.informeSO.disco;
+
+import java.util.Arrays;
+
+// Tabla de asignación estilo FAT: fat[b] es el bloque que sigue a b en su archivo.
+// La tabla vive en el disco en bloques de (tamaño de bloque / 4) entradas, así que recorrer
+// una cadena cuesta una lectura extra cada vez que se pasa a otro bloque de la FAT.
+class TablaFAT {
+    static final int FIN_CADENA = -1;
+    static final int LIBRE = -2;
+
+    private final int[] fat;
+    private final int entradasPorBloque;
+
+    TablaFAT(int totalBloques, int tamanoBloque) {
+        this.fat = new int[totalBloques];
+        this.entradasPorBloque = Math.max(1, tamanoBloque / 4);
+        Arrays.fill(fat, LIBRE);
+    }
+
+    // Encadena los bloques de las extensiones en orden lógico
+    void enlazar(ListaExtensiones extensiones) {
+        int anterior = -1;
+        for (int k = 0; k < extensiones.numExtensiones(); k++) {
+            int inicio = extensiones.inicio(k);
+            int fin = inicio + extensiones.longitud(k);
+            for (int b = inicio; b < fin; b++) {
+                if (anterior >= 0) {
+                    fat[anterior] = b;
+                }
+                anterior = b;
+            }
+        }
+        if (anterior >= 0) {
+            fat[anterior] = FIN_CADENA;
+        }
+    }
+
+    // Al borrar, las entradas vuelven a LIBRE (como en FAT real: la cadena se pierde)
+    void desenlazar(ListaExtensiones extensiones) {
+        for (int k = 0; k < extensiones.numExtensiones(); k++) {
+            int inicio = extensiones.inicio(k);
+            Arrays.fill(fat, inicio, inicio + extensiones.longitud(k), LIBRE);
+        }
+    }
+
+    int siguiente(int bloque) {
+        return fat[bloque];
+    }
+
+    // Bloques que ocupa la propia tabla en el disco
+    int bloquesTabla() {
+        return (fat.length + entradasPorBloque - 1) / entradasPorBloque;
+    }
+
+    /**
+     * Recorre la cadena desde el primer bloque contando las lecturas de bloques de la FAT,
+     * con una caché de un solo bloque de FAT.
+     * @return {lecturas para leer el archivo entero, suma de lecturas para llegar a cada bloque
+     *          lógico si se accede a él directamente (sin caché previa)}
+     */
+    long[] contarLecturas(int primerBloque) {
+        long secuencial = 0;
+        long aleatoria = 0;
+        long cambiosHastaAqui = 0;
+        int bloqueFatActual = -1;
+        for (int b = primerBloque; b != FIN_CADENA; b = fat[b]) {
+            // Para llegar al bloque lógico i hay que leer las entradas de los bloques anteriores
+            aleatoria += cambiosHastaAqui;
+            int bloqueFat = b / entradasPorBloque;
+            if (bloqueFat != bloqueFatActual) {
+                secuencial++;
+                cambiosHastaAqui++;
+                bloqueFatActual = bloqueFat;
+            }
+        }
+        return new long[] { secuencial, aleatoria };
+    }
+}
@@ -0,0 +1,62 @@
+package com.informeSO.disco;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Secuencia de accesos a bloques (lecturas y escrituras) en el orden en que se pidieron.
+// La llena DispositivoTrazado; el PlanificadorES la usa como carga de trabajo.
+// Las lecturas del escaneo de carving llegan desde varios hilos: el registro se sincroniza.
+public class TrazaES {
+    private final int numBloques;
+    private int[] bloques = new int[1024];
+    private final BitSet escrituras = new BitSet();
+    private int numSolicitudes;
+    private volatile boolean activa = true;
+
+    public TrazaES(int numBloques) {
+        this.numBloques = numBloques;
+    }
+
+    synchronized void registrar(int bloque, boolean escritura) {
+        if (!activa) {
+            return;
+        }
+        if (numSolicitudes == bloques.length) {
+            bloques = Arrays.copyOf(bloques, numSolicitudes * 2);
+        }
+        bloques[numSolicitudes] = bloque;
+        escrituras.set(numSolicitudes, escritura);
+        numSolicitudes++;
+    }
+
+    // Pausa o reanuda el registro (p. ej. para no contar mostrarEstadoDisco)
+    public void establecerActiva(boolean activa) {
+        this.activa = activa;
+    }
+
+    public synchronized void limpiar() {
+        numSolicitudes = 0;
+        escrituras.clear();
+    }
+
+    // Tamaño del dispositivo trazado: los barridos SCAN y C-SCAN llegan hasta su último bloque
+    public int obtenerNumBloques() {
+        return numBloques;
+    }
+
+    public synchronized int obtenerNumSolicitudes() {
+        return numSolicitudes;
+    }
+
+    public synchronized int obtenerNumEscrituras() {
+        return escrituras.cardinality();
+    }
+
+    synchronized BitSet copiarEscrituras() {
+        return (BitSet) escrituras.clone();
+    }
+
+    synchronized int[] copiarBloques() {
+        return Arrays.copyOf(bloques, numSolicitudes);
+    }
+}
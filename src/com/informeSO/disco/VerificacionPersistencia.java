@@ -0,0 +1,239 @@
+package com.informeSO.disco;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Comprueba que el estado del SimuladorDisco sobrevive a las rutas de persistencia, en cada modo de
+// asignación y sobre una imagen de disco en archivo:
+//   - caída: operaciones confirmadas y otras que quedan en el grupo sin confirmar; al reabrir el diario
+//     debe quedar exactamente el estado confirmado;
+//   - final cortado: bytes sueltos al final del diario, que la reproducción descarta;
+//   - punto de control: el estado sale del punto más el final del diario;
+//   - instantánea: guardar y restaurar sobre un dispositivo vacío, incluidos los datos de los bloques;
+//   - recuperación parcial: un archivo borrado con un bloque sobrescrito vuelve sin ese bloque.
+// En cada paso se comparan los archivos vivos, los borrados, los bloques libres, las entradas y la
+// generación y suma de cada bloque. Si algo no coincide se lanza IllegalStateException.
+public class VerificacionPersistencia {
+    private static final int TOTAL_BLOQUES = 4_096;
+    private static final int OPERACIONES_POR_GRUPO = 16;
+    private static final int REGISTROS_POR_PUNTO = 500;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("--- Verificación de diario, puntos de control e instantáneas (" + TOTAL_BLOQUES + " bloques) ---");
+        for (ModoAsignacion modo : ModoAsignacion.values()) {
+            Path directorio = Files.createTempDirectory("persistencia");
+            try {
+                verificar(modo, directorio);
+            } finally {
+                borrar(directorio);
+            }
+            System.out.println(modo + ": ok");
+        }
+    }
+
+    private static void verificar(ModoAsignacion modo, Path directorio) throws IOException {
+        Path imagen = directorio.resolve("disco.img");
+        Path rutaDiario = directorio.resolve("diario");
+        Random rnd = new Random(42 + modo.ordinal());
+        String confirmado;
+
+        // Caída: lo que quedó en el grupo sin confirmar se pierde, lo confirmado no
+        try (DispositivoArchivo dispositivo = DispositivoArchivo.crear(imagen, TOTAL_BLOQUES, SimuladorDisco.TAMANO_BLOQUE_POR_DEFECTO)) {
+            SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+            disco.establecerModoAsignacion(modo);
+            DiarioMetadatos diario = DiarioMetadatos.abrir(rutaDiario, OPERACIONES_POR_GRUPO, REGISTROS_POR_PUNTO);
+            disco.establecerDiario(diario);
+            carga(disco, rnd, 3_000);
+            comprobarParcial(disco);
+            diario.confirmar();
+            confirmado = resumen(disco);
+            carga(disco, rnd, OPERACIONES_POR_GRUPO - 1); // Menos de un grupo: nada llega al archivo
+            // Sin diario.close(): se simula la caída del proceso
+        }
+        try (DispositivoArchivo dispositivo = DispositivoArchivo.abrir(imagen);
+             DiarioMetadatos diario = DiarioMetadatos.abrir(rutaDiario, OPERACIONES_POR_GRUPO, REGISTROS_POR_PUNTO)) {
+            SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+            disco.establecerDiario(diario);
+            comparar("reabrir tras la caída", confirmado, resumen(disco));
+            carga(disco, rnd, 1_000);
+            confirmado = resumen(disco); // close() confirma lo pendiente
+        }
+
+        // Final cortado: un registro a medio escribir al final del diario
+        Files.write(rutaDiario.resolve("diario.log"), new byte[] { 0x7F, 0x00, 0x13 }, StandardOpenOption.APPEND);
+        try (DispositivoArchivo dispositivo = DispositivoArchivo.abrir(imagen);
+             DiarioMetadatos diario = DiarioMetadatos.abrir(rutaDiario, OPERACIONES_POR_GRUPO, REGISTROS_POR_PUNTO)) {
+            SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+            disco.establecerDiario(diario);
+            comparar("reabrir con el final cortado", confirmado, resumen(disco));
+
+            // Punto de control explícito seguido de más operaciones en el diario
+            diario.puntoDeControl();
+            carga(disco, rnd, 200);
+            confirmado = resumen(disco);
+        }
+        try (DispositivoArchivo dispositivo = DispositivoArchivo.abrir(imagen);
+             DiarioMetadatos diario = DiarioMetadatos.abrir(rutaDiario, OPERACIONES_POR_GRUPO, REGISTROS_POR_PUNTO)) {
+            SimuladorDisco disco = new SimuladorDisco(dispositivo, OyenteDisco.SILENCIOSO);
+            disco.establecerDiario(diario);
+            comparar("reabrir desde el punto de control", confirmado, resumen(disco));
+            comprobarOcupacion(disco);
+
+            // Instantánea: mismos metadatos y mismos bytes en cada bloque. Como el punto de control, solo
+            // guarda las generaciones borradas recuperables, así que antes se poda la tabla con uno
+            diario.puntoDeControl();
+            confirmado = resumen(disco);
+            ByteArrayOutputStream instantanea = new ByteArrayOutputStream();
+            disco.guardarInstantanea(instantanea);
+            DispositivoMemoria destino = new DispositivoMemoria(TOTAL_BLOQUES, SimuladorDisco.TAMANO_BLOQUE_POR_DEFECTO);
+            SimuladorDisco restaurado = SimuladorDisco.restaurarInstantanea(
+                    new ByteArrayInputStream(instantanea.toByteArray()), destino, OyenteDisco.SILENCIOSO);
+            comparar("restaurar la instantánea", confirmado, resumen(restaurado));
+            compararBloques(dispositivo, destino);
+        }
+    }
+
+    // Crea, borra, recupera (entera o en parte) y sobrescribe sobre un conjunto chico de nombres
+    private static void carga(SimuladorDisco disco, Random rnd, int operaciones) {
+        for (int op = 0; op < operaciones; op++) {
+            String nombre = "f" + rnd.nextInt(64);
+            int tipo = rnd.nextInt(100);
+            if (tipo < 40) {
+                disco.crearArchivo(nombre, 1 + rnd.nextInt(24), "DAT", "CONTENIDO_" + nombre + "_" + op);
+            } else if (tipo < 65) {
+                disco.eliminarArchivo(nombre);
+            } else if (tipo < 85) {
+                disco.recuperarArchivo(nombre);
+            } else if (tipo < 90) {
+                disco.recuperarArchivoParcial(nombre);
+            } else {
+                disco.sobrescribirBloque(rnd.nextInt(TOTAL_BLOQUES), "DATOS_" + op);
+            }
+        }
+    }
+
+    // Un archivo de 8 bloques borrado y con uno sobrescrito se recupera con los otros 7
+    private static void comprobarParcial(SimuladorDisco disco) {
+        String nombre = "parcial.dat";
+        if (!disco.crearArchivo(nombre, 8, "DAT", "CONTENIDO_PARCIAL")) {
+            throw new IllegalStateException("No hay espacio para el archivo de la recuperación parcial");
+        }
+        List<Integer> bloques = buscarVivo(disco, nombre).obtenerBloquesAsignados();
+        disco.eliminarArchivo(nombre);
+        disco.sobrescribirBloque(bloques.get(3), "DANO");
+        if (disco.recuperarArchivo(nombre)) {
+            throw new IllegalStateException("Se recuperó entero un archivo con un bloque sobrescrito");
+        }
+        int recuperados = disco.recuperarArchivoParcial(nombre);
+        EntradaArchivo archivo = buscarVivo(disco, nombre);
+        if (recuperados != 7 || archivo == null || archivo.obtenerBloquesAsignados().contains(bloques.get(3))) {
+            throw new IllegalStateException("La recuperación parcial devolvió " + recuperados + " bloques: " + archivo);
+        }
+    }
+
+    private static EntradaArchivo buscarVivo(SimuladorDisco disco, String nombre) {
+        for (EntradaArchivo archivo : disco.obtenerEntradas()) {
+            if (!archivo.estaBorrado() && archivo.obtenerNombre().equals(nombre)) {
+                return archivo;
+            }
+        }
+        return null;
+    }
+
+    // Cada bloque de un archivo vivo (datos o índice) tiene un solo dueño y no está libre; el resto sí lo está
+    private static void comprobarOcupacion(SimuladorDisco disco) {
+        boolean[] ocupado = new boolean[TOTAL_BLOQUES];
+        int ocupados = 0;
+        for (EntradaArchivo archivo : disco.obtenerEntradas()) {
+            if (archivo.estaBorrado()) {
+                continue;
+            }
+            for (ListaExtensiones tramos : new ListaExtensiones[] { archivo.obtenerExtensiones(), archivo.obtenerBloquesIndice() }) {
+                for (int k = 0; k < tramos.numExtensiones(); k++) {
+                    for (int b = tramos.inicio(k); b < tramos.inicio(k) + tramos.longitud(k); b++) {
+                        if (ocupado[b] || disco.bloqueLibre(b)) {
+                            throw new IllegalStateException("El bloque " + b + " de " + archivo.obtenerNombre()
+                                    + (ocupado[b] ? " tiene otro dueño" : " figura como libre"));
+                        }
+                        ocupado[b] = true;
+                        ocupados++;
+                    }
+                }
+            }
+        }
+        if (disco.obtenerBloquesLibres() != TOTAL_BLOQUES - ocupados) {
+            throw new IllegalStateException(disco.obtenerBloquesLibres() + " bloques libres, pero los archivos vivos ocupan "
+                    + ocupados + " de " + TOTAL_BLOQUES);
+        }
+    }
+
+    // Contadores en la primera línea, después las entradas ordenadas (el orden de la tabla cambia al
+    // reconstruirla) y por último la generación, el tipo y la suma de cada bloque
+    private static String resumen(SimuladorDisco disco) {
+        List<String> entradas = new ArrayList<>();
+        for (EntradaArchivo archivo : disco.obtenerEntradas()) {
+            entradas.add(archivo + " gen=" + archivo.obtenerGeneracion());
+        }
+        Collections.sort(entradas);
+        StringBuilder resumen = new StringBuilder();
+        resumen.append("vivos=").append(disco.obtenerNumArchivos())
+                .append(" borrados=").append(disco.obtenerNumArchivosBorrados())
+                .append(" libres=").append(disco.obtenerBloquesLibres()).append('\n');
+        for (String entrada : entradas) {
+            resumen.append(entrada).append('\n');
+        }
+        RegistroEscrituras escrituras = disco.obtenerRegistroEscrituras();
+        for (int b = 0; b < escrituras.numBloques(); b++) {
+            resumen.append(b).append(':').append(escrituras.generacion(b)).append(escrituras.esDeArchivo(b) ? 'A' : 'S')
+                    .append(Integer.toHexString(escrituras.suma(b))).append(disco.bloqueLibre(b) ? 'L' : 'O').append('\n');
+        }
+        return resumen.toString();
+    }
+
+    private static void comparar(String paso, String esperado, String obtenido) {
+        if (esperado.equals(obtenido)) {
+            return;
+        }
+        String[] lineasEsperadas = esperado.split("\n");
+        String[] lineasObtenidas = obtenido.split("\n");
+        int i = 0;
+        while (i < Math.min(lineasEsperadas.length, lineasObtenidas.length) && lineasEsperadas[i].equals(lineasObtenidas[i])) {
+            i++;
+        }
+        throw new IllegalStateException(paso + ": el estado no coincide (" + lineasEsperadas[0] + " frente a "
+                + lineasObtenidas[0] + "); primera diferencia: '"
+                + (i < lineasEsperadas.length ? lineasEsperadas[i] : "") + "' frente a '"
+                + (i < lineasObtenidas.length ? lineasObtenidas[i] : "") + "'");
+    }
+
+    private static void compararBloques(DispositivoBloques original, DispositivoBloques restaurado) {
+        byte[] a = new byte[original.obtenerTamanoBloque()];
+        byte[] b = new byte[restaurado.obtenerTamanoBloque()];
+        for (int bloque = 0; bloque < original.obtenerNumBloques(); bloque++) {
+            original.leer(bloque, a);
+            restaurado.leer(bloque, b);
+            if (!Arrays.equals(a, b)) {
+                throw new IllegalStateException("restaurar la instantánea: el bloque " + bloque + " tiene otros datos");
+            }
+        }
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : (Iterable<Path>) rutas.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(ruta);
+            }
+        }
+    }
+}